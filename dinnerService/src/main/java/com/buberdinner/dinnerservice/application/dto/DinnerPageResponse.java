@@ -0,0 +1,19 @@
+package com.buberdinner.dinnerservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of dinners in the application layer.
+ * nextCursor is null on the last page.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DinnerPageResponse {
+    private List<DinnerResponse> dinners;
+    private String nextCursor;
+}
@@ -1,5 +1,6 @@
 package com.buberdinner.dinnerservice.application.dto;
 
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -28,7 +29,14 @@ public class DinnerResponse {
     private String status;
     private long rating;
 
-
-
-
+    /**
+     * Creates a response straight from the persisted columns, as selected by the read queries.
+     * The rating is not stored with the dinner and is filled in afterwards.
+     */
+    public DinnerResponse(Long id, Long hostId, Long menuId, String name, String description, double price,
+                          LocalDateTime startTime, LocalDateTime endTime, String imageUrl, String address,
+                          String cuisineType, int maxGuestCount, DinnerStatus status) {
+        this(id, hostId, menuId, name, description, price, startTime, endTime, imageUrl, address,
+                cuisineType, maxGuestCount, status != null ? status.name() : null, 0);
+    }
 }
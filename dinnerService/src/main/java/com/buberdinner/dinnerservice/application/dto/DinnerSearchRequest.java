@@ -0,0 +1,24 @@
+package com.buberdinner.dinnerservice.application.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for dinner search filters in the application layer.
+ * Null fields are not filtered on.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DinnerSearchRequest {
+    private String cuisineType;
+    private Double minPrice;
+    private Double maxPrice;
+    private LocalDateTime startsAfter;
+    private LocalDateTime startsBefore;
+    private String status;
+    private Integer minCapacity;
+}
@@ -1,22 +1,54 @@
 package com.buberdinner.dinnerservice.application.service;
 
+import com.buberdinner.dinnerservice.application.dto.DinnerPageResponse;
 import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
 import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest;
+import com.buberdinner.dinnerservice.application.dto.DinnerTextSearchResponse;
+import com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public interface DinnerApplicationService {
-    DinnerResponse createDinner(DinnerRequest dinnerRequest, String imageUrl);
-    DinnerResponse updateDinner(Long id, DinnerRequest dinnerRequest);
+
+    /**
+     * Creates a dinner. The image is stored, and its URL returned by imageStore, only once the
+     * dinner has been validated, so that rejected dinners write nothing.
+     */
+    DinnerResponse createDinner(DinnerRequest dinnerRequest, Supplier<String> imageStore);
+    List<DinnerResponse> createDinners(List<DinnerRequest> dinnerRequests);
+    DinnerResponse updateDinner(Long id, DinnerRequest dinnerRequest, String expectedETag);
+
+    /**
+     * Publishes the whole current state of a dinner, for consumers to rebuild or repair their copy of it.
+     */
+    void publishDinnerSnapshot(Long id);
     void deleteDinner(Long id);
     DinnerResponse getDinnerById(Long id);
-    List<DinnerResponse> getAllDinners();
-    List<DinnerResponse> getDinnersByHostId(Long hostId);
-    List<DinnerResponse> getDinnersByMenuId(Long menuId);
+    String getDinnerETag(Long id);
+    DinnerPageResponse getAllDinners(String cursor, int size);
+    DinnerPageResponse getDinnersByHostId(Long hostId, String cursor, int size);
+    DinnerPageResponse getDinnersByMenuId(Long menuId, String cursor, int size);
+    DinnerPageResponse searchDinners(DinnerSearchRequest searchRequest, String cursor, int size);
+    void exportDinners(LocalDateTime updatedSince, Consumer<DinnerResponse> sink);
+    DinnerTextSearchResponse searchDinnersByText(String text, int page, int size);
+    List<NearbyDinnerResponse> findDinnersNearby(double latitude, double longitude, double radiusKm, int limit);
+    List<NearbyDinnerResponse> findDinnersInBox(double minLatitude, double minLongitude,
+                                                double maxLatitude, double maxLongitude, int limit);
     boolean RescheduleDinner(long dinnerId, LocalDateTime newStart, LocalDateTime newEnd, List<String> errors);
     void startDinner(Long dinnerId);
     void completeDinner(Long dinnerId);
-    void startAllDinnersInMenu(Long menuId);
+    int startAllDinnersInMenu(Long menuId);
+    int completeAllDinnersInMenu(Long menuId);
+    int cancelAllDinnersInMenu(Long menuId);
+    int startAllDinnersOfHost(Long hostId);
+    int completeAllDinnersOfHost(Long hostId);
+    int cancelAllDinnersOfHost(Long hostId);
+    int startDueDinners(Collection<Long> dinnerIds);
+    int completeDueDinners(Collection<Long> dinnerIds);
 
 }
\ No newline at end of file
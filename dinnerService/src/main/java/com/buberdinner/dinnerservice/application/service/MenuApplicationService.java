@@ -9,9 +9,10 @@ import java.util.List;
 
 public interface MenuApplicationService {
     MenuResponse createMenu(MenuRequest menuRequest);
-    MenuResponse updateMenu(Long id, MenuRequest menuRequest);
+    MenuResponse updateMenu(Long id, MenuRequest menuRequest, String expectedETag);
     void deleteMenu(Long id);
     MenuResponse getMenuById(Long id);
+    String getMenuETag(Long id);
     //List<MenuResponse> getAllMenus();
     //List<MenuResponse> getMenusByHostId(Long hostId);
     //MenuResponse addDinnerToMenu(Long menuId, Long dinnerId);
@@ -3,7 +3,9 @@ package com.buberdinner.dinnerservice.application.service;
 import com.buberdinner.dinnerservice.application.dto.ReviewRequest;
 import com.buberdinner.dinnerservice.application.dto.ReviewResponse;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Application service interface for review operations.
@@ -51,4 +53,34 @@ public interface ReviewApplicationService {
     List<ReviewResponse> getAllReviews();
 
     long meanReviewsByDinnerId(Long dinnerId);
+
+    /**
+     * Gets the mean rating of several dinners with a single query.
+     *
+     * @param dinnerIds the dinner IDs
+     * @return the mean rating keyed by dinner ID; every requested ID is present
+     */
+    Map<Long, Long> meanReviewsByDinnerIds(Collection<Long> dinnerIds);
+
+    /**
+     * Gets the mean rating of a host across all of its dinners.
+     *
+     * @param hostId the host ID
+     * @return the mean rating
+     */
+    long meanReviewsByHostId(Long hostId);
+
+    /**
+     * Moves the ratings of a dinner from the totals of its previous host to those of its new one.
+     *
+     * @param dinnerId the dinner ID
+     * @param previousHostId the previous host ID
+     * @param hostId the new host ID
+     */
+    void moveDinnerRatings(Long dinnerId, Long previousHostId, Long hostId);
+
+    /**
+     * Recomputes the rating aggregates from the stored reviews, e.g. after a bulk import.
+     */
+    void rebuildRatingAggregates();
 }
\ No newline at end of file
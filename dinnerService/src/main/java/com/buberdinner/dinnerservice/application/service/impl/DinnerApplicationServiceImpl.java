@@ -1,31 +1,58 @@
 package com.buberdinner.dinnerservice.application.service.impl;
 
+import com.buberdinner.dinnerservice.application.dto.DinnerPageResponse;
 import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
 import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
-import com.buberdinner.dinnerservice.application.dto.GuestIdListResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest;
+import com.buberdinner.dinnerservice.application.dto.DinnerTextSearchResponse;
+import com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse;
 import com.buberdinner.dinnerservice.application.service.DinnerApplicationService;
 import com.buberdinner.dinnerservice.application.service.ReviewApplicationService;
 import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.event.DinnerCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerCompletedEvent;
 import com.buberdinner.dinnerservice.domain.event.DinnerCreatedEvent;
 import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
 import com.buberdinner.dinnerservice.domain.event.DinnerUpdatedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCompletedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCreatedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersStartedEvent;
 import com.buberdinner.dinnerservice.domain.exception.DinnerNotFoundException;
 import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerCursor;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerSearchCriteria;
 import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import com.buberdinner.dinnerservice.infrastructure.cache.DinnerResponseCache;
 import com.buberdinner.dinnerservice.infrastructure.client.MenuServiceClient;
 import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.geo.DinnerGeoIndex;
+import com.buberdinner.dinnerservice.infrastructure.geo.Geocoder;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerReadRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerTransitionRepository;
+import com.buberdinner.dinnerservice.infrastructure.search.DinnerTextIndex;
 import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.client.RestTemplate;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -33,19 +60,36 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class DinnerApplicationServiceImpl implements DinnerApplicationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final int MAX_BULK_SIZE = 1000;
+    private static final int TRANSITION_BATCH_SIZE = 1000;
+    private static final List<DinnerStatus> STARTABLE = List.of(DinnerStatus.UPCOMING, DinnerStatus.RESCHEDULED);
+    private static final List<String> UPDATABLE_FIELDS = List.of("hostId", "menuId", "name", "description", "price",
+            "startTime", "endTime", "address", "cuisineType", "maxGuestCount");
+
     private final DinnerRepository dinnerRepository;
+    private final DinnerReadRepository dinnerReadRepository;
+    private final DinnerTransitionRepository dinnerTransitionRepository;
     private final UserServiceClient userServiceClient;
     private final MenuServiceClient menuServiceClient;
     private final ReviewApplicationService reviewApplicationService;
     private final ApplicationEventPublisher applicationEventPublisher;
-    private final RestTemplate restTemplate;
+    private final Geocoder geocoder;
+    private final DinnerGeoIndex dinnerGeoIndex;
+    private final DinnerTextIndex dinnerTextIndex;
+    private final DinnerResponseCache dinnerResponseCache;
 
+    /**
+     * Every update reaching a multiple of this version is sent as a full snapshot of the dinner.
+     */
+    @Value("${dinner.events.snapshot-every:20}")
+    private long snapshotEvery;
 
-    private String reservationServiceUrl="http://reservationService";
 
     @Override
     @Transactional
-    public DinnerResponse createDinner(DinnerRequest dinnerRequest, String imageUrl) {
+    public DinnerResponse createDinner(DinnerRequest dinnerRequest, Supplier<String> imageStore) {
         // Validate host ID
         if (!userServiceClient.isUserHost(dinnerRequest.getHostId())) {
             throw new IllegalArgumentException("Invalid host ID: User does not exist or is not a host");
@@ -61,57 +105,131 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
         if (!dinner.isValid()) {
             throw new IllegalArgumentException("Invalid dinner: " + String.join(", ", dinner.getErrors()));
         }
-        dinner.setImageUrl(imageUrl);
+        dinner.setImageUrl(imageStore.get());
+        locate(dinner);
         Dinner savedDinner = dinnerRepository.save(dinner);
-        com.buberdinner.dinnerservice.presentation.dto.DinnerResponse d = new com.buberdinner.dinnerservice.presentation.dto.DinnerResponse();
-        d.setId(savedDinner.getId());
-        d.setName(savedDinner.getName());
-        d.setStartTime(savedDinner.getStartTime());
-        d.setEndTime(savedDinner.getEndTime());
-        d.setAddress(savedDinner.getAddress());
-        d.setCuisineType(savedDinner.getCuisineType());
-        d.setMaxGuestCount(savedDinner.getMaxGuestCount());
-        d.setStatus(savedDinner.getStatus().name());
-        d.setHostId(savedDinner.getHostId());
-        d.setMenuId(savedDinner.getMenuId());
-        d.setDescription(savedDinner.getDescription());
-        d.setPrice(savedDinner.getPrice());
-        DinnerCreatedEvent event = new DinnerCreatedEvent(d);
+        reindex(savedDinner);
+        DinnerCreatedEvent event = new DinnerCreatedEvent(toEventPayload(savedDinner));
         applicationEventPublisher.publishEvent(event);
 
         log.info("Saved dinner: {}", savedDinner);
         return mapToDinnerResponse(savedDinner);
     }
 
+    /**
+     * Creates the dinners of one host in a single transaction. The host and each distinct menu
+     * are validated once, the inserts go out as JDBC batches, and the created events are published
+     * together once the transaction has committed. Nothing is created if any dinner is invalid.
+     */
+    @Override
+    @Transactional
+    public List<DinnerResponse> createDinners(List<DinnerRequest> dinnerRequests) {
+        if (dinnerRequests == null || dinnerRequests.isEmpty()) {
+            throw new IllegalArgumentException("No dinners to create");
+        }
+        if (dinnerRequests.size() > MAX_BULK_SIZE) {
+            throw new IllegalArgumentException("Cannot create more than " + MAX_BULK_SIZE + " dinners at once");
+        }
+
+        Set<Long> hostIds = dinnerRequests.stream().map(DinnerRequest::getHostId).collect(Collectors.toSet());
+        if (hostIds.size() != 1) {
+            throw new IllegalArgumentException("All dinners must have the same host");
+        }
+        if (!userServiceClient.isUserHost(hostIds.iterator().next())) {
+            throw new IllegalArgumentException("Invalid host ID: User does not exist or is not a host");
+        }
+        for (Long menuId : dinnerRequests.stream().map(DinnerRequest::getMenuId).collect(Collectors.toSet())) {
+            if (!menuServiceClient.menuExists(menuId)) {
+                throw new IllegalArgumentException("Invalid menu ID: Menu " + menuId + " does not exist");
+            }
+        }
+
+        List<Dinner> dinners = new ArrayList<>(dinnerRequests.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < dinnerRequests.size(); i++) {
+            Dinner dinner = mapToDinner(dinnerRequests.get(i));
+            if (!dinner.isValid()) {
+                errors.add("Dinner " + i + ": " + String.join(", ", dinner.getErrors()));
+            }
+            dinners.add(dinner);
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException("Invalid dinners: " + String.join("; ", errors));
+        }
+
+        dinners.forEach(this::locate);
+        List<Dinner> savedDinners = dinnerRepository.saveAll(dinners);
+        savedDinners.forEach(this::reindex);
+        applicationEventPublisher.publishEvent(new DinnersCreatedEvent(savedDinners.stream()
+                .map(savedDinner -> new DinnerCreatedEvent(toEventPayload(savedDinner)))
+                .collect(Collectors.toList())));
+
+        log.info("Saved {} dinners for host {}", savedDinners.size(), hostIds.iterator().next());
+        // New dinners have no reviews yet
+        return savedDinners.stream()
+                .map(savedDinner -> mapToDinnerResponse(savedDinner, 0))
+                .collect(Collectors.toList());
+    }
+
     @Override
-    public DinnerResponse updateDinner(Long id, DinnerRequest dinnerRequest) {
+    @Transactional
+    public DinnerResponse updateDinner(Long id, DinnerRequest dinnerRequest, String expectedETag) {
         Dinner existingDinner = dinnerRepository.findById(id)
                 .orElseThrow(() -> new DinnerNotFoundException(id));
+        // The version loaded here also guards the save below against concurrent updates
+        if (expectedETag != null
+                && !expectedETag.equals(eTag(existingDinner.getVersion(), reviewApplicationService.meanReviewsByDinnerId(id)))) {
+            throw new OptimisticLockingFailureException("Dinner " + id + " has been modified since it was read");
+        }
 
+        Long previousHostId = existingDinner.getHostId();
+        String previousAddress = existingDinner.getAddress();
+        GeoPoint previousLocation = existingDinner.getLocation();
+        List<Object> previousValues = updatableValues(existingDinner);
         updateDinnerFromRequest(existingDinner, dinnerRequest);
 
         if (!existingDinner.isValid()) {
             throw new IllegalArgumentException("Invalid dinner: " + String.join(", ", existingDinner.getErrors()));
         }
 
+        // Only call the geocoder again when the address actually changed
+        if (previousLocation != null && Objects.equals(previousAddress, existingDinner.getAddress())) {
+            existingDinner.setLocation(previousLocation);
+        } else {
+            locate(existingDinner);
+        }
         Dinner updatedDinner = dinnerRepository.save(existingDinner);
-        com.buberdinner.dinnerservice.presentation.dto.DinnerResponse d = new com.buberdinner.dinnerservice.presentation.dto.DinnerResponse();
-        d.setId(updatedDinner.getId());
-        d.setName(updatedDinner.getName());
-        d.setStartTime(updatedDinner.getStartTime());
-        d.setEndTime(updatedDinner.getEndTime());
-        d.setAddress(updatedDinner.getAddress());
-        d.setCuisineType(updatedDinner.getCuisineType());
-        d.setMaxGuestCount(updatedDinner.getMaxGuestCount());
-        d.setStatus(updatedDinner.getStatus().name());
-        d.setHostId(updatedDinner.getHostId());
-        d.setMenuId(updatedDinner.getMenuId());
-        d.setDescription(updatedDinner.getDescription());
-        d.setPrice(updatedDinner.getPrice());
-        DinnerUpdatedEvent event = new DinnerUpdatedEvent(d);
-        applicationEventPublisher.publishEvent(event);
+        if (!Objects.equals(previousHostId, updatedDinner.getHostId())) {
+            reviewApplicationService.moveDinnerRatings(id, previousHostId, updatedDinner.getHostId());
+        }
+        dinnerResponseCache.invalidate(id);
+        reindex(updatedDinner);
+        DinnerResponse response = mapToDinnerResponse(updatedDinner);
+
+        List<Object> values = updatableValues(existingDinner);
+        List<String> changedFields = new ArrayList<>();
+        for (int i = 0; i < UPDATABLE_FIELDS.size(); i++) {
+            if (!Objects.equals(previousValues.get(i), values.get(i))) {
+                changedFields.add(UPDATABLE_FIELDS.get(i));
+            }
+        }
+        if (!changedFields.isEmpty()) {
+            // The version is incremented when the change is flushed, at commit
+            long version = (existingDinner.getVersion() != null ? existingDinner.getVersion() : 0L) + 1;
+            applicationEventPublisher.publishEvent(version % snapshotEvery == 0
+                    ? DinnerUpdatedEvent.snapshot(response, version)
+                    : new DinnerUpdatedEvent(id, version, false, changedFields, response));
+        }
+        return response;
+    }
 
-        return mapToDinnerResponse(updatedDinner);
+    @Override
+    @Transactional
+    public void publishDinnerSnapshot(Long id) {
+        Dinner dinner = dinnerRepository.findById(id)
+                .orElseThrow(() -> new DinnerNotFoundException(id));
+        applicationEventPublisher.publishEvent(DinnerUpdatedEvent.snapshot(mapToDinnerResponse(dinner),
+                dinner.getVersion() != null ? dinner.getVersion() : 0L));
     }
 
     @Override
@@ -122,78 +240,125 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
 
 
         dinnerRepository.save(dinner);
+        dinnerResponseCache.invalidate(id);
     }
 
     @Override
     public DinnerResponse getDinnerById(Long id) {
-        Dinner dinner = dinnerRepository.findById(id)
-                .orElseThrow(() -> new DinnerNotFoundException(id));
-
-        // Update status based on current time
-       // dinner.updateStatus(LocalDateTime.now());
-        if (dinner.getStatus() != DinnerStatus.UPCOMING) {
-            dinnerRepository.save(dinner);
-        }
-
-        return mapToDinnerResponse(dinner);
+        return dinnerResponseCache.get(id, this::loadDinnerResponse);
     }
 
+    /**
+     * Computes the entity tag of a dinner from its version and rating, the only inputs of its
+     * response, without building the response.
+     */
     @Override
-    public List<DinnerResponse> getAllDinners() {
-        List<Dinner> dinners = dinnerRepository.findAll();
-
-        // Update status of all dinners based on current time
-        LocalDateTime now = LocalDateTime.now();
-        List<Dinner> dinnersToUpdate = dinners.stream()
-                .filter(dinner -> dinner.getStatus() == DinnerStatus.UPCOMING || 
-                                  dinner.getStatus() == DinnerStatus.IN_PROGRESS)
-
-                .filter(dinner -> dinner.getStatus() != DinnerStatus.UPCOMING)
-                .collect(Collectors.toList());
-
+    @Transactional(readOnly = true)
+    public String getDinnerETag(Long id) {
+        long version = dinnerReadRepository.findVersion(id)
+                .orElseThrow(() -> new DinnerNotFoundException(id));
+        return eTag(version, reviewApplicationService.meanReviewsByDinnerId(id));
+    }
 
+    private static String eTag(Long version, long rating) {
+        return (version != null ? version : 0L) + "-" + rating;
+    }
 
-        return dinners.stream()
-                .map(this::mapToDinnerResponse)
-                .collect(Collectors.toList());
+    private DinnerResponse loadDinnerResponse(Long id) {
+        DinnerResponse dinner = dinnerReadRepository.findById(id)
+                .orElseThrow(() -> new DinnerNotFoundException(id));
+        dinner.setRating(reviewApplicationService.meanReviewsByDinnerId(id));
+        return dinner;
     }
 
     @Override
-    public List<DinnerResponse> getDinnersByHostId(Long hostId) {
-        List<Dinner> dinners = dinnerRepository.findByHostId(hostId);
-
-        // Update status of all dinners based on current time
-        LocalDateTime now = LocalDateTime.now();
-        List<Dinner> dinnersToUpdate = dinners.stream()
-                .filter(dinner -> dinner.getStatus() == DinnerStatus.UPCOMING || 
-                                  dinner.getStatus() == DinnerStatus.IN_PROGRESS)
-                .filter(dinner -> dinner.getStatus() != DinnerStatus.UPCOMING)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public DinnerPageResponse getAllDinners(String cursor, int size) {
+        int pageSize = pageSize(size);
+        return mapToDinnerPage(dinnerReadRepository.findPage(decodeCursor(cursor), pageSize + 1), pageSize);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DinnerPageResponse getDinnersByHostId(Long hostId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        return mapToDinnerPage(dinnerReadRepository.findPageByHostId(hostId, decodeCursor(cursor), pageSize + 1), pageSize);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public DinnerPageResponse getDinnersByMenuId(Long menuId, String cursor, int size) {
+        int pageSize = pageSize(size);
+        return mapToDinnerPage(dinnerReadRepository.findPageByMenuId(menuId, decodeCursor(cursor), pageSize + 1), pageSize);
+    }
 
-        return dinners.stream()
-                .map(this::mapToDinnerResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public DinnerPageResponse searchDinners(DinnerSearchRequest searchRequest, String cursor, int size) {
+        DinnerSearchCriteria criteria = DinnerSearchCriteria.builder()
+                .cuisineType(searchRequest.getCuisineType())
+                .minPrice(searchRequest.getMinPrice())
+                .maxPrice(searchRequest.getMaxPrice())
+                .startsAfter(searchRequest.getStartsAfter())
+                .startsBefore(searchRequest.getStartsBefore())
+                .status(searchRequest.getStatus() != null ? DinnerStatus.valueOf(searchRequest.getStatus()) : null)
+                .minCapacity(searchRequest.getMinCapacity())
+                .build();
+        int pageSize = pageSize(size);
+        return mapToDinnerPage(dinnerReadRepository.search(criteria, decodeCursor(cursor), pageSize + 1), pageSize);
     }
 
+    /**
+     * Hands every dinner, or only the dinners changed since the given time, to the sink.
+     * Dinners are read and rated in batches, so memory use does not grow with the catalog.
+     */
     @Override
-    public List<DinnerResponse> getDinnersByMenuId(Long menuId) {
-        List<Dinner> dinners = dinnerRepository.findByMenuId(menuId);
+    @Transactional(readOnly = true)
+    public void exportDinners(LocalDateTime updatedSince, Consumer<DinnerResponse> sink) {
+        dinnerReadRepository.forEachBatch(updatedSince, EXPORT_BATCH_SIZE, batch -> withRatings(batch).forEach(sink));
+    }
 
-        // Update status of all dinners based on current time
-        LocalDateTime now = LocalDateTime.now();
-        List<Dinner> dinnersToUpdate = dinners.stream()
-                .filter(dinner -> dinner.getStatus() == DinnerStatus.UPCOMING || 
-                                  dinner.getStatus() == DinnerStatus.IN_PROGRESS)
-                .filter(dinner -> dinner.getStatus() != DinnerStatus.UPCOMING)
+    @Override
+    @Transactional(readOnly = true)
+    public DinnerTextSearchResponse searchDinnersByText(String text, int page, int size) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("Page cannot be negative");
+        }
+        int pageSize = pageSize(size);
+        DinnerTextIndex.Hits hits = dinnerTextIndex.search(text, page * pageSize, pageSize);
+        Map<Long, DinnerResponse> dinners = findResponsesById(hits.dinnerIds());
+        List<DinnerResponse> ranked = hits.dinnerIds().stream()
+                .map(dinners::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
+        return new DinnerTextSearchResponse(ranked, hits.totalHits(), page, pageSize);
+    }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyDinnerResponse> findDinnersNearby(double latitude, double longitude, double radiusKm, int limit) {
+        if (!(radiusKm > 0)) {
+            throw new IllegalArgumentException("Radius must be positive");
+        }
+        GeoPoint center = GeoPoint.of(latitude, longitude);
+        return mapToNearbyDinners(dinnerGeoIndex.findUpcomingWithin(center, radiusKm, pageSize(limit), LocalDateTime.now()));
+    }
 
-
-        return dinners.stream()
-                .map(this::mapToDinnerResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyDinnerResponse> findDinnersInBox(double minLatitude, double minLongitude,
+                                                       double maxLatitude, double maxLongitude, int limit) {
+        // Validates the corners; a box with minLongitude > maxLongitude crosses the antimeridian
+        GeoPoint.of(minLatitude, minLongitude);
+        GeoPoint.of(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Minimum latitude cannot be greater than maximum latitude");
+        }
+        return mapToNearbyDinners(dinnerGeoIndex.findUpcomingInBox(
+                minLatitude, minLongitude, maxLatitude, maxLongitude, pageSize(limit), LocalDateTime.now()));
     }
 
     @Override
@@ -209,7 +374,8 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
         errors.addAll(dinner.getErrors());
 
         if (result) {
-            dinnerRepository.save(dinner);
+            reindex(dinnerRepository.save(dinner));
+            dinnerResponseCache.invalidate(dinnerId);
         }
 
         return result;
@@ -230,20 +396,10 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
 
         dinner.start();
         Dinner dinner1 = dinnerRepository.save(dinner);
-        try {
-            String url = reservationServiceUrl + "/api/v1/reservations/dinner" + "/" + dinner.getId() ;
-
-            GuestIdListResponse response = restTemplate.getForObject(url, GuestIdListResponse.class);
-
-            DinnerStartedEvent event = new DinnerStartedEvent(mapToDinnerResponse(dinner1),response.getGuestIds());
-
-            applicationEventPublisher.publishEvent(event);
-
-            System.out.println("✅ Event envoyé : " + event);
-        } catch (Exception e) {
-            System.err.println("❌ Échec récupération guests ou envoi Kafka : " + e.getMessage());
-            // Tu peux ici logguer, rethrow, ou gérer avec un fallback si nécessaire
-        }
+        dinnerResponseCache.invalidate(dinnerId);
+        reindex(dinner1);
+        // Stored in the outbox with the start; its guests are fetched when it is relayed
+        applicationEventPublisher.publishEvent(new DinnerStartedEvent(mapToDinnerResponse(dinner1), null));
     }
 
     @Transactional
@@ -256,44 +412,157 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
         }
 
         dinner.complete();
-        dinnerRepository.save(dinner);
+        reindex(dinnerRepository.save(dinner));
+        dinnerResponseCache.invalidate(dinnerId);
+        applicationEventPublisher.publishEvent(new DinnerCompletedEvent(dinnerId));
+    }
+
+    @Override
+    @Transactional
+    public int startAllDinnersInMenu(Long menuId) {
+        return startAll(DinnerTransitionRepository.Scope.MENU, menuId);
+    }
+
+    @Override
+    @Transactional
+    public int completeAllDinnersInMenu(Long menuId) {
+        return completeAll(DinnerTransitionRepository.Scope.MENU, menuId);
+    }
+
+    @Override
+    @Transactional
+    public int cancelAllDinnersInMenu(Long menuId) {
+        return cancelAll(DinnerTransitionRepository.Scope.MENU, menuId);
+    }
+
+    @Override
+    @Transactional
+    public int startAllDinnersOfHost(Long hostId) {
+        return startAll(DinnerTransitionRepository.Scope.HOST, hostId);
+    }
+
+    @Override
+    @Transactional
+    public int completeAllDinnersOfHost(Long hostId) {
+        return completeAll(DinnerTransitionRepository.Scope.HOST, hostId);
+    }
+
+    @Override
+    @Transactional
+    public int cancelAllDinnersOfHost(Long hostId) {
+        return cancelAll(DinnerTransitionRepository.Scope.HOST, hostId);
+    }
+
+    /**
+     * Starts the upcoming and rescheduled dinners of a menu or host whose start time has come.
+     * Called in a transaction, so that the events are stored in the outbox with the transition.
+     */
+    private int startAll(DinnerTransitionRepository.Scope scope, Long scopeId) {
+        List<Long> started = dinnerTransitionRepository.transition(scope, scopeId,
+                STARTABLE, DinnerStatus.IN_PROGRESS, LocalDateTime.now());
+        afterBulkTransition(started, DinnerStatus.IN_PROGRESS);
+        List<DinnerStartedEvent> events = new ArrayList<>();
+        for (int from = 0; from < started.size(); from += TRANSITION_BATCH_SIZE) {
+            List<Long> batch = started.subList(from, Math.min(from + TRANSITION_BATCH_SIZE, started.size()));
+            withRatings(dinnerReadRepository.findAllById(batch))
+                    .forEach(dinner -> events.add(new DinnerStartedEvent(dinner, null)));
+        }
+        if (!events.isEmpty()) {
+            applicationEventPublisher.publishEvent(new DinnersStartedEvent(events));
+        }
+        return started.size();
+    }
+
+    /**
+     * Completes the in-progress dinners of a menu or host, in the caller's transaction.
+     */
+    private int completeAll(DinnerTransitionRepository.Scope scope, Long scopeId) {
+        List<Long> completed = dinnerTransitionRepository.transition(scope, scopeId,
+                List.of(DinnerStatus.IN_PROGRESS), DinnerStatus.COMPLETED, null);
+        afterBulkTransition(completed, DinnerStatus.COMPLETED);
+        if (!completed.isEmpty()) {
+            applicationEventPublisher.publishEvent(new DinnersCompletedEvent(
+                    completed.stream().map(DinnerCompletedEvent::new).toList()));
+        }
+        return completed.size();
+    }
+
+    /**
+     * Cancels the upcoming and rescheduled dinners of a menu or host, in the caller's transaction.
+     */
+    private int cancelAll(DinnerTransitionRepository.Scope scope, Long scopeId) {
+        List<Long> cancelled = dinnerTransitionRepository.transition(scope, scopeId,
+                STARTABLE, DinnerStatus.CANCELLED, null);
+        afterBulkTransition(cancelled, DinnerStatus.CANCELLED);
+        if (!cancelled.isEmpty()) {
+            applicationEventPublisher.publishEvent(new DinnersCancelledEvent(
+                    cancelled.stream().map(DinnerCancelledEvent::new).toList()));
+        }
+        return cancelled.size();
+    }
+
+    private void afterBulkTransition(List<Long> dinnerIds, DinnerStatus status) {
+        dinnerIds.forEach(dinnerResponseCache::invalidate);
+        dinnerGeoIndex.updateStatus(dinnerIds, status);
     }
 
+    /**
+     * Starts the given dinners that are still startable and whose start time has come, and
+     * publishes one event for all of them, in the transaction starting them. The state is checked
+     * again here because the dinners may have changed since they were scheduled.
+     *
+     * @return the number of dinners started
+     */
+    @Override
     @Transactional
-    public void startAllDinnersInMenu(Long menuId) {
-        List<Dinner> dinners = dinnerRepository.findByMenuIdAndStatus(menuId, DinnerStatus.UPCOMING);
+    public int startDueDinners(Collection<Long> dinnerIds) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Dinner> due = dinnerRepository.findAllById(dinnerIds).stream()
+                .filter(dinner -> !now.isBefore(dinner.getStartTime()) && dinner.start())
+                .toList();
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Dinner> started = dinnerRepository.saveAll(due);
+        started.forEach(dinner -> {
+            dinnerResponseCache.invalidate(dinner.getId());
+            reindex(dinner);
+        });
+
+        Map<Long, Long> ratings = reviewApplicationService.meanReviewsByDinnerIds(
+                started.stream().map(Dinner::getId).collect(Collectors.toSet()));
+        applicationEventPublisher.publishEvent(new DinnersStartedEvent(started.stream()
+                .map(dinner -> new DinnerStartedEvent(mapToDinnerResponse(dinner, ratings.getOrDefault(dinner.getId(), 0L)), null))
+                .toList()));
+        return started.size();
+    }
 
+    /**
+     * Completes the given dinners that are still in progress and whose end time has come, and
+     * publishes one event for all of them, in the transaction completing them.
+     *
+     * @return the number of dinners completed
+     */
+    @Override
+    @Transactional
+    public int completeDueDinners(Collection<Long> dinnerIds) {
         LocalDateTime now = LocalDateTime.now();
-        for (Dinner dinner : dinners) {
-            if (now.isAfter(dinner.getStartTime())) {
-                dinner.start();
-            }
+        List<Dinner> due = dinnerRepository.findAllById(dinnerIds).stream()
+                .filter(dinner -> !now.isBefore(dinner.getEndTime()) && dinner.complete())
+                .toList();
+        if (due.isEmpty()) {
+            return 0;
         }
-        dinnerRepository.saveAll(dinners);
-    }
-
-//    @Scheduled(fixedRate = 60000)
-//    @Transactional// Toutes les 60 secondes
-//    public void checkAndUpdateDinners() {
-//        List<Dinner> dinners = dinnerRepository.findAll();
-//
-//        for (Dinner dinner : dinners) {
-//            boolean changed = false;
-//
-//            if (dinner.getStatus() == DinnerStatus.UPCOMING && LocalDateTime.now().isAfter(dinner.getStartTime())) {
-//                changed = dinner.start();
-//                System.out.println("Dinner started: " + dinner.getName() + " at " + dinner.getStartTime() + " with " + dinner.getMaxGuestCount() );
-//            }
-//
-//            if (dinner.getStatus() == DinnerStatus.IN_PROGRESS && LocalDateTime.now().isAfter(dinner.getEndTime())) {
-//                changed = dinner.complete();
-//            }
-//
-//            if (changed) {
-//                dinnerRepository.save(dinner);
-//            }
-//        }
-//    }
+        List<Dinner> completed = dinnerRepository.saveAll(due);
+        completed.forEach(dinner -> {
+            dinnerResponseCache.invalidate(dinner.getId());
+            reindex(dinner);
+        });
+        applicationEventPublisher.publishEvent(new DinnersCompletedEvent(completed.stream()
+                .map(dinner -> new DinnerCompletedEvent(dinner.getId()))
+                .toList()));
+        return completed.size();
+    }
 
     private Dinner mapToDinner(DinnerRequest dinnerRequest) {
         return new Dinner(
@@ -313,6 +582,15 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
         );
     }
 
+    /**
+     * The values of the fields updateDinner may change, in the order of UPDATABLE_FIELDS.
+     */
+    private static List<Object> updatableValues(Dinner dinner) {
+        return Arrays.asList(dinner.getHostId(), dinner.getMenuId(), dinner.getName(), dinner.getDescription(),
+                dinner.getPrice(), dinner.getStartTime(), dinner.getEndTime(), dinner.getAddress(),
+                dinner.getCuisineType(), dinner.getMaxGuestCount());
+    }
+
     private void updateDinnerFromRequest(Dinner dinner, DinnerRequest dinnerRequest) {
         dinner.setHostId(dinnerRequest.getHostId());
         dinner.setMenuId(dinnerRequest.getMenuId());
@@ -326,7 +604,93 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
         dinner.setMaxGuestCount(dinnerRequest.getMaxGuestCount());
     }
 
+    /**
+     * Geocodes the address of the dinner, leaving the location empty if it cannot be resolved.
+     */
+    private void locate(Dinner dinner) {
+        String address = dinner.getAddress();
+        dinner.setLocation(address != null ? geocoder.geocode(address).orElse(null) : null);
+    }
+
+    private void reindex(Dinner dinner) {
+        dinnerGeoIndex.index(dinner.getId(), dinner.getLocation(), dinner.getStartTime(), dinner.getStatus());
+    }
+
+    /**
+     * Loads the dinners found by the geo index in one query, keeping the index order.
+     * Dinners deleted since they were indexed are skipped.
+     */
+    private List<NearbyDinnerResponse> mapToNearbyDinners(List<DinnerGeoIndex.Match> matches) {
+        Map<Long, DinnerResponse> responses = findResponsesById(
+                matches.stream().map(DinnerGeoIndex.Match::dinnerId).collect(Collectors.toList()));
+        return matches.stream()
+                .filter(match -> responses.containsKey(match.dinnerId()))
+                .map(match -> new NearbyDinnerResponse(responses.get(match.dinnerId()), match.distanceKm()))
+                .collect(Collectors.toList());
+    }
+
+    private com.buberdinner.dinnerservice.presentation.dto.DinnerResponse toEventPayload(Dinner dinner) {
+        com.buberdinner.dinnerservice.presentation.dto.DinnerResponse d = new com.buberdinner.dinnerservice.presentation.dto.DinnerResponse();
+        d.setId(dinner.getId());
+        d.setName(dinner.getName());
+        d.setStartTime(dinner.getStartTime());
+        d.setEndTime(dinner.getEndTime());
+        d.setAddress(dinner.getAddress());
+        d.setCuisineType(dinner.getCuisineType());
+        d.setMaxGuestCount(dinner.getMaxGuestCount());
+        d.setStatus(dinner.getStatus().name());
+        d.setHostId(dinner.getHostId());
+        d.setMenuId(dinner.getMenuId());
+        d.setDescription(dinner.getDescription());
+        d.setPrice(dinner.getPrice());
+        return d;
+    }
+
     private DinnerResponse mapToDinnerResponse(Dinner dinner) {
+        return mapToDinnerResponse(dinner, reviewApplicationService.meanReviewsByDinnerId(dinner.getId()));
+    }
+
+    private int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private DinnerCursor decodeCursor(String cursor) {
+        return cursor == null || cursor.isBlank() ? null : DinnerCursor.decode(cursor);
+    }
+
+    /**
+     * Maps a page of dinners. The repository is asked for one dinner more than the page size,
+     * so that the presence of that extra dinner tells whether a next page exists.
+     */
+    private DinnerPageResponse mapToDinnerPage(List<DinnerResponse> dinners, int pageSize) {
+        String nextCursor = null;
+        if (dinners.size() > pageSize) {
+            dinners = dinners.subList(0, pageSize);
+            DinnerResponse last = dinners.get(pageSize - 1);
+            nextCursor = DinnerCursor.of(last.getStartTime(), last.getId()).encode();
+        }
+        return new DinnerPageResponse(withRatings(dinners), nextCursor);
+    }
+
+    /**
+     * Loads the responses of the given dinners, with their ratings, keyed by dinner ID.
+     */
+    private Map<Long, DinnerResponse> findResponsesById(List<Long> ids) {
+        return withRatings(dinnerReadRepository.findAllById(ids)).stream()
+                .collect(Collectors.toMap(DinnerResponse::getId, Function.identity()));
+    }
+
+    /**
+     * Fills in the ratings of a list of dinners, fetching them in one query.
+     */
+    private List<DinnerResponse> withRatings(List<DinnerResponse> dinners) {
+        Map<Long, Long> ratings = reviewApplicationService.meanReviewsByDinnerIds(
+                dinners.stream().map(DinnerResponse::getId).collect(Collectors.toSet()));
+        dinners.forEach(dinner -> dinner.setRating(ratings.getOrDefault(dinner.getId(), 0L)));
+        return dinners;
+    }
+
+    private DinnerResponse mapToDinnerResponse(Dinner dinner, long rating) {
         return new DinnerResponse(
                 dinner.getId(),
                 dinner.getHostId(),
@@ -341,8 +705,7 @@ public class DinnerApplicationServiceImpl implements DinnerApplicationService {
                 dinner.getCuisineType(),
                 dinner.getMaxGuestCount(),
                 dinner.getStatus().name(),
-                reviewApplicationService.meanReviewsByDinnerId(dinner.getId())
-
+                rating
         );
     }
 }
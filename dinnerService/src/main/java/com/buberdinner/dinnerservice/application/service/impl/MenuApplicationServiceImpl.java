@@ -13,6 +13,7 @@ import com.buberdinner.dinnerservice.domain.valueobject.MenuStatus;
 import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -48,13 +49,18 @@ public class MenuApplicationServiceImpl implements MenuApplicationService {
 
     @Override
     @Transactional
-    public MenuResponse updateMenu(Long id, MenuRequest menuRequest) {
+    public MenuResponse updateMenu(Long id, MenuRequest menuRequest, String expectedETag) {
         Menu existingMenu = menuRepository.getMenu(id);
 
         if (existingMenu == null) {
             throw new MenuNotFoundException("menu not found! "+id);
         }
 
+        // The version loaded here also guards the save below against concurrent updates
+        if (expectedETag != null && !expectedETag.equals(eTag(existingMenu.getVersion()))) {
+            throw new OptimisticLockingFailureException("Menu " + id + " has been modified since it was read");
+        }
+
         // Validate host ID
         if (!userServiceClient.isUserHost(menuRequest.hostId())) {
             throw new IllegalArgumentException("Invalid host ID: User does not exist or is not a host");
@@ -178,6 +184,19 @@ public class MenuApplicationServiceImpl implements MenuApplicationService {
         }
     }
 
+    /**
+     * Computes the entity tag of a menu from its version, without loading the menu.
+     */
+    @Override
+    public String getMenuETag(Long id) {
+        return eTag(menuRepository.findVersion(id)
+                .orElseThrow(() -> new MenuNotFoundException("menu not found! " + id)));
+    }
+
+    private static String eTag(Long version) {
+        return String.valueOf(version != null ? version : 0L);
+    }
+
     private MenuResponse mapToMenuResponse(Menu menu) {
         return new MenuResponse(
                 menu.getId(),
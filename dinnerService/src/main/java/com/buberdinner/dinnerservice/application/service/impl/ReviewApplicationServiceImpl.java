@@ -3,16 +3,24 @@ package com.buberdinner.dinnerservice.application.service.impl;
 import com.buberdinner.dinnerservice.application.dto.ReviewRequest;
 import com.buberdinner.dinnerservice.application.dto.ReviewResponse;
 import com.buberdinner.dinnerservice.application.service.ReviewApplicationService;
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
 import com.buberdinner.dinnerservice.domain.entity.Review;
 import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.domain.repository.ReviewAggregateRepository;
 import com.buberdinner.dinnerservice.domain.repository.ReviewRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.RatingSummary;
+import com.buberdinner.dinnerservice.infrastructure.cache.DinnerResponseCache;
 import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -20,17 +28,21 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class ReviewApplicationServiceImpl implements ReviewApplicationService {
 
+    private static final int MIN_REVIEWS_FOR_RATING = 10;
+
     private final ReviewRepository reviewRepository;
+    private final ReviewAggregateRepository reviewAggregateRepository;
     private final DinnerRepository dinnerRepository;
     private final UserServiceClient userServiceClient;
+    private final DinnerResponseCache dinnerResponseCache;
 
 
     @Override
+    @Transactional
     public ReviewResponse createReview(ReviewRequest reviewRequest) {
         // Validate dinner ID
-        if (!dinnerRepository.findById(reviewRequest.getDinnerId()).isPresent()) {
-            throw new IllegalArgumentException("Invalid dinner ID: Dinner does not exist");
-        }
+        Dinner dinner = dinnerRepository.findById(reviewRequest.getDinnerId())
+                .orElseThrow(() -> new IllegalArgumentException("Invalid dinner ID: Dinner does not exist"));
 
         // Validate user ID
         if (!userServiceClient.userExists(reviewRequest.getUserId())) {
@@ -44,6 +56,9 @@ public class ReviewApplicationServiceImpl implements ReviewApplicationService {
         }
 
         Review savedReview = reviewRepository.save(review);
+        reviewAggregateRepository.addRating(dinner.getId(), dinner.getHostId(), savedReview.getRating());
+        // The cached dinner response carries the rating
+        dinnerResponseCache.invalidate(dinner.getId());
         log.info("Saved review: {}", savedReview);
         return mapToReviewResponse(savedReview);
     }
@@ -72,11 +87,17 @@ public class ReviewApplicationServiceImpl implements ReviewApplicationService {
     }
 
     @Override
+    @Transactional
     public void deleteReview(Long id) {
-        if (!reviewRepository.findById(id).isPresent()) {
-            throw new IllegalArgumentException("Review not found with ID: " + id);
-        }
+        Review review = reviewRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Review not found with ID: " + id));
         reviewRepository.deleteById(id);
+
+        Long hostId = dinnerRepository.findById(review.getHostId())
+                .map(Dinner::getHostId)
+                .orElse(null);
+        reviewAggregateRepository.removeRating(review.getHostId(), hostId, review.getRating());
+        dinnerResponseCache.invalidate(review.getHostId());
     }
 
     @Override
@@ -89,10 +110,41 @@ public class ReviewApplicationServiceImpl implements ReviewApplicationService {
 
     @Override
     public long meanReviewsByDinnerId(Long hostId) {
-        List<Review> reviews = reviewRepository.findByHostId(hostId);
-        if (reviews.isEmpty() || reviews.size() < 10) {return 0;}
-        int sum = reviews.stream().mapToInt(Review::getRating).sum();
-        return sum/reviews.size() ;
+        return mean(reviewAggregateRepository.findByDinnerId(hostId));
+    }
+
+    @Override
+    public Map<Long, Long> meanReviewsByDinnerIds(Collection<Long> dinnerIds) {
+        Map<Long, RatingSummary> summaries = reviewAggregateRepository.findByDinnerIds(dinnerIds);
+        Map<Long, Long> means = new HashMap<>();
+        for (Long dinnerId : dinnerIds) {
+            means.put(dinnerId, mean(summaries.getOrDefault(dinnerId, RatingSummary.empty())));
+        }
+        return means;
+    }
+
+    @Override
+    public long meanReviewsByHostId(Long hostId) {
+        return mean(reviewAggregateRepository.findByHostId(hostId));
+    }
+
+    @Override
+    @Transactional
+    public void moveDinnerRatings(Long dinnerId, Long previousHostId, Long hostId) {
+        reviewAggregateRepository.moveDinner(dinnerId, previousHostId, hostId);
+    }
+
+    @Override
+    @Transactional
+    public void rebuildRatingAggregates() {
+        reviewAggregateRepository.rebuild();
+        dinnerResponseCache.invalidateAll();
+        log.info("Rebuilt review aggregates");
+    }
+
+    private long mean(RatingSummary summary) {
+        if (summary.getReviewCount() < MIN_REVIEWS_FOR_RATING) {return 0;}
+        return summary.getRatingSum() / summary.getReviewCount();
     }
 
     private Review mapToReview(ReviewRequest reviewRequest) {
@@ -54,6 +54,16 @@ public class Dinner{
     @Setter
     private String imageUrl;
 
+    /**
+     * Version of the persisted state this dinner was loaded from, null for a new dinner.
+     */
+    private Long version;
+
+    /**
+     * When the persisted state this dinner was loaded from was last written, null for a new dinner.
+     */
+    private LocalDateTime updatedAt;
+
 
 
 
@@ -131,6 +141,53 @@ public class Dinner{
         validate();
     }
 
+    /**
+     * Rebuilds a dinner from its persisted state.
+     * The state is trusted: the status is restored as is and the dinner is not validated again.
+     * A host, menu, time range or address that is no longer valid is left empty, so that one bad
+     * row does not prevent the others from being read.
+     *
+     * @return the dinner
+     */
+    public static Dinner rehydrate(Long id, Long hostId, Long menuId, String name, String description,
+                                   double price, LocalDateTime startTime, LocalDateTime endTime,
+                                   String addressString, GeoPoint location, String cuisineType,
+                                   int maxGuestCount, DinnerStatus status, String imageUrl, Long version,
+                                   LocalDateTime updatedAt) {
+        Dinner dinner = new Dinner();
+        dinner.id = id;
+        try {
+            dinner.hostId = hostId != null ? HostId.of(hostId) : null;
+        } catch (IllegalArgumentException e) {
+            dinner.hostId = null;
+        }
+        try {
+            dinner.menuId = menuId != null ? MenuId.of(menuId) : null;
+        } catch (IllegalArgumentException e) {
+            dinner.menuId = null;
+        }
+        dinner.name = name;
+        dinner.description = description;
+        dinner.price = price;
+        try {
+            dinner.timeRange = startTime != null && endTime != null ? TimeRange.of(startTime, endTime) : null;
+        } catch (IllegalArgumentException e) {
+            dinner.timeRange = null;
+        }
+        try {
+            dinner.address = Address.parse(addressString).withLocation(location);
+        } catch (IllegalArgumentException e) {
+            dinner.address = null;
+        }
+        dinner.cuisineType = cuisineType;
+        dinner.maxGuestCount = maxGuestCount;
+        dinner.status = status != null ? status : DinnerStatus.UPCOMING;
+        dinner.imageUrl = imageUrl;
+        dinner.version = version;
+        dinner.updatedAt = updatedAt;
+        return dinner;
+    }
+
     /**
      * Sets the address from a formatted string.
      *
@@ -153,6 +210,27 @@ public class Dinner{
         return address != null ? address.format() : null;
     }
 
+    /**
+     * Sets the geocoded location of the address.
+     * Ignored if the dinner has no valid address.
+     *
+     * @param location the location, or null if unknown
+     */
+    public void setLocation(GeoPoint location) {
+        if (address != null) {
+            this.address = address.withLocation(location);
+        }
+    }
+
+    /**
+     * Gets the geocoded location of the address.
+     *
+     * @return the location, or null if the address has not been geocoded
+     */
+    public GeoPoint getLocation() {
+        return address != null ? address.getLocation() : null;
+    }
+
     /**
      * Sets the host ID.
      *
@@ -315,7 +393,7 @@ public class Dinner{
      * @return true if the dinner was rescheduled, false otherwise
      */
     public boolean reschedule(LocalDateTime newStartTime, LocalDateTime newEndTime) {
-        if (status == DinnerStatus.COMPLETED) {
+        if (status == DinnerStatus.COMPLETED || status == DinnerStatus.CANCELLED) {
             errors.add("Cannot reschedule a completed or cancelled dinner");
             return false;
         }
@@ -363,6 +441,20 @@ public class Dinner{
         return true;
     }
 
+    /**
+     * Marks the dinner as cancelled.
+     *
+     * @return true if the dinner was cancelled, false otherwise
+     */
+    public boolean cancel() {
+        if (status != DinnerStatus.UPCOMING && status != DinnerStatus.RESCHEDULED) {
+            errors.add("Only upcoming or rescheduled dinners can be cancelled");
+            return false;
+        }
+        this.status = DinnerStatus.CANCELLED;
+        return true;
+    }
+
 
 
 
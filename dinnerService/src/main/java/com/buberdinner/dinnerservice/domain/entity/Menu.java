@@ -19,9 +19,35 @@ public class Menu {
     private String cuisineType;
     private MenuStatus status;
 
+    /**
+     * Version of the persisted state this menu was loaded from, null for a new menu.
+     */
+    private Long version;
+
 
     private final List<String> errors = new ArrayList<>();
 
+    private Menu() {
+    }
+
+    /**
+     * Rebuilds a menu from its persisted state, without validating it again.
+     *
+     * @return the menu
+     */
+    public static Menu rehydrate(Long id, Long hostId, String name, String description,
+                                 String cuisineType, MenuStatus status, Long version) {
+        Menu menu = new Menu();
+        menu.id = id;
+        menu.hostId = hostId != null ? HostId.of(hostId) : null;
+        menu.name = name;
+        menu.description = description;
+        menu.cuisineType = cuisineType;
+        menu.status = status;
+        menu.version = version;
+        return menu;
+    }
+
     public Menu(Long id, long hostId, String name, String description,
                 String cuisineType, MenuStatus status) {
         this.id = id;
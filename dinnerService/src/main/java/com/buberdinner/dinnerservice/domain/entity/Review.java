@@ -19,6 +19,7 @@ public class Review {
     private String comment;
     private int rating;
     private LocalDateTime createdAt;
+    private Long version;
     
     private final List<String> errors = new ArrayList<>();
     
@@ -54,6 +55,25 @@ public class Review {
         validate();
     }
     
+    /**
+     * Rebuilds a review from its persisted state, keeping its creation time
+     * and without validating it again.
+     *
+     * @return the review
+     */
+    public static Review rehydrate(Long id, Long hostId, Long userId, String comment, int rating,
+                                   LocalDateTime createdAt, Long version) {
+        Review review = new Review();
+        review.id = id;
+        review.hostId = hostId != null ? HostId.of(hostId) : null;
+        review.userId = userId != null ? UserId.of(userId) : null;
+        review.comment = comment;
+        review.rating = rating;
+        review.createdAt = createdAt;
+        review.version = version;
+        return review;
+    }
+
     /**
      * Gets the Host ID as a primitive long.
      *
@@ -0,0 +1,6 @@
+package com.buberdinner.dinnerservice.domain.event;
+
+public record DinnerCancelledEvent(
+        Long dinnerId
+) {
+}
@@ -4,6 +4,9 @@ import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
 
 import java.util.List;
 
+/**
+ * A started dinner and its guests. The guests are null until the outbox relay has fetched them.
+ */
 public record DinnerStartedEvent(
         DinnerResponse dinner,
         List<Long> id_guess
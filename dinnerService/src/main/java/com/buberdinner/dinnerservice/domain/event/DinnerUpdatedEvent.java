@@ -1,9 +1,37 @@
 package com.buberdinner.dinnerservice.domain.event;
 
 
-import com.buberdinner.dinnerservice.presentation.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
 
+import java.util.List;
+
+/**
+ * A change to a dinner, at the given version of the dinner.
+ *
+ * Only the changed fields are sent to Kafka, unless the event is a snapshot, which carries every
+ * field and lets consumers rebuild or repair their copy of the dinner.
+ *
+ * @param dinnerId the dinner changed
+ * @param version the version of the dinner after the change
+ * @param snapshot whether every field is sent
+ * @param changedFields the names of the fields changed, as in DinnerResponse
+ * @param dinner the dinner after the change
+ */
 public record DinnerUpdatedEvent(
+        Long dinnerId,
+        long version,
+        boolean snapshot,
+        List<String> changedFields,
         DinnerResponse dinner
 ) {
+
+    /**
+     * The fields of a dinner sent in update events, all of them in a snapshot.
+     */
+    public static final List<String> FIELDS = List.of("hostId", "menuId", "name", "description", "price",
+            "startTime", "endTime", "imageUrl", "address", "cuisineType", "maxGuestCount", "status", "rating");
+
+    public static DinnerUpdatedEvent snapshot(DinnerResponse dinner, long version) {
+        return new DinnerUpdatedEvent(dinner.getId(), version, true, FIELDS, dinner);
+    }
 }
@@ -0,0 +1,11 @@
+package com.buberdinner.dinnerservice.domain.event;
+
+import java.util.List;
+
+/**
+ * Dinners cancelled together by a bulk request.
+ */
+public record DinnersCancelledEvent(
+        List<DinnerCancelledEvent> dinners
+) {
+}
@@ -0,0 +1,11 @@
+package com.buberdinner.dinnerservice.domain.event;
+
+import java.util.List;
+
+/**
+ * Dinners completed together, by the lifecycle scheduler or by a bulk request.
+ */
+public record DinnersCompletedEvent(
+        List<DinnerCompletedEvent> dinners
+) {
+}
@@ -0,0 +1,11 @@
+package com.buberdinner.dinnerservice.domain.event;
+
+import java.util.List;
+
+/**
+ * Dinners created together by a bulk request, published once their transaction has committed.
+ */
+public record DinnersCreatedEvent(
+        List<DinnerCreatedEvent> dinners
+) {
+}
@@ -1,54 +1,77 @@
 package com.buberdinner.dinnerservice.domain.event.EventListner;
 
 import com.buberdinner.dinnerservice.domain.event.*;
-import com.buberdinner.dinnerservice.infrastructure.messaging.KafkaProducerService;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerOutbox;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
+/**
+ * Stores the dinner events in the outbox, in the transaction publishing them, for the
+ * OutboxRelay to send them to Kafka once that transaction has committed.
+ */
+@Slf4j
 @Component
 public class DinnerEventListner {
 
 
 
-    public DinnerEventListner(KafkaTemplate<String, DinnerCreatedEvent> kafkaTemplate, KafkaTemplate<String, DinnerUpdatedEvent> kafkaTemplate2, KafkaTemplate<String, DinnerStartedEvent> kafkaTemplate31, KafkaTemplate<String, DinnerCompletedEvent> kafkaTemplate4) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.kafkaTemplate2 = kafkaTemplate2;
-        this.kafkaTemplate3 = kafkaTemplate31;
-        this.kafkaTemplate4 = kafkaTemplate4;
+    public DinnerEventListner(DinnerOutbox dinnerOutbox) {
+        this.dinnerOutbox = dinnerOutbox;
     }
 
-    private final KafkaTemplate<String, DinnerCreatedEvent> kafkaTemplate;
-    private final KafkaTemplate<String, DinnerUpdatedEvent> kafkaTemplate2;
-    private final KafkaTemplate<String, DinnerStartedEvent> kafkaTemplate3;
-    private final KafkaTemplate<String, DinnerCompletedEvent> kafkaTemplate4;
+    private final DinnerOutbox dinnerOutbox;
 
 
     @EventListener
     public void onDinnerCreated(DinnerCreatedEvent event) {
 
-        kafkaTemplate.send("dinnerCreated", event);
-        System.out.println("service notification asy" + event.dinner().toString());
+        dinnerOutbox.append("dinnerCreated", event.dinner().getId(), event);
+        log.debug("Stored dinner created event: {}", event.dinner());
+    }
+
+    @EventListener
+    public void onDinnersCreated(DinnersCreatedEvent event) {
+        dinnerOutbox.appendAll("dinnerCreated", event.dinners(), created -> created.dinner().getId());
+        log.debug("Stored {} dinner created events", event.dinners().size());
     }
 
     @EventListener
     public void onDinnerStarted(DinnerStartedEvent event) {
-        kafkaTemplate3.send("dinnerStarted", event);
-        System.out.println("service notification asy" + event);
+        dinnerOutbox.append("dinnerStarted", event.dinner().getId(), event);
+        log.debug("Stored dinner started event: {}", event);
+    }
+
+    @EventListener
+    public void onDinnersStarted(DinnersStartedEvent event) {
+        dinnerOutbox.appendAll("dinnerStarted", event.dinners(), started -> started.dinner().getId());
+        log.debug("Stored {} dinner started events", event.dinners().size());
     }
 
     @EventListener
     public void onDinnerCompleted(DinnerCompletedEvent event) {
-        kafkaTemplate4.send("dinnerCompleted", event);
-        System.out.println("service de notification asy" + event.dinnerId());
+        dinnerOutbox.append("dinnerCompleted", event.dinnerId(), event);
+        log.debug("Stored dinner completed event: {}", event.dinnerId());
+    }
+
+    @EventListener
+    public void onDinnersCompleted(DinnersCompletedEvent event) {
+        dinnerOutbox.appendAll("dinnerCompleted", event.dinners(), DinnerCompletedEvent::dinnerId);
+        log.debug("Stored {} dinner completed events", event.dinners().size());
+    }
+
+    @EventListener
+    public void onDinnersCancelled(DinnersCancelledEvent event) {
+        dinnerOutbox.appendAll("dinnerCancelled", event.dinners(), DinnerCancelledEvent::dinnerId);
+        log.debug("Stored {} dinner cancelled events", event.dinners().size());
     }
 
 
 
     @EventListener
     public void onDinnerUpdated(DinnerUpdatedEvent event) {
-        kafkaTemplate2.send("dinnerUpdated", event);
-        System.out.println(" Dinner updated: " + event.dinner().getName());
+        dinnerOutbox.append("dinnerUpdated", event.dinnerId(), event);
+        log.debug("Stored dinner updated event: {} {}", event.dinnerId(), event.changedFields());
     }
 
 //    @EventListener
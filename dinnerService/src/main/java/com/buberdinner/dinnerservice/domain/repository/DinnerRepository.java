@@ -3,6 +3,7 @@ package com.buberdinner.dinnerservice.domain.repository;
 import com.buberdinner.dinnerservice.domain.entity.Dinner;
 import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,6 +36,14 @@ public interface DinnerRepository {
      */
     Optional<Dinner> findById(Long id);
 
+    /**
+     * Finds the dinners with the given IDs, skipping the IDs that do not exist.
+     *
+     * @param ids the dinner IDs
+     * @return the dinners found
+     */
+    List<Dinner> findAllById(Collection<Long> ids);
+
     /**
      * Finds all dinners.
      * 
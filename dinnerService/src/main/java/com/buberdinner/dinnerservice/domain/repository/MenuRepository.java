@@ -10,6 +10,7 @@ import java.util.Optional;
 public interface MenuRepository {
     Menu createMenu(Menu menu);
     Menu getMenu(Long menuId);
+    Optional<Long> findVersion(Long menuId);
     List<Menu> getHostMenus(HostId hostId);
     Menu updateMenu(Long menuId, Menu menu);
     void deleteMenu(Long menuId);
@@ -0,0 +1,67 @@
+package com.buberdinner.dinnerservice.domain.repository;
+
+import com.buberdinner.dinnerservice.domain.valueobject.RatingSummary;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Repository interface for the running rating totals of hosts and dinners.
+ */
+public interface ReviewAggregateRepository {
+    /**
+     * Adds a review to the totals of its dinner and of the dinner's host.
+     *
+     * @param dinnerId the dinner ID
+     * @param hostId the host ID, or null to only update the dinner totals
+     * @param rating the rating of the review
+     */
+    void addRating(Long dinnerId, Long hostId, int rating);
+
+    /**
+     * Removes a review from the totals of its dinner and of the dinner's host.
+     *
+     * @param dinnerId the dinner ID
+     * @param hostId the host ID, or null to only update the dinner totals
+     * @param rating the rating of the review
+     */
+    void removeRating(Long dinnerId, Long hostId, int rating);
+
+    /**
+     * Moves the totals of a dinner from its previous host to its new one.
+     *
+     * @param dinnerId the dinner ID
+     * @param previousHostId the previous host ID, or null if the dinner had none
+     * @param hostId the new host ID, or null if the dinner has none any more
+     */
+    void moveDinner(Long dinnerId, Long previousHostId, Long hostId);
+
+    /**
+     * Finds the rating totals of a dinner.
+     *
+     * @param dinnerId the dinner ID
+     * @return the rating summary, empty if the dinner has no reviews
+     */
+    RatingSummary findByDinnerId(Long dinnerId);
+
+    /**
+     * Finds the rating totals of several dinners.
+     *
+     * @param dinnerIds the dinner IDs
+     * @return the rating summaries keyed by dinner ID; dinners without reviews are absent
+     */
+    Map<Long, RatingSummary> findByDinnerIds(Collection<Long> dinnerIds);
+
+    /**
+     * Finds the rating totals of a host across all of its dinners.
+     *
+     * @param hostId the host ID
+     * @return the rating summary, empty if the host has no reviews
+     */
+    RatingSummary findByHostId(Long hostId);
+
+    /**
+     * Recomputes every aggregate from the reviews table, e.g. after a bulk import.
+     */
+    void rebuild();
+}
@@ -6,6 +6,7 @@ import lombok.ToString;
 
 /**
  * Value object representing an address.
+ * The location is optional and only known once the address has been geocoded.
  */
 @Getter
 @AllArgsConstructor
@@ -16,6 +17,21 @@ public class Address {
     private final String state;
     private final String postalCode;
     private final String country;
+    private final GeoPoint location;
+
+    public Address(String street, String city, String state, String postalCode, String country) {
+        this(street, city, state, postalCode, country, null);
+    }
+
+    /**
+     * Creates a copy of this address located at the given point.
+     *
+     * @param location the geocoded location, or null if unknown
+     * @return the located Address object
+     */
+    public Address withLocation(GeoPoint location) {
+        return new Address(street, city, state, postalCode, country, location);
+    }
 
     /**
      * Creates a formatted string representation of the address.
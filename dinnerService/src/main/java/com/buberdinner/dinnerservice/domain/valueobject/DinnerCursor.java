@@ -0,0 +1,75 @@
+package com.buberdinner.dinnerservice.domain.valueobject;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Value object representing a position in the dinner listing.
+ * Dinners are listed by start time, then by ID to break ties,
+ * so a cursor holds the sort key of the last dinner of a page.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class DinnerCursor {
+    private final LocalDateTime startTime;
+    private final Long id;
+
+    private DinnerCursor(LocalDateTime startTime, Long id) {
+        if (startTime == null) {
+            throw new IllegalArgumentException("Cursor start time cannot be null");
+        }
+        if (id == null) {
+            throw new IllegalArgumentException("Cursor dinner ID cannot be null");
+        }
+        this.startTime = startTime;
+        this.id = id;
+    }
+
+    /**
+     * Creates a new DinnerCursor pointing after the given sort key.
+     *
+     * @param startTime the start time of the last dinner seen
+     * @param id the ID of the last dinner seen
+     * @return the DinnerCursor value object
+     */
+    public static DinnerCursor of(LocalDateTime startTime, Long id) {
+        return new DinnerCursor(startTime, id);
+    }
+
+    /**
+     * Encodes this cursor into an opaque, URL-safe token.
+     *
+     * @return the encoded token
+     */
+    public String encode() {
+        String raw = startTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}.
+     *
+     * @param token the encoded token
+     * @return the DinnerCursor object
+     * @throws IllegalArgumentException if the token is not a valid cursor
+     */
+    public static DinnerCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new DinnerCursor(LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.buberdinner.dinnerservice.domain.valueobject;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Value object holding the filters of a dinner search.
+ * Every filter is optional; a null value means "any".
+ */
+@Getter
+@ToString
+public class DinnerSearchCriteria {
+    private final String cuisineType;
+    private final Double minPrice;
+    private final Double maxPrice;
+    private final LocalDateTime startsAfter;
+    private final LocalDateTime startsBefore;
+    private final DinnerStatus status;
+    private final Integer minCapacity;
+
+    @Builder
+    private DinnerSearchCriteria(String cuisineType, Double minPrice, Double maxPrice,
+                                 LocalDateTime startsAfter, LocalDateTime startsBefore,
+                                 DinnerStatus status, Integer minCapacity) {
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("Minimum price cannot be greater than maximum price");
+        }
+        if (startsAfter != null && startsBefore != null && startsAfter.isAfter(startsBefore)) {
+            throw new IllegalArgumentException("Start time window is empty");
+        }
+        if (minCapacity != null && minCapacity < 0) {
+            throw new IllegalArgumentException("Minimum capacity cannot be negative");
+        }
+        this.cuisineType = cuisineType == null || cuisineType.isBlank() ? null : cuisineType.trim();
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.startsAfter = startsAfter;
+        this.startsBefore = startsBefore;
+        this.status = status;
+        this.minCapacity = minCapacity;
+    }
+}
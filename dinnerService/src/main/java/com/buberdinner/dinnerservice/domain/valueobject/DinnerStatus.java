@@ -23,5 +23,10 @@ public enum DinnerStatus {
     /**
      * The dinner has been rescheduled.
      */
-    RESCHEDULED
+    RESCHEDULED,
+
+    /**
+     * The dinner has been cancelled before it started.
+     */
+    CANCELLED
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package com.buberdinner.dinnerservice.domain.valueobject;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Value object representing a position on Earth in decimal degrees.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class GeoPoint {
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private final double latitude;
+    private final double longitude;
+
+    private GeoPoint(double latitude, double longitude) {
+        if (Double.isNaN(latitude) || latitude < -90 || latitude > 90) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (Double.isNaN(longitude) || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
+        this.latitude = latitude;
+        this.longitude = longitude;
+    }
+
+    /**
+     * Creates a new GeoPoint with the given coordinates.
+     *
+     * @param latitude the latitude in degrees
+     * @param longitude the longitude in degrees
+     * @return the GeoPoint value object
+     */
+    public static GeoPoint of(double latitude, double longitude) {
+        return new GeoPoint(latitude, longitude);
+    }
+
+    /**
+     * Computes the great-circle distance to another point with the haversine formula.
+     *
+     * @param other the other point
+     * @return the distance in kilometers
+     */
+    public double distanceKmTo(GeoPoint other) {
+        double dLat = Math.toRadians(other.latitude - latitude);
+        double dLon = Math.toRadians(other.longitude - longitude);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(other.latitude))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+}
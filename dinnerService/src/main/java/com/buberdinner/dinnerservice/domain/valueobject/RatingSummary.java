@@ -0,0 +1,72 @@
+package com.buberdinner.dinnerservice.domain.valueobject;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Value object holding the number of reviews, the sum of their ratings
+ * and how many reviews were given for each star from 1 to 5.
+ */
+@Getter
+@EqualsAndHashCode
+@ToString
+public class RatingSummary {
+    public static final int MIN_STARS = 1;
+    public static final int MAX_STARS = 5;
+
+    private static final RatingSummary EMPTY = new RatingSummary(0, 0, new long[MAX_STARS]);
+
+    private final long reviewCount;
+    private final long ratingSum;
+
+    @Getter(AccessLevel.NONE)
+    private final long[] starCounts;
+
+    private RatingSummary(long reviewCount, long ratingSum, long[] starCounts) {
+        if (reviewCount < 0) {
+            throw new IllegalArgumentException("Review count cannot be negative");
+        }
+        if (starCounts.length != MAX_STARS) {
+            throw new IllegalArgumentException("Star counts must cover ratings 1 to 5");
+        }
+        this.reviewCount = reviewCount;
+        this.ratingSum = ratingSum;
+        this.starCounts = starCounts.clone();
+    }
+
+    /**
+     * Creates a new RatingSummary with the given values.
+     *
+     * @param reviewCount the number of reviews
+     * @param ratingSum the sum of all ratings
+     * @param starCounts the number of reviews per star, index 0 holding 1-star reviews
+     * @return the RatingSummary value object
+     */
+    public static RatingSummary of(long reviewCount, long ratingSum, long... starCounts) {
+        return new RatingSummary(reviewCount, ratingSum, starCounts);
+    }
+
+    /**
+     * Gets the summary of an empty set of reviews.
+     *
+     * @return the empty RatingSummary
+     */
+    public static RatingSummary empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Gets the number of reviews that gave the given number of stars.
+     *
+     * @param stars the number of stars, from 1 to 5
+     * @return the number of reviews with that rating
+     */
+    public long getStarCount(int stars) {
+        if (stars < MIN_STARS || stars > MAX_STARS) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        return starCounts[stars - 1];
+    }
+}
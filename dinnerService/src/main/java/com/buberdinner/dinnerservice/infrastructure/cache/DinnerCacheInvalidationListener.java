@@ -0,0 +1,36 @@
+package com.buberdinner.dinnerservice.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops cached dinners changed by any dinnerService instance.
+ *
+ * Every instance listens with its own consumer group, so each one receives every change.
+ * Dinner events are keyed by dinner ID, so only the key is read and the payload is never decoded,
+ * which keeps the listener independent of the shape and encoding of the events.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DinnerCacheInvalidationListener {
+
+    private final DinnerResponseCache dinnerResponseCache;
+
+    @KafkaListener(topics = {"dinnerUpdated", "dinnerStarted", "dinnerCompleted", "dinnerCancelled"},
+            groupId = "dinner-cache-${random.uuid}",
+            properties = {"auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"},
+            autoStartup = "${dinner.cache.kafka-invalidation.enabled:true}")
+    public void onDinnerChanged(ConsumerRecord<String, byte[]> record) {
+        try {
+            dinnerResponseCache.invalidate(Long.parseLong(record.key()));
+        } catch (NumberFormatException e) {
+            log.warn("Dinner event on {} without a dinner ID key, dropping the whole cache", record.topic());
+            dinnerResponseCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.buberdinner.dinnerservice.infrastructure.cache;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of fully mapped dinner responses, keyed by dinner ID.
+ *
+ * Entries expire after a fixed time to live, so an invalidation missed by this instance
+ * is only visible for a bounded time. Hit, miss and eviction counts are published as
+ * the "cache.*" metrics with the tag cache=dinners.
+ */
+@Component
+public class DinnerResponseCache {
+
+    private final Cache<Long, DinnerResponse> cache;
+
+    public DinnerResponseCache(MeterRegistry meterRegistry,
+                               @Value("${dinner.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${dinner.cache.ttl:PT10M}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dinners");
+    }
+
+    /**
+     * Gets the response of a dinner, loading it on a miss. Exceptions thrown by the loader
+     * are propagated and nothing is cached.
+     *
+     * @param dinnerId the dinner ID
+     * @param loader builds the response when it is not cached
+     * @return the dinner response
+     */
+    public DinnerResponse get(Long dinnerId, Function<Long, DinnerResponse> loader) {
+        return cache.get(dinnerId, loader);
+    }
+
+    /**
+     * Drops the cached response of a dinner. When called inside a transaction, the entry is
+     * dropped again after commit so that a read racing with the transaction cannot keep the
+     * old version cached.
+     *
+     * @param dinnerId the dinner ID
+     */
+    public void invalidate(Long dinnerId) {
+        cache.invalidate(dinnerId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(dinnerId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops every cached response.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Gets the approximate number of cached responses.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
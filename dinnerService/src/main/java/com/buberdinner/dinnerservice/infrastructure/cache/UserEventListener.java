@@ -0,0 +1,56 @@
+package com.buberdinner.dinnerservice.infrastructure.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Fills the user validity cache with the users created in userService.
+ *
+ * Every instance needs all the users still retained by Kafka, so the partitions of the topics are
+ * assigned to each instance rather than shared out by the consumer group, and read again from the
+ * start whenever they are assigned. The group is fixed, so restarts do not leave a new group
+ * behind on the brokers, and auto commit is off; the offsets committed for it are never used.
+ * userService keys its events by user ID and publishes hosts and guests on separate topics, so
+ * only the key and the topic are read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEventListener implements ConsumerSeekAware {
+
+    static final String HOST_TOPIC = "host-topic";
+    static final String GUEST_TOPIC = "guest-topic";
+    static final String LISTENER_ID = "dinner-user-cache";
+
+    private final UserValidityCache userValidityCache;
+
+    @KafkaListener(id = LISTENER_ID,
+            groupId = LISTENER_ID,
+            topicPartitions = {
+                    @org.springframework.kafka.annotation.TopicPartition(topic = HOST_TOPIC,
+                            partitions = "${dinner.users.events.partitions:0}"),
+                    @org.springframework.kafka.annotation.TopicPartition(topic = GUEST_TOPIC,
+                            partitions = "${dinner.users.events.partitions:0}")},
+            properties = {"enable.auto.commit=false",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"},
+            autoStartup = "${dinner.cache.kafka-invalidation.enabled:true}")
+    public void onUserCreated(ConsumerRecord<String, byte[]> record) {
+        try {
+            userValidityCache.userCreated(Long.parseLong(record.key()), HOST_TOPIC.equals(record.topic()));
+        } catch (NumberFormatException e) {
+            log.warn("User event on {} without a user ID key, skipping it", record.topic());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        callback.seekToBeginning(assignments.keySet());
+    }
+}
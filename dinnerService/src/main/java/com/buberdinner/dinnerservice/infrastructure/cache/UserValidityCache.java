@@ -0,0 +1,177 @@
+package com.buberdinner.dinnerservice.infrastructure.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of which users exist and which of them are hosts, keyed by user ID.
+ *
+ * It is filled from userService's user creation events and, on a miss, from its HTTP API. Users
+ * are never deleted and their role never changes, so what is known of an existing user is kept
+ * for the long time to live, while users not known to exist are only kept for the short one: they
+ * may sign up in the meantime, and their creation event may not have arrived yet.
+ *
+ * Metrics: "users.cache.gets" (tags fact=exists|host, result=hit|miss), "users.lookups" (the time
+ * of the HTTP lookups made on a miss), "users.cache.size" and "users.cache.saved", an estimate of
+ * the lookup time saved by hits (hit count times the mean lookup time).
+ */
+@Component
+public class UserValidityCache {
+
+    /**
+     * What is known of a user. A fact is null until it has been learned.
+     */
+    public record Facts(Boolean exists, Boolean host) {
+
+        public Facts {
+            // Only an existing user can be a host, and a missing one cannot
+            if (Boolean.TRUE.equals(host)) {
+                exists = true;
+            }
+            if (Boolean.FALSE.equals(exists)) {
+                host = false;
+            }
+        }
+
+        /**
+         * Combines with newer facts. A user seen existing, or seen as a host, stays so whatever the
+         * order in which the events and the lookups arrive.
+         */
+        Facts merge(Facts newer) {
+            return new Facts(merge(exists, newer.exists), merge(host, newer.host));
+        }
+
+        private static Boolean merge(Boolean older, Boolean newer) {
+            if (Boolean.TRUE.equals(older) || Boolean.TRUE.equals(newer)) {
+                return true;
+            }
+            return newer != null ? newer : older;
+        }
+    }
+
+    private final Cache<Long, Facts> cache;
+    private final FactMetrics existsMetrics;
+    private final FactMetrics hostMetrics;
+
+    public UserValidityCache(MeterRegistry meterRegistry,
+                             @Value("${dinner.users.cache.maximum-size:100000}") long maximumSize,
+                             @Value("${dinner.users.cache.ttl:PT1H}") Duration timeToLive,
+                             @Value("${dinner.users.cache.negative-ttl:PT1M}") Duration negativeTimeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<Long, Facts>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Facts facts, long currentTime) {
+                        return (Boolean.TRUE.equals(facts.exists()) ? timeToLive : negativeTimeToLive).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Facts facts, long currentTime, long currentDuration) {
+                        return expireAfterCreate(userId, facts, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Facts facts, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.existsMetrics = new FactMetrics(meterRegistry, "exists");
+        this.hostMetrics = new FactMetrics(meterRegistry, "host");
+        Gauge.builder("users.cache.size", cache, Cache::estimatedSize)
+                .description("Approximate number of users in the user validity cache")
+                .register(meterRegistry);
+        Gauge.builder("users.cache.saved", this, UserValidityCache::savedSeconds)
+                .description("Estimated time of the user lookups avoided by the user validity cache")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Tells whether a user exists, looking it up on a miss. A lookup returning null has failed:
+     * the user is then taken as missing, and nothing is cached.
+     */
+    public boolean exists(Long userId, Supplier<Facts> lookup) {
+        return get(userId, Facts::exists, lookup, existsMetrics);
+    }
+
+    /**
+     * Tells whether a user is a host, looking it up on a miss. A lookup returning null has failed:
+     * the user is then taken as not a host, and nothing is cached.
+     */
+    public boolean isHost(Long userId, Supplier<Facts> lookup) {
+        return get(userId, Facts::host, lookup, hostMetrics);
+    }
+
+    /**
+     * Records a user created in userService.
+     */
+    public void userCreated(Long userId, boolean host) {
+        cache.asMap().merge(userId, new Facts(true, host), Facts::merge);
+    }
+
+    /**
+     * Gets the approximate number of cached users.
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private boolean get(Long userId, Function<Facts, Boolean> fact, Supplier<Facts> lookup, FactMetrics metrics) {
+        Facts facts = cache.getIfPresent(userId);
+        Boolean known = facts != null ? fact.apply(facts) : null;
+        if (known != null) {
+            metrics.hits.increment();
+            return known;
+        }
+        metrics.misses.increment();
+        Facts learned = metrics.lookups.record(lookup);
+        if (learned == null) {
+            return false;
+        }
+        Facts merged = cache.asMap().merge(userId, learned, Facts::merge);
+        return Boolean.TRUE.equals(fact.apply(merged));
+    }
+
+    private double savedSeconds() {
+        return existsMetrics.savedSeconds() + hostMetrics.savedSeconds();
+    }
+
+    private static final class FactMetrics {
+
+        private final Counter hits;
+        private final Counter misses;
+        private final Timer lookups;
+
+        private FactMetrics(MeterRegistry meterRegistry, String fact) {
+            this.hits = Counter.builder("users.cache.gets")
+                    .tag("fact", fact)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            this.misses = Counter.builder("users.cache.gets")
+                    .tag("fact", fact)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            this.lookups = Timer.builder("users.lookups")
+                    .description("Time of the userService lookups made on a user validity cache miss")
+                    .tag("fact", fact)
+                    .register(meterRegistry);
+        }
+
+        private double savedSeconds() {
+            return hits.count() * lookups.mean(TimeUnit.SECONDS);
+        }
+    }
+}
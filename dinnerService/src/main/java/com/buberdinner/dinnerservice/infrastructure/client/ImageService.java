@@ -2,32 +2,162 @@ package com.buberdinner.dinnerservice.infrastructure.client;
 
 
 
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
-import java.nio.file.*;
-import java.util.UUID;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
 
+/**
+ * Stores dinner images under the SHA-256 of their content, so the same photo uploaded again is
+ * kept once. An upload is read once: its format is checked from its first bytes before anything
+ * is written, then it is hashed while it is copied to a temporary file, which is moved into place
+ * in the ImageStore atomically. Smaller variants of each new image are then generated by the
+ * ImageVariantPipeline.
+ *
+ * Inside a transaction, the image is only moved into place once the transaction has committed,
+ * and its temporary file is deleted if it rolls back, so a dinner that fails to be saved leaves
+ * no image behind.
+ */
+@Slf4j
 @Service
 public class ImageService {
 
-    private static final String UPLOAD_DIR = "uploads/";
+    private static final String URL_PREFIX = "/images/";
+    private static final String TEMP_PREFIX = ".upload-";
+    private static final int HEADER_SIZE = 12;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ImageStore imageStore;
+    private final ImageVariantPipeline imageVariantPipeline;
+
+    public ImageService(ImageStore imageStore, ImageVariantPipeline imageVariantPipeline) {
+        this.imageStore = imageStore;
+        this.imageVariantPipeline = imageVariantPipeline;
+    }
 
     public String storeImage(MultipartFile file) {
+        try (InputStream in = file.getInputStream()) {
+            return storeImage(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erreur lors de l'enregistrement de l'image", e);
+        }
+    }
+
+    /**
+     * Stores an image and returns its URL, which is the URL of the identical image if it was
+     * already stored. Inside a transaction, the URL is returned at once but the image is only
+     * stored after commit.
+     *
+     * @throws IllegalArgumentException if the content is not a JPEG, PNG, GIF or WebP image
+     */
+    public String storeImage(InputStream in) throws IOException {
+        MessageDigest digest = sha256();
+        BufferedInputStream image = new BufferedInputStream(new DigestInputStream(in, digest), BUFFER_SIZE);
+        image.mark(HEADER_SIZE);
+        String extension = extension(image.readNBytes(HEADER_SIZE));
+        if (extension == null) {
+            throw new IllegalArgumentException("Unsupported image format: only JPEG, PNG, GIF and WebP images are accepted");
+        }
+        image.reset();
+
+        Path temp = imageStore.createTempFile(TEMP_PREFIX);
+        boolean afterCommit = false;
         try {
-            // Crée le dossier s'il n'existe pas
-            Files.createDirectories(Paths.get(UPLOAD_DIR));
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                image.transferTo(out);
+            }
+            String name = HexFormat.of().formatHex(digest.digest()) + "." + extension;
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        try {
+                            if (status == STATUS_COMMITTED) {
+                                moveIntoPlace(temp, name);
+                            }
+                            Files.deleteIfExists(temp);
+                        } catch (IOException e) {
+                            log.error("Could not store image {}", name, e);
+                        }
+                    }
+                });
+                afterCommit = true;
+            } else {
+                moveIntoPlace(temp, name);
+            }
+            return URL_PREFIX + name; // Ceci sera accessible via ImageController
+        } finally {
+            if (!afterCommit) {
+                Files.deleteIfExists(temp);
+            }
+        }
+    }
 
-            String filename = UUID.randomUUID() + "_" + file.getOriginalFilename();
-            Path path = Paths.get(UPLOAD_DIR + filename);
+    private void moveIntoPlace(Path temp, String name) throws IOException {
+        if (imageStore.contains(name)) {
+            log.debug("Image {} is already stored", name);
+        } else {
+            // Two identical uploads may race here; the second rename replaces the first file with the same bytes
+            imageStore.moveIntoPlace(temp, name);
+        }
+        imageVariantPipeline.generate(name);
+    }
 
-            Files.copy(file.getInputStream(), path, StandardCopyOption.REPLACE_EXISTING);
+    /**
+     * Finds a stored image, or a generated variant of one, by its file name.
+     */
+    public Optional<ImageStore.StoredFile> findFile(String name) {
+        return imageStore.find(name);
+    }
 
-            return "/images/" + filename; // Ceci sera accessible via WebConfig
-        } catch (IOException e) {
-            throw new RuntimeException("Erreur lors de l'enregistrement de l'image", e);
+    private static String extension(byte[] header) {
+        if (startsWith(header, 0, 0xFF, 0xD8, 0xFF)) {
+            return "jpg";
+        }
+        if (startsWith(header, 0, 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A)) {
+            return "png";
+        }
+        if (startsWith(header, 0, 'G', 'I', 'F', '8') && header.length >= 6 && header[5] == 'a'
+                && (header[4] == '7' || header[4] == '9')) {
+            return "gif";
+        }
+        if (startsWith(header, 0, 'R', 'I', 'F', 'F') && startsWith(header, 8, 'W', 'E', 'B', 'P')) {
+            return "webp";
         }
+        return null;
     }
-}
 
+    private static boolean startsWith(byte[] header, int offset, int... signature) {
+        if (header.length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (header[offset + i] != (byte) signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.buberdinner.dinnerservice.infrastructure.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * The files of the dinner images and their variants, and the manifest indexing them.
+ *
+ * Files are spread over a two-level directory tree, {@code ab/cd/<name>}, taken from the first
+ * four hex digits of the name (content hashes and the UUIDs of older uploads), so that no
+ * directory holds more than a few dozen files. The manifest maps each name to its path, length
+ * and content type. It is an H2 MVStore map, kept in a file next to the images and paged in on
+ * demand, so finding an image costs one B-tree lookup and no file system access.
+ *
+ * Files written before the directory tree existed are left at the top level until
+ * ImageStoreMigration moves them; they are still found there meanwhile.
+ */
+@Slf4j
+@Component
+public class ImageStore {
+
+    public static final String MANIFEST_FILE = "manifest.mv.db";
+
+    private final Path directory;
+    /** Opened on first use, so that an instance that never touches images does not lock the manifest */
+    private MVStore manifestStore;
+    private volatile MVMap<String, String> manifest;
+    private final Cache<String, StoredFile> files = Caffeine.newBuilder().maximumSize(10_000).build();
+    /** Whether files may remain at the top level, from before the directory tree */
+    private volatile boolean unmigratedFiles;
+
+    /**
+     * A stored image or image variant, with what is needed to serve it.
+     */
+    public record StoredFile(String name, Path path, long length, String contentType) {
+    }
+
+    public ImageStore(@Value("${dinner.images.directory:uploads}") Path directory) {
+        this.directory = directory;
+        try {
+            // Crée le dossier s'il n'existe pas
+            Files.createDirectories(directory);
+            try (Stream<Path> entries = Files.list(directory)) {
+                for (Path entry : (Iterable<Path>) entries::iterator) {
+                    String name = entry.getFileName().toString();
+                    if (name.startsWith(".")) {
+                        // Left over by an upload or a variant interrupted by a shutdown
+                        Files.deleteIfExists(entry);
+                    } else if (isTopLevelImage(entry)) {
+                        unmigratedFiles = true;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the image directory " + directory, e);
+        }
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Creates a temporary file in the image directory, on the same file system as the images, so
+     * that moving it into place is a rename.
+     */
+    public Path createTempFile(String prefix) throws IOException {
+        return Files.createTempFile(directory, prefix, ".tmp");
+    }
+
+    /**
+     * Moves a complete file into place under a name, atomically, and adds it to the manifest.
+     * A file already stored under the name is replaced.
+     */
+    public StoredFile moveIntoPlace(Path temp, String name) throws IOException {
+        String relativePath = relativePath(name);
+        Path path = directory.resolve(relativePath);
+        Files.createDirectories(path.getParent());
+        Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE);
+        return register(name, relativePath, Files.size(path));
+    }
+
+    /**
+     * Finds a stored image, or a generated variant of one, by its name.
+     */
+    public Optional<StoredFile> find(String name) {
+        if (name.isEmpty() || name.startsWith(".") || name.contains("/") || name.contains("\\")
+                || name.startsWith(MANIFEST_FILE)) {
+            return Optional.empty();
+        }
+        StoredFile file = files.getIfPresent(name);
+        if (file != null) {
+            return Optional.of(file);
+        }
+        String entry = manifest().get(name);
+        if (entry != null) {
+            file = fromEntry(name, entry);
+            files.put(name, file);
+            return Optional.of(file);
+        }
+        // Not cached: the file moves when it is migrated
+        return unmigratedFiles ? readTopLevel(name) : Optional.empty();
+    }
+
+    public boolean contains(String name) {
+        return files.getIfPresent(name) != null || manifest().containsKey(name);
+    }
+
+    public long size() {
+        return manifest().size();
+    }
+
+    /**
+     * Moves a file from the top level of the image directory to its place in the directory tree.
+     *
+     * @return false if it was not an image file
+     */
+    boolean migrate(Path file) throws IOException {
+        if (!isTopLevelImage(file)) {
+            return false;
+        }
+        moveIntoPlace(file, file.getFileName().toString());
+        return true;
+    }
+
+    /**
+     * Adds a file of the directory tree to the manifest, if it is missing from it.
+     *
+     * @return false if it was already in the manifest
+     */
+    boolean index(Path file) throws IOException {
+        String name = file.getFileName().toString();
+        if (name.startsWith(".") || manifest().containsKey(name)) {
+            return false;
+        }
+        register(name, directory.relativize(file).toString().replace('\\', '/'), Files.size(file));
+        return true;
+    }
+
+    /**
+     * Whether files remain at the top level, or the directory tree has no manifest (it was deleted,
+     * or the tree was copied from another instance), so that the migration has work to do.
+     */
+    boolean needsMigration() throws IOException {
+        return unmigratedFiles || (!hasManifest() && hasDirectoryTree());
+    }
+
+    boolean hasManifest() {
+        return manifest != null || Files.exists(directory.resolve(MANIFEST_FILE));
+    }
+
+    private boolean hasDirectoryTree() throws IOException {
+        try (Stream<Path> entries = Files.list(directory)) {
+            return entries.anyMatch(Files::isDirectory);
+        }
+    }
+
+    void migrationFinished() {
+        unmigratedFiles = false;
+    }
+
+    boolean isTopLevelImage(Path entry) {
+        String name = entry.getFileName().toString();
+        return Files.isRegularFile(entry) && !name.startsWith(".") && !name.startsWith(MANIFEST_FILE);
+    }
+
+    /**
+     * The place of a file in the directory tree: the first four hex digits of its name, or of the
+     * hash of its name when it does not start with hex digits.
+     */
+    public static String relativePath(String name) {
+        String key = name.length() >= 4 && name.substring(0, 4).matches("[0-9a-f]{4}")
+                ? name.substring(0, 4)
+                : sha256(name).substring(0, 4);
+        return key.substring(0, 2) + "/" + key.substring(2, 4) + "/" + name;
+    }
+
+    private StoredFile register(String name, String relativePath, long length) {
+        String contentType = MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+        String entry = relativePath + "\t" + length + "\t" + contentType;
+        MVMap<String, String> map = manifest();
+        synchronized (this) {
+            map.put(name, entry);
+            manifestStore.commit();
+        }
+        StoredFile file = fromEntry(name, entry);
+        files.put(name, file);
+        return file;
+    }
+
+    private StoredFile fromEntry(String name, String entry) {
+        String[] fields = entry.split("\t", 3);
+        return new StoredFile(name, directory.resolve(fields[0]), Long.parseLong(fields[1]), fields[2]);
+    }
+
+    private Optional<StoredFile> readTopLevel(String name) {
+        Path path = directory.resolve(name);
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (!attributes.isRegularFile()) {
+                return Optional.empty();
+            }
+            return Optional.of(new StoredFile(name, path, attributes.size(),
+                    MediaTypeFactory.getMediaType(name).orElse(MediaType.APPLICATION_OCTET_STREAM).toString()));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the image " + name, e);
+        }
+    }
+
+    private MVMap<String, String> manifest() {
+        MVMap<String, String> map = manifest;
+        if (map != null) {
+            return map;
+        }
+        synchronized (this) {
+            if (manifest == null) {
+                manifestStore = new MVStore.Builder()
+                        .fileName(directory.resolve(MANIFEST_FILE).toString())
+                        .compress()
+                        .open();
+                manifest = manifestStore.openMap("images");
+                log.info("Image store {} holds {} files", directory.toAbsolutePath(), manifest.size());
+            }
+            return manifest;
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (manifestStore != null) {
+            manifestStore.close();
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
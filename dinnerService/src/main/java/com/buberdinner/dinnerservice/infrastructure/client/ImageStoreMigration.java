@@ -0,0 +1,99 @@
+package com.buberdinner.dinnerservice.infrastructure.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Brings an image directory written by an older version up to date: files stored directly in the
+ * directory are moved into the two-level directory tree of the ImageStore, and, when the manifest
+ * is missing, the files of the tree are indexed again.
+ *
+ * It runs in the background after startup, so the instance serves requests meanwhile; the images
+ * not moved yet are still found at the top level. Moving a file is a rename, and a migration that
+ * is interrupted carries on at the next startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dinner.images.migration.enabled", havingValue = "true", matchIfMissing = true)
+public class ImageStoreMigration {
+
+    /** The depth of the files in the directory tree, {@code ab/cd/<name>} */
+    private static final int TREE_DEPTH = 3;
+
+    private final ImageStore imageStore;
+
+    public ImageStoreMigration(ImageStore imageStore) {
+        this.imageStore = imageStore;
+    }
+
+    /**
+     * The number of files moved into the directory tree, and of files of the tree added to the
+     * manifest.
+     */
+    public record Result(int moved, int indexed) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        if (!imageStore.needsMigration()) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                migrate();
+            } catch (RuntimeException e) {
+                log.error("Image directory migration failed, it is resumed at the next startup", e);
+            }
+        }, "image-store-migration");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Moves the top-level files into the directory tree and indexes the files of the tree missing
+     * from the manifest.
+     */
+    public Result migrate() {
+        long started = System.nanoTime();
+        Path directory = imageStore.directory();
+        boolean reindex = !imageStore.hasManifest();
+        int moved = 0;
+        int indexed = 0;
+        try {
+            if (reindex) {
+                for (Path file : files(directory, TREE_DEPTH)) {
+                    if (directory.relativize(file).getNameCount() == TREE_DEPTH && imageStore.index(file)) {
+                        indexed++;
+                    }
+                }
+            }
+            for (Path file : files(directory, 1)) {
+                if (imageStore.migrate(file)) {
+                    moved++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not migrate the image directory " + directory, e);
+        }
+        imageStore.migrationFinished();
+        log.info("Image directory migrated in {} ms: {} files moved into the directory tree, {} files indexed",
+                (System.nanoTime() - started) / 1_000_000, moved, indexed);
+        return new Result(moved, indexed);
+    }
+
+    private static List<Path> files(Path directory, int depth) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory, depth)) {
+            return paths.filter(Files::isRegularFile).toList();
+        }
+    }
+}
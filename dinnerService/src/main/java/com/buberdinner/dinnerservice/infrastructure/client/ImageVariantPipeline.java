@@ -0,0 +1,240 @@
+package com.buberdinner.dinnerservice.infrastructure.client;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates smaller JPEG variants of the stored images in the background, so that listings do not
+ * load the full-size uploads. Variants are stored in the ImageStore like their image,
+ * as {@code <sha-256>.<variant>.jpg}, and are only served once they are complete.
+ *
+ * The pool has a bounded queue: when it is full the image is skipped, and its variants are
+ * generated the next time one of them is asked for. The original is served until then.
+ */
+@Slf4j
+@Component
+public class ImageVariantPipeline {
+
+    /**
+     * The variants of an image, by their largest width. Images are never enlarged.
+     */
+    public enum Variant {
+        THUMBNAIL(160),
+        CARD(480),
+        FULL(1280);
+
+        private final int maxWidth;
+
+        Variant(int maxWidth) {
+            this.maxWidth = maxWidth;
+        }
+
+        public int maxWidth() {
+            return maxWidth;
+        }
+
+        public String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        public static Optional<Variant> of(String key) {
+            return Arrays.stream(values()).filter(variant -> variant.key().equals(key)).findFirst();
+        }
+    }
+
+    /** Larger images are not decoded, to bound the memory a single upload can take */
+    private static final long MAX_PIXELS = 40_000_000L;
+
+    private final ImageStore imageStore;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+    /** Images queued or being processed, so that each is only processed once at a time */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    /** Images that cannot be decoded, which are not tried again */
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    public ImageVariantPipeline(ImageStore imageStore,
+                                @Value("${dinner.images.variants.quality:0.8}") float quality,
+                                @Value("${dinner.images.variants.workers:2}") int workers,
+                                @Value("${dinner.images.variants.queue-capacity:100}") int queueCapacity) {
+        this.imageStore = imageStore;
+        this.quality = quality;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    // Resizing competes with request threads for the CPU
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues the generation of the missing variants of a stored image.
+     */
+    public void generate(String imageName) {
+        if (isVariantName(imageName) || undecodable.contains(imageName) || !pending.add(imageName)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    generateMissing(imageName);
+                } finally {
+                    pending.remove(imageName);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(imageName);
+            log.debug("Image variant queue is full, {} is left for later", imageName);
+        }
+    }
+
+    public static String variantName(String imageName, Variant variant) {
+        int extension = imageName.lastIndexOf('.');
+        return (extension > 0 ? imageName.substring(0, extension) : imageName) + "." + variant.key() + ".jpg";
+    }
+
+    public static boolean isVariantName(String name) {
+        return Arrays.stream(Variant.values()).anyMatch(variant -> name.endsWith("." + variant.key() + ".jpg"));
+    }
+
+    private void generateMissing(String imageName) {
+        Optional<ImageStore.StoredFile> original = imageStore.find(imageName);
+        if (original.isEmpty()
+                || Arrays.stream(Variant.values()).allMatch(variant -> imageStore.contains(variantName(imageName, variant)))) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            BufferedImage image = read(original.get().path());
+            if (image == null) {
+                undecodable.add(imageName);
+                log.warn("Image {} cannot be decoded, it is served without variants", imageName);
+                return;
+            }
+            for (Variant variant : Variant.values()) {
+                String name = variantName(imageName, variant);
+                if (!imageStore.contains(name)) {
+                    write(resize(image, variant.maxWidth()), name);
+                }
+            }
+            log.debug("Generated the variants of {} in {} ms", imageName, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not generate the variants of {}: {}", imageName, e.getMessage());
+        }
+    }
+
+    private static BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            Iterator<ImageReader> readers = in != null ? ImageIO.getImageReaders(in) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > MAX_PIXELS) {
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image down to a width, halving it in steps first so that large reductions stay sharp.
+     * Transparent areas are flattened onto white, as JPEG has no transparency.
+     */
+    private static BufferedImage resize(BufferedImage image, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, image.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) image.getHeight() * targetWidth / image.getWidth()));
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            current = draw(current, width, height);
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static BufferedImage draw(BufferedImage image, int width, int height) {
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(image, 0, 0, width, height, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    /**
+     * Writes a JPEG to a temporary file, then moves it into place, so a variant is never served
+     * half-written.
+     */
+    private void write(BufferedImage image, String name) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        Path temp = imageStore.createTempFile(".variant-");
+        try {
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            imageStore.moveIntoPlace(temp, name);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Dropped {} pending image variant generations", executor.shutdownNow().size());
+        }
+    }
+}
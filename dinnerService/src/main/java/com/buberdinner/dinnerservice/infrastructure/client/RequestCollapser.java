@@ -0,0 +1,110 @@
+package com.buberdinner.dinnerservice.infrastructure.client;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Collapses the single-key lookups made within a short window into one batch lookup.
+ *
+ * The first lookup of a window starts a timer; the lookups made until it fires, or until the batch
+ * is full, are loaded together, and concurrent lookups of the same key share one result. Batches
+ * are loaded by a few daemon threads, so callers only wait for their own batch.
+ *
+ * @param <K> the key type
+ * @param <V> the value type; a key missing from a loaded batch completes with null
+ */
+public final class RequestCollapser<K, V> implements AutoCloseable {
+
+    private final Function<Set<K>, Map<K, V>> batchLoader;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledThreadPoolExecutor executor;
+    /** Lookups waiting for the current window, guarded by this */
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+
+    public RequestCollapser(String name, Function<Set<K>, Map<K, V>> batchLoader,
+                            Duration window, int maxBatchSize, int workers) {
+        this.batchLoader = batchLoader;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Looks up a key with the other lookups of the current window.
+     *
+     * @return the value, completed exceptionally if its batch could not be loaded
+     */
+    public CompletableFuture<V> get(K key) {
+        Map<K, CompletableFuture<V>> full = null;
+        CompletableFuture<V> future;
+        synchronized (this) {
+            future = pending.get(key);
+            if (future != null) {
+                return future;
+            }
+            if (pending.isEmpty()) {
+                executor.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if (pending.size() >= maxBatchSize) {
+                full = pending;
+                pending = new LinkedHashMap<>();
+            }
+        }
+        if (full != null) {
+            Map<K, CompletableFuture<V>> batch = full;
+            executor.execute(() -> load(batch));
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        load(batch);
+    }
+
+    private void load(Map<K, CompletableFuture<V>> batch) {
+        try {
+            Map<K, V> values = batchLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (RuntimeException e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    /**
+     * Stops loading batches. Lookups still waiting for their window fail.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        batch.values().forEach(future -> future.completeExceptionally(new IllegalStateException("Lookups are closed")));
+    }
+}
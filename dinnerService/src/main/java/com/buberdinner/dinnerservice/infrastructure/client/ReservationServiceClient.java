@@ -0,0 +1,74 @@
+package com.buberdinner.dinnerservice.infrastructure.client;
+
+import com.buberdinner.dinnerservice.application.dto.GuestIdListResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ReservationServiceClient {
+
+    private final RestTemplate restTemplate;
+    private final String reservationServiceBaseUrl;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+
+    public ReservationServiceClient(@Qualifier("reservationRestTemplate") RestTemplate restTemplate,
+                                    @Value("${service.reservation.url:http://reservationService}") String reservationServiceBaseUrl,
+                                    @Value("${service.reservation.max-attempts:3}") int maxAttempts,
+                                    @Value("${service.reservation.retry-backoff:PT0.2S}") Duration retryBackoff) {
+        this.restTemplate = restTemplate;
+        this.reservationServiceBaseUrl = reservationServiceBaseUrl;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+    }
+
+    /**
+     * Gets the IDs of the guests who booked a dinner. Failed calls are retried with an exponential
+     * backoff, except client errors, until the attempts run out or the next attempt would end after
+     * the deadline.
+     *
+     * @param dinnerId the dinner ID
+     * @param deadline the time by which the guests must be known
+     * @return the guest IDs
+     * @throws RestClientException if the guests could not be fetched in time
+     */
+    public List<Long> getGuestIds(Long dinnerId, Instant deadline) {
+        String url = reservationServiceBaseUrl + "/api/v1/reservations/dinner/" + dinnerId;
+        Duration backoff = retryBackoff;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                GuestIdListResponse response = restTemplate.getForObject(url, GuestIdListResponse.class);
+                return response != null && response.getGuestIds() != null ? response.getGuestIds() : List.of();
+            } catch (HttpClientErrorException e) {
+                throw e;
+            } catch (RestClientException e) {
+                if (attempt >= maxAttempts || Instant.now().plus(backoff).isAfter(deadline)) {
+                    throw e;
+                }
+                log.debug("Guest lookup for dinner {} failed (attempt {}), retrying in {}: {}",
+                        dinnerId, attempt, backoff, e.getMessage());
+                sleep(backoff);
+                backoff = backoff.multipliedBy(2);
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestClientException("Interrupted while waiting to retry", e);
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.buberdinner.dinnerservice.infrastructure.client;
 
+import com.buberdinner.dinnerservice.infrastructure.cache.UserValidityCache;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.ServiceInstance;
 import org.springframework.cloud.client.discovery.DiscoveryClient;
@@ -7,56 +10,106 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+@Slf4j
 @Component
 public class UserServiceClient {
 
     private final RestTemplate restTemplate;
     private final String userServiceBaseUrl;
     private final DiscoveryClient discoveryClient;
+    private final UserValidityCache userValidityCache;
+    private final RequestCollapser<Long, UserValidity> userLookups;
+    private final Duration lookupTimeout;
 
-    public UserServiceClient(RestTemplate restTemplate, 
+    /**
+     * Whether a user exists and whether it is a host, as returned by userService's batch check.
+     */
+    public record UserValidity(Long id, boolean exists, boolean host) {
+    }
+
+    public UserServiceClient(RestTemplate restTemplate,
                             @Value("${service.user.url:http://userService}") String userServiceBaseUrl,
-                            DiscoveryClient discoveryClient) {
+                            DiscoveryClient discoveryClient,
+                            UserValidityCache userValidityCache,
+                            @Value("${service.user.batch.window:PT0.005S}") Duration batchWindow,
+                            @Value("${service.user.batch.max-size:100}") int maxBatchSize,
+                            @Value("${service.user.batch.timeout:PT2S}") Duration lookupTimeout) {
         this.restTemplate = restTemplate;
         this.userServiceBaseUrl = userServiceBaseUrl;
         this.discoveryClient = discoveryClient;
+        this.userValidityCache = userValidityCache;
+        this.userLookups = new RequestCollapser<>("user-lookups", this::fetchValidity, batchWindow, maxBatchSize, 2);
+        this.lookupTimeout = lookupTimeout;
     }
 
     /**
-     * Checks if a user with the given ID exists.
+     * Checks if a user with the given ID exists. The answer comes from the user validity cache
+     * when it is known, and userService is only called on a miss.
      *
      * @param userId the user ID to check
      * @return true if the user exists, false otherwise
      */
     public boolean userExists(Long userId) {
-        try {
-            String url = userServiceBaseUrl + "/api/users/" + userId + "/exists";
-            Boolean exists = restTemplate.getForObject(url, Boolean.class);
-            return exists != null && exists;
-        } catch (RestClientException e) {
-            // Log the error
-            System.err.println("Error checking if user exists: " + e.getMessage());
-            return false;
-        }
+        return userValidityCache.exists(userId, () -> lookup(userId));
     }
 
     /**
-     * Checks if a user with the given ID is a host.
+     * Checks if a user with the given ID is a host. The answer comes from the user validity cache
+     * when it is known, and userService is only called on a miss.
      *
      * @param userId the user ID to check
      * @return true if the user is a host, false otherwise
      */
     public boolean isUserHost(Long userId) {
+        return userValidityCache.isHost(userId, () -> lookup(userId));
+    }
+
+    /**
+     * Looks a user up with the other lookups made within the batch window, so that concurrent
+     * checks cost one request to userService.
+     *
+     * @return what userService knows of the user, or null if it could not be asked (which is not
+     * cached)
+     */
+    private UserValidityCache.Facts lookup(Long userId) {
         try {
-            String url = userServiceBaseUrl + "/api/users/" + userId + "/isHost";
-            Boolean isHost = restTemplate.getForObject(url, Boolean.class);
-            return isHost != null && isHost;
-        } catch (RestClientException e) {
-            // Log the error
-            System.err.println("Error checking if user is host: " + e.getMessage());
-            return false;
+            UserValidity validity = userLookups.get(userId).get(lookupTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            return validity != null ? new UserValidityCache.Facts(validity.exists(), validity.host()) : null;
+        } catch (ExecutionException e) {
+            log.warn("Error checking user {}: {}", userId, e.getCause().getMessage());
+            return null;
+        } catch (TimeoutException e) {
+            log.warn("Timed out checking user {}", userId);
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private Map<Long, UserValidity> fetchValidity(Set<Long> userIds) {
+        String url = userServiceBaseUrl + "/api/users/validity";
+        UserValidity[] validity = restTemplate.postForObject(url, userIds, UserValidity[].class);
+        if (validity == null) {
+            throw new RestClientException("Empty response from " + url);
         }
+        return Arrays.stream(validity)
+                .collect(Collectors.toMap(UserValidity::id, Function.identity(), (first, second) -> first));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        userLookups.close();
     }
 }
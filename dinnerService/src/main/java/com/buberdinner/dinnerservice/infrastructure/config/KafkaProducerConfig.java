@@ -1,9 +1,11 @@
 package com.buberdinner.dinnerservice.infrastructure.config;
 
 import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerEventSerializer;
 import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.boot.autoconfigure.kafka.DefaultKafkaProducerFactoryCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.kafka.config.TopicBuilder;
@@ -25,6 +27,16 @@ public class KafkaProducerConfig {
 //        return new DefaultKafkaProducerFactory<>(config);
 //    }
 
+    /**
+     * Writes event values with the Avro event schemas instead of JSON.
+     */
+    @Bean
+    @SuppressWarnings("unchecked")
+    public DefaultKafkaProducerFactoryCustomizer dinnerEventSerializerCustomizer(DinnerEventSerializer serializer) {
+        return producerFactory -> ((DefaultKafkaProducerFactory<String, Object>) producerFactory)
+                .setValueSerializer(serializer);
+    }
+
     @Bean
     public NewTopic dinnerStarted() {
         return TopicBuilder.name("dinnerStarted").build();
@@ -40,6 +52,11 @@ public class KafkaProducerConfig {
         return TopicBuilder.name("dinnerUpdated").build();
     }
 
+    @Bean
+    public NewTopic dinnerCancelled() {
+        return TopicBuilder.name("dinnerCancelled").build();
+    }
+
     @Bean
     public NewTopic dinnerEnded() {
         return TopicBuilder.name("dinnerEnded").build();
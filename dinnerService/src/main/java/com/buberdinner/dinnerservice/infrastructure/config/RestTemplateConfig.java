@@ -1,16 +1,37 @@
 package com.buberdinner.dinnerservice.infrastructure.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @Configuration
 public class RestTemplateConfig {
 
     @Bean
+    @Primary
     @LoadBalanced
     public RestTemplate restTemplate() {
         return new RestTemplate();
     }
+
+    /**
+     * RestTemplate for the reservation service, with timeouts so that a slow reservation service
+     * cannot hold a guest lookup worker indefinitely.
+     */
+    @Bean
+    @LoadBalanced
+    public RestTemplate reservationRestTemplate(
+            @Value("${service.reservation.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${service.reservation.read-timeout:PT2S}") Duration readTimeout) {
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(connectTimeout);
+        requestFactory.setReadTimeout(readTimeout);
+        return new RestTemplate(requestFactory);
+    }
 }
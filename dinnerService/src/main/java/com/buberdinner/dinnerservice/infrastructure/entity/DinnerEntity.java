@@ -1,10 +1,10 @@
 package com.buberdinner.dinnerservice.infrastructure.entity;
 
-import com.buberdinner.dinnerservice.domain.entity.Dinner;
 import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
@@ -13,13 +13,28 @@ import java.time.LocalDateTime;
  * JPA entity for Dinner.
  */
 @Entity
-@Table(name = "dinners")
+@Table(name = "dinners", indexes = {
+        // Keyset pagination: every listing is ordered by (start_time, id)
+        @Index(name = "idx_dinners_start_time_id", columnList = "start_time, id"),
+        @Index(name = "idx_dinners_host_start_time_id", columnList = "host_id, start_time, id"),
+        @Index(name = "idx_dinners_menu_start_time_id", columnList = "menu_id, start_time, id"),
+        // Search: equality filters first, then the start time range and the sort key
+        @Index(name = "idx_dinners_cuisine_status_start_time", columnList = "cuisine_type, status, start_time, id"),
+        @Index(name = "idx_dinners_status_start_time", columnList = "status, start_time, id"),
+        // Lifecycle scheduler: in-progress dinners by end time
+        @Index(name = "idx_dinners_status_end_time", columnList = "status, end_time, id"),
+        @Index(name = "idx_dinners_price", columnList = "price"),
+        // Incremental export: dinners changed since a given time
+        @Index(name = "idx_dinners_updated_at_id", columnList = "updated_at, id")
+})
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class DinnerEntity {
+    // Pooled sequence IDs, unlike IDENTITY, let Hibernate batch the inserts
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dinners_seq")
+    @SequenceGenerator(name = "dinners_seq", sequenceName = "dinners_seq", allocationSize = 50)
     private Long id;
     @Column(name = "host_id")
     private Long hostId;
@@ -42,6 +57,12 @@ public class DinnerEntity {
     @Column(name = "address")
     private String address;
 
+    @Column(name = "latitude")
+    private Double latitude;
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Column(name = "cuisine_type")
     private String cuisineType;
 
@@ -51,68 +72,15 @@ public class DinnerEntity {
     @Enumerated(EnumType.STRING)
     private DinnerStatus status;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "menu_id", insertable = false, updatable = false)
     private MenuEntity menu;
-
-    /**
-     * Converts a domain Dinner entity to a JPA DinnerEntity.
-     * 
-     * @param dinner the domain entity
-     * @return the JPA entity
-     */
-    public static DinnerEntity fromDomain(Dinner dinner) {
-        DinnerEntity entity = new DinnerEntity();
-        entity.setId(dinner.getId());
-        entity.setHostId(dinner.getHostId());
-        entity.setMenuId(dinner.getMenuId());
-        entity.setName(dinner.getName());
-        entity.setDescription(dinner.getDescription());
-        entity.setPrice(dinner.getPrice());
-        entity.setStartTime(dinner.getStartTime());
-        entity.setEndTime(dinner.getEndTime());
-        entity.setAddress(dinner.getAddress());
-        entity.setCuisineType(dinner.getCuisineType());
-        entity.setMaxGuestCount(dinner.getMaxGuestCount());
-        entity.setStatus(dinner.getStatus());
-        entity.setImageUrl(dinner.getImageUrl());
-        return entity;
-    }
-
-    /**
-     * Converts this JPA entity to a domain Dinner entity.
-     * 
-     * @return the domain entity
-     */
-    public Dinner toDomain() {
-        Dinner dinner = new Dinner(
-                id,
-                hostId,
-                menuId,
-                name,
-                description,
-                price,
-                startTime,
-                endTime,
-                address,
-                cuisineType,
-                maxGuestCount,
-                imageUrl
-        );
-
-        // Set the status if it's not null
-        if (status != null && dinner.getStatus() != status) {
-            // We need to use reflection or a setter method to set the status
-            // since the constructor doesn't accept it directly
-            try {
-                java.lang.reflect.Field statusField = Dinner.class.getDeclaredField("status");
-                statusField.setAccessible(true);
-                statusField.set(dinner, status);
-            } catch (Exception e) {
-                throw new RuntimeException("Failed to set dinner status", e);
-            }
-        }
-
-        return dinner;
-    }
-}
\ No newline at end of file
+}
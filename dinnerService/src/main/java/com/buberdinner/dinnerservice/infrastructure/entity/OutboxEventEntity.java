@@ -0,0 +1,44 @@
+package com.buberdinner.dinnerservice.infrastructure.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for a dinner event waiting to be sent to Kafka. Rows are written in the transaction
+ * that changes the dinner, and deleted once the event has been sent.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class OutboxEventEntity {
+    // IDs give the sending order. They are drawn one at a time, in the transaction writing the event:
+    // the writes to a dinner are serialized by its version, so its events get increasing IDs in
+    // commit order, whichever instance writes them. A pooled sequence would hand each instance its
+    // own block of IDs, and a newer event could get a lower ID than an older one.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_events_order_seq")
+    @SequenceGenerator(name = "outbox_events_order_seq", sequenceName = "outbox_events_order_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "topic", nullable = false)
+    private String topic;
+
+    @Column(name = "dinner_id")
+    private Long dinnerId;
+
+    @Column(name = "event_type", nullable = false)
+    private String eventType;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,72 @@
+package com.buberdinner.dinnerservice.infrastructure.entity;
+
+import com.buberdinner.dinnerservice.domain.valueobject.RatingSummary;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA entity holding the running review totals of a host or a dinner.
+ * Rows are kept up to date by the review write paths, so reading a rating
+ * is a primary key lookup instead of a scan over the reviews table.
+ */
+@Entity
+@Table(name = "review_aggregates")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewAggregateEntity {
+    @EmbeddedId
+    private ReviewAggregateId id;
+
+    @Column(name = "review_count", nullable = false)
+    private long reviewCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private long ratingSum;
+
+    @Column(name = "one_star", nullable = false)
+    private long oneStar;
+
+    @Column(name = "two_stars", nullable = false)
+    private long twoStars;
+
+    @Column(name = "three_stars", nullable = false)
+    private long threeStars;
+
+    @Column(name = "four_stars", nullable = false)
+    private long fourStars;
+
+    @Column(name = "five_stars", nullable = false)
+    private long fiveStars;
+
+    /**
+     * Creates an aggregate holding a single review with the given rating.
+     *
+     * @param id the aggregate key
+     * @param rating the rating of the review
+     * @return the JPA entity
+     */
+    public static ReviewAggregateEntity ofRating(ReviewAggregateId id, int rating) {
+        ReviewAggregateEntity entity = new ReviewAggregateEntity();
+        entity.setId(id);
+        entity.setReviewCount(1);
+        entity.setRatingSum(rating);
+        entity.setOneStar(rating == 1 ? 1 : 0);
+        entity.setTwoStars(rating == 2 ? 1 : 0);
+        entity.setThreeStars(rating == 3 ? 1 : 0);
+        entity.setFourStars(rating == 4 ? 1 : 0);
+        entity.setFiveStars(rating == 5 ? 1 : 0);
+        return entity;
+    }
+
+    /**
+     * Converts this JPA entity to a domain RatingSummary.
+     *
+     * @return the rating summary
+     */
+    public RatingSummary toDomain() {
+        return RatingSummary.of(reviewCount, ratingSum, oneStar, twoStars, threeStars, fourStars, fiveStars);
+    }
+}
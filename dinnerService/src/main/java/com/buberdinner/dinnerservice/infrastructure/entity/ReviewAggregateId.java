@@ -0,0 +1,44 @@
+package com.buberdinner.dinnerservice.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Composite key of a review aggregate: what the aggregate is about and its ID.
+ */
+@Embeddable
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewAggregateId implements Serializable {
+
+    /**
+     * The kind of subject a review aggregate summarizes.
+     */
+    public enum Scope {
+        HOST,
+        DINNER
+    }
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 16, nullable = false)
+    private Scope scope;
+
+    @Column(name = "subject_id", nullable = false)
+    private Long subjectId;
+
+    public static ReviewAggregateId ofHost(Long hostId) {
+        return new ReviewAggregateId(Scope.HOST, hostId);
+    }
+
+    public static ReviewAggregateId ofDinner(Long dinnerId) {
+        return new ReviewAggregateId(Scope.DINNER, dinnerId);
+    }
+}
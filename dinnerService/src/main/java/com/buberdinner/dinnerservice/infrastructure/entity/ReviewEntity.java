@@ -1,6 +1,5 @@
 package com.buberdinner.dinnerservice.infrastructure.entity;
 
-import com.buberdinner.dinnerservice.domain.entity.Review;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -36,35 +35,7 @@ public class ReviewEntity {
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
-    /**
-     * Converts a domain Review entity to a JPA ReviewEntity.
-     * 
-     * @param review the domain entity
-     * @return the JPA entity
-     */
-    public static ReviewEntity fromDomain(Review review) {
-        ReviewEntity entity = new ReviewEntity();
-        entity.setId(review.getId());
-        entity.setHostId(review.getHostId());
-        entity.setUserId(review.getUserId());
-        entity.setComment(review.getComment());
-        entity.setRating(review.getRating());
-        entity.setCreatedAt(review.getCreatedAt());
-        return entity;
-    }
-
-    /**
-     * Converts this JPA entity to a domain Review entity.
-     * 
-     * @return the domain entity
-     */
-    public Review toDomain() {
-        return new Review(
-                id,
-                hostId,
-                userId,
-                comment,
-                rating
-        );
-    }
-}
\ No newline at end of file
+    @Version
+    @Column(name = "version")
+    private Long version;
+}
@@ -0,0 +1,31 @@
+package com.buberdinner.dinnerservice.infrastructure.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for a time-limited lease, held by one service instance at a time.
+ */
+@Entity
+@Table(name = "scheduler_leases")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SchedulerLeaseEntity {
+    @Id
+    @Column(name = "name")
+    private String name;
+
+    @Column(name = "owner", nullable = false)
+    private String owner;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
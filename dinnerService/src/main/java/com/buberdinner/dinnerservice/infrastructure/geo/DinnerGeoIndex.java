@@ -0,0 +1,266 @@
+package com.buberdinner.dinnerservice.infrastructure.geo;
+
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory spatial index of the located dinners, used to answer "dinners near me" queries
+ * without touching the database.
+ *
+ * The Earth is cut into a grid of square cells of a fixed size in degrees. Each cell holds the
+ * IDs of the dinners located in it, so a radius or box query only visits the cells it overlaps.
+ * The index is rebuilt from the database on startup and kept up to date by the dinner write paths;
+ * changes made inside a transaction are applied after it commits. Dinners changed by other
+ * instances are refreshed from the database when their events arrive.
+ */
+@Slf4j
+@Component
+public class DinnerGeoIndex {
+
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    private final DinnerJpaRepository dinnerJpaRepository;
+    private final double cellSizeDegrees;
+    private final long longitudeCells;
+
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+    public DinnerGeoIndex(DinnerJpaRepository dinnerJpaRepository,
+                          @Value("${geo.index.cell-size-degrees:0.1}") double cellSizeDegrees) {
+        if (cellSizeDegrees <= 0 || cellSizeDegrees > 10) {
+            throw new IllegalArgumentException("Cell size must be between 0 and 10 degrees");
+        }
+        this.dinnerJpaRepository = dinnerJpaRepository;
+        this.cellSizeDegrees = cellSizeDegrees;
+        this.longitudeCells = (long) Math.ceil(360 / cellSizeDegrees);
+    }
+
+    /**
+     * A dinner found by a spatial query, with its distance to the query point.
+     */
+    public record Match(Long dinnerId, double distanceKm) {
+    }
+
+    private record Entry(GeoPoint location, long cell, LocalDateTime startTime, DinnerStatus status) {
+        boolean isUpcoming(LocalDateTime now) {
+            return (status == DinnerStatus.UPCOMING || status == DinnerStatus.RESCHEDULED)
+                    && startTime != null && startTime.isAfter(now);
+        }
+    }
+
+    /**
+     * Reloads the whole index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        cells.clear();
+        entries.clear();
+        List<DinnerJpaRepository.GeoIndexRow> rows = dinnerJpaRepository.findGeoIndexRows();
+        for (DinnerJpaRepository.GeoIndexRow row : rows) {
+            put(row.getId(), GeoPoint.of(row.getLatitude(), row.getLongitude()), row.getStartTime(), row.getStatus());
+        }
+        log.info("Dinner geo index rebuilt with {} dinners", entries.size());
+    }
+
+    /**
+     * Adds, moves or removes a dinner. A null location removes it from the index.
+     * When called inside a transaction, the change is applied once the transaction commits.
+     */
+    public void index(Long dinnerId, GeoPoint location, LocalDateTime startTime, DinnerStatus status) {
+        afterCommit(() -> {
+            if (location == null) {
+                delete(dinnerId);
+            } else {
+                put(dinnerId, location, startTime, status);
+            }
+        });
+    }
+
+    /**
+     * Reloads dinners from the database, removing those no longer located or no longer stored.
+     */
+    public void refresh(Collection<Long> dinnerIds) {
+        Set<Long> missing = new HashSet<>(dinnerIds);
+        for (DinnerJpaRepository.GeoIndexRow row : dinnerJpaRepository.findGeoIndexRowsByIdIn(dinnerIds)) {
+            if (row.getLatitude() != null && row.getLongitude() != null) {
+                put(row.getId(), GeoPoint.of(row.getLatitude(), row.getLongitude()), row.getStartTime(), row.getStatus());
+                missing.remove(row.getId());
+            }
+        }
+        missing.forEach(this::delete);
+    }
+
+    /**
+     * Changes the status of indexed dinners, leaving their location and start time untouched.
+     * When called inside a transaction, the change is applied once the transaction commits.
+     */
+    public void updateStatus(Collection<Long> dinnerIds, DinnerStatus status) {
+        afterCommit(() -> dinnerIds.forEach(dinnerId -> entries.computeIfPresent(dinnerId,
+                (id, entry) -> new Entry(entry.location(), entry.cell(), entry.startTime(), status))));
+    }
+
+    /**
+     * Removes a dinner from the index.
+     * When called inside a transaction, the change is applied once the transaction commits.
+     */
+    public void remove(Long dinnerId) {
+        afterCommit(() -> delete(dinnerId));
+    }
+
+    /**
+     * Finds the upcoming dinners within a radius, nearest first.
+     *
+     * @param center the query point
+     * @param radiusKm the radius in kilometers
+     * @param limit the maximum number of dinners to return
+     * @param now the reference time deciding which dinners are upcoming
+     * @return the matches sorted by distance
+     */
+    public List<Match> findUpcomingWithin(GeoPoint center, double radiusKm, int limit, LocalDateTime now) {
+        double latitudeDelta = radiusKm / KM_PER_DEGREE_LATITUDE;
+        double cosLatitude = Math.cos(Math.toRadians(center.getLatitude()));
+        double longitudeDelta = cosLatitude < 0.01 ? 180 : radiusKm / (KM_PER_DEGREE_LATITUDE * cosLatitude);
+        return search(center,
+                center.getLatitude() - latitudeDelta, center.getLatitude() + latitudeDelta,
+                center.getLongitude() - longitudeDelta, center.getLongitude() + longitudeDelta,
+                match -> match.distanceKm() <= radiusKm, limit, now);
+    }
+
+    /**
+     * Finds the upcoming dinners inside a latitude/longitude box, nearest to the box centre first.
+     * A box whose west edge is greater than its east edge crosses the antimeridian.
+     *
+     * @return the matches sorted by distance to the box centre
+     */
+    public List<Match> findUpcomingInBox(double south, double west, double north, double east,
+                                         int limit, LocalDateTime now) {
+        double eastUnwrapped = east < west ? east + 360 : east;
+        double centerLongitude = (west + eastUnwrapped) / 2;
+        GeoPoint center = GeoPoint.of((south + north) / 2, centerLongitude > 180 ? centerLongitude - 360 : centerLongitude);
+        return search(center, south, north, west, eastUnwrapped,
+                match -> isInBox(entries.get(match.dinnerId()), south, north, west, east), limit, now);
+    }
+
+    /**
+     * Gets the number of dinners currently indexed.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private List<Match> search(GeoPoint center, double minLatitude, double maxLatitude,
+                               double minLongitude, double maxLongitude,
+                               java.util.function.Predicate<Match> filter, int limit, LocalDateTime now) {
+        // Bounded max-heap: keeps the "limit" nearest matches without sorting every candidate
+        PriorityQueue<Match> nearest = new PriorityQueue<>(Comparator.comparingDouble(Match::distanceKm).reversed());
+        long minRow = row(Math.max(-90, minLatitude));
+        long maxRow = row(Math.min(90, maxLatitude));
+        long minColumn = column(minLongitude);
+        long columnSpan = Math.min(longitudeCells - 1, column(maxLongitude) - minColumn);
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long offset = 0; offset <= columnSpan; offset++) {
+                Set<Long> dinnerIds = cells.get(cellKey(row, Math.floorMod(minColumn + offset, longitudeCells)));
+                if (dinnerIds == null) {
+                    continue;
+                }
+                for (Long dinnerId : dinnerIds) {
+                    Entry entry = entries.get(dinnerId);
+                    if (entry == null || !entry.isUpcoming(now)) {
+                        continue;
+                    }
+                    Match match = new Match(dinnerId, center.distanceKmTo(entry.location()));
+                    if (!filter.test(match)) {
+                        continue;
+                    }
+                    nearest.offer(match);
+                    if (nearest.size() > limit) {
+                        nearest.poll();
+                    }
+                }
+            }
+        }
+        List<Match> matches = new ArrayList<>(nearest);
+        matches.sort(Comparator.comparingDouble(Match::distanceKm));
+        return matches;
+    }
+
+    private boolean isInBox(Entry entry, double south, double north, double west, double east) {
+        if (entry == null) {
+            return false;
+        }
+        double latitude = entry.location().getLatitude();
+        double longitude = entry.location().getLongitude();
+        boolean inLongitude = west <= east
+                ? longitude >= west && longitude <= east
+                : longitude >= west || longitude <= east;
+        return latitude >= south && latitude <= north && inLongitude;
+    }
+
+    private void put(Long dinnerId, GeoPoint location, LocalDateTime startTime, DinnerStatus status) {
+        long cell = cellKey(row(location.getLatitude()), Math.floorMod(column(location.getLongitude()), longitudeCells));
+        Entry previous = entries.put(dinnerId, new Entry(location, cell, startTime, status));
+        if (previous != null && previous.cell() != cell) {
+            removeFromCell(previous.cell(), dinnerId);
+        }
+        cells.computeIfAbsent(cell, key -> ConcurrentHashMap.newKeySet()).add(dinnerId);
+    }
+
+    private void delete(Long dinnerId) {
+        Entry previous = entries.remove(dinnerId);
+        if (previous != null) {
+            removeFromCell(previous.cell(), dinnerId);
+        }
+    }
+
+    private void removeFromCell(long cell, Long dinnerId) {
+        cells.computeIfPresent(cell, (key, dinnerIds) -> {
+            dinnerIds.remove(dinnerId);
+            return dinnerIds.isEmpty() ? null : dinnerIds;
+        });
+    }
+
+    private long row(double latitude) {
+        return (long) Math.floor((latitude + 90) / cellSizeDegrees);
+    }
+
+    private long column(double longitude) {
+        return (long) Math.floor((longitude + 180) / cellSizeDegrees);
+    }
+
+    private long cellKey(long row, long column) {
+        return row * longitudeCells + column;
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.buberdinner.dinnerservice.infrastructure.geo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Refreshes the dinners of the geo index changed by any dinnerService instance.
+ *
+ * Every instance listens with its own consumer group, so each one receives every change.
+ * Dinner events are keyed by dinner ID, and an update event only carries the changed fields, so
+ * only the key is read and the dinners are reloaded from the database, one query per batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DinnerGeoIndexListener {
+
+    static final String LISTENER_ID = "dinner-geo-index";
+
+    private final DinnerGeoIndex dinnerGeoIndex;
+
+    @KafkaListener(id = LISTENER_ID,
+            idIsGroup = false,
+            topics = {"dinnerCreated", "dinnerUpdated", "dinnerStarted", "dinnerCompleted", "dinnerCancelled"},
+            groupId = "dinner-geo-index-${random.uuid}",
+            batch = "true",
+            properties = {"auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"},
+            autoStartup = "${dinner.cache.kafka-invalidation.enabled:true}")
+    public void onDinnersChanged(List<ConsumerRecord<String, byte[]>> records) {
+        Set<Long> dinnerIds = new HashSet<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                dinnerIds.add(Long.parseLong(record.key()));
+            } catch (NumberFormatException e) {
+                log.warn("Dinner event on {} without a dinner ID key, skipping it", record.topic());
+            }
+        }
+        if (!dinnerIds.isEmpty()) {
+            dinnerGeoIndex.refresh(dinnerIds);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.buberdinner.dinnerservice.infrastructure.geo;
+
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+
+import java.util.Optional;
+
+/**
+ * Resolves a postal address to a position on Earth.
+ * Implementations are selected with the geocoder.provider property.
+ */
+public interface Geocoder {
+
+    /**
+     * Geocodes a formatted address ("street, city, state, postalCode, country").
+     *
+     * @param formattedAddress the address to locate
+     * @return the location, or empty if the address could not be located
+     */
+    Optional<GeoPoint> geocode(String formattedAddress);
+}
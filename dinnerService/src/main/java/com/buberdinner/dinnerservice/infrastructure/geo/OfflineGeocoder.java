@@ -0,0 +1,50 @@
+package com.buberdinner.dinnerservice.infrastructure.geo;
+
+import com.buberdinner.dinnerservice.domain.valueobject.Address;
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Geocoder that works without any network access by resolving the city of an address
+ * against a built-in table. Every address of a known city is placed at the city centre;
+ * addresses in other cities are left unlocated.
+ */
+@Component
+@ConditionalOnProperty(name = "geocoder.provider", havingValue = "offline", matchIfMissing = true)
+public class OfflineGeocoder implements Geocoder {
+
+    private static final Map<String, GeoPoint> CITIES = Map.ofEntries(
+            Map.entry("casablanca", GeoPoint.of(33.5731, -7.5898)),
+            Map.entry("rabat", GeoPoint.of(34.0209, -6.8416)),
+            Map.entry("marrakech", GeoPoint.of(31.6295, -7.9811)),
+            Map.entry("fes", GeoPoint.of(34.0181, -5.0078)),
+            Map.entry("tangier", GeoPoint.of(35.7595, -5.8340)),
+            Map.entry("agadir", GeoPoint.of(30.4278, -9.5981)),
+            Map.entry("paris", GeoPoint.of(48.8566, 2.3522)),
+            Map.entry("lyon", GeoPoint.of(45.7640, 4.8357)),
+            Map.entry("marseille", GeoPoint.of(43.2965, 5.3698)),
+            Map.entry("london", GeoPoint.of(51.5072, -0.1276)),
+            Map.entry("madrid", GeoPoint.of(40.4168, -3.7038)),
+            Map.entry("barcelona", GeoPoint.of(41.3874, 2.1686)),
+            Map.entry("lisbon", GeoPoint.of(38.7223, -9.1393)),
+            Map.entry("rome", GeoPoint.of(41.9028, 12.4964)),
+            Map.entry("berlin", GeoPoint.of(52.5200, 13.4050)),
+            Map.entry("brussels", GeoPoint.of(50.8503, 4.3517)),
+            Map.entry("amsterdam", GeoPoint.of(52.3676, 4.9041)),
+            Map.entry("new york", GeoPoint.of(40.7128, -74.0060))
+    );
+
+    @Override
+    public Optional<GeoPoint> geocode(String formattedAddress) {
+        if (!Address.isValid(formattedAddress)) {
+            return Optional.empty();
+        }
+        String city = Address.parse(formattedAddress).getCity().toLowerCase(Locale.ROOT);
+        return Optional.ofNullable(CITIES.get(city));
+    }
+}
@@ -0,0 +1,54 @@
+package com.buberdinner.dinnerservice.infrastructure.mapper;
+
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Maps dinners between the domain model and their JPA entity.
+ * The domain-to-entity direction is generated; the other direction goes through
+ * {@link Dinner#rehydrate}, since the aggregate exposes no setters for its persisted state.
+ */
+@Mapper(componentModel = "spring")
+public interface DinnerEntityMapper {
+
+    @Mapping(target = "latitude", source = "location.latitude")
+    @Mapping(target = "longitude", source = "location.longitude")
+    @Mapping(target = "menu", ignore = true)
+    DinnerEntity toEntity(Dinner dinner);
+
+    List<DinnerEntity> toEntities(List<Dinner> dinners);
+
+    default Dinner toDomain(DinnerEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        GeoPoint location = entity.getLatitude() != null && entity.getLongitude() != null
+                ? GeoPoint.of(entity.getLatitude(), entity.getLongitude())
+                : null;
+        return Dinner.rehydrate(
+                entity.getId(),
+                entity.getHostId(),
+                entity.getMenuId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.getPrice(),
+                entity.getStartTime(),
+                entity.getEndTime(),
+                entity.getAddress(),
+                location,
+                entity.getCuisineType(),
+                entity.getMaxGuestCount(),
+                entity.getStatus(),
+                entity.getImageUrl(),
+                entity.getVersion(),
+                entity.getUpdatedAt()
+        );
+    }
+
+    List<Dinner> toDomains(List<DinnerEntity> entities);
+}
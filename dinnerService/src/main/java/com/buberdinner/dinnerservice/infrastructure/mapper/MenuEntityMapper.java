@@ -0,0 +1,40 @@
+package com.buberdinner.dinnerservice.infrastructure.mapper;
+
+import com.buberdinner.dinnerservice.domain.entity.Menu;
+import com.buberdinner.dinnerservice.domain.valueobject.MenuStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+/**
+ * Maps menus between the domain model and their JPA entity.
+ * The domain-to-entity direction is generated; the other direction goes through
+ * {@link Menu#rehydrate}.
+ */
+@Mapper(componentModel = "spring")
+public interface MenuEntityMapper {
+
+    @Mapping(target = "hostId", source = "hostId.value")
+    @Mapping(target = "active", source = "status")
+    @Mapping(target = "dinners", ignore = true)
+    MenuEntity toEntity(Menu menu);
+
+    default Menu toDomain(MenuEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Menu.rehydrate(
+                entity.getId(),
+                entity.getHostId(),
+                entity.getName(),
+                entity.getDescription(),
+                entity.getCuisineType(),
+                "ACTIVE".equals(entity.getActive()) ? MenuStatus.ACTIVE : MenuStatus.INACTIVE,
+                entity.getVersion()
+        );
+    }
+
+    List<Menu> toDomains(List<MenuEntity> entities);
+}
@@ -0,0 +1,35 @@
+package com.buberdinner.dinnerservice.infrastructure.mapper;
+
+import com.buberdinner.dinnerservice.domain.entity.Review;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import org.mapstruct.Mapper;
+
+import java.util.List;
+
+/**
+ * Maps reviews between the domain model and their JPA entity.
+ * The domain-to-entity direction is generated; the other direction goes through
+ * {@link Review#rehydrate}.
+ */
+@Mapper(componentModel = "spring")
+public interface ReviewEntityMapper {
+
+    ReviewEntity toEntity(Review review);
+
+    default Review toDomain(ReviewEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return Review.rehydrate(
+                entity.getId(),
+                entity.getHostId(),
+                entity.getUserId(),
+                entity.getComment(),
+                entity.getRating(),
+                entity.getCreatedAt(),
+                entity.getVersion()
+        );
+    }
+
+    List<Review> toDomains(List<ReviewEntity> entities);
+}
@@ -0,0 +1,91 @@
+package com.buberdinner.dinnerservice.infrastructure.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The single producer of dinner events. Every event is keyed by its dinner ID, so that the events
+ * of a dinner go to the same partition and are consumed in the order they were sent.
+ *
+ * Sends complete asynchronously. At most max-in-flight events may wait for an acknowledgement:
+ * beyond that, publish blocks until earlier sends complete, or fails after max-block, instead of
+ * filling the producer buffer.
+ */
+@Slf4j
+@Component
+public class DinnerEventPublisher {
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Duration maxBlock;
+
+    public DinnerEventPublisher(KafkaTemplate<String, Object> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${dinner.events.max-in-flight:10000}") int maxInFlight,
+                                @Value("${dinner.events.max-block:PT10S}") Duration maxBlock) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxBlock = maxBlock;
+        meterRegistry.gauge("dinner.events.in-flight", inFlight, semaphore -> maxInFlight - semaphore.availablePermits());
+    }
+
+    /**
+     * Sends an event about a dinner.
+     *
+     * @param topic the topic to send to
+     * @param dinnerId the dinner the event is about, used as the record key; may be null for events
+     *                 that are not about one dinner
+     * @param event the event
+     * @return completes when Kafka has acknowledged the event, or exceptionally if it could not be sent
+     */
+    public CompletableFuture<SendResult<String, Object>> publish(String topic, Long dinnerId, Object event) {
+        try {
+            if (!inFlight.tryAcquire(maxBlock.toMillis(), TimeUnit.MILLISECONDS)) {
+                counter("dinner.events.send.errors", topic).increment();
+                return CompletableFuture.failedFuture(new IllegalStateException(
+                        "Too many dinner events waiting to be sent to " + topic));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        CompletableFuture<SendResult<String, Object>> send;
+        try {
+            send = kafkaTemplate.send(topic, dinnerId != null ? dinnerId.toString() : null, event);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            counter("dinner.events.send.errors", topic).increment();
+            return CompletableFuture.failedFuture(e);
+        }
+        return send.whenComplete((result, error) -> {
+            inFlight.release();
+            sample.stop(Timer.builder("dinner.events.send")
+                    .description("Time from sending a dinner event to its acknowledgement")
+                    .tag("topic", topic)
+                    .tag("outcome", error == null ? "success" : "error")
+                    .register(meterRegistry));
+            if (error != null) {
+                counter("dinner.events.send.errors", topic).increment();
+                log.warn("Could not send event about dinner {} to {}: {}", dinnerId, topic, error.getMessage());
+            }
+        });
+    }
+
+    private Counter counter(String name, String topic) {
+        return Counter.builder(name).tag("topic", topic).register(meterRegistry);
+    }
+}
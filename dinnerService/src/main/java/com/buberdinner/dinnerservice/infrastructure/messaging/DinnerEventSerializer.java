@@ -0,0 +1,153 @@
+package com.buberdinner.dinnerservice.infrastructure.messaging;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerCompletedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerCreatedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerUpdatedEvent;
+import com.buberdinner.dinnerservice.presentation.dto.DinnerResponse;
+import com.buberdinner.events.EventSchemaRegistry;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageEncoder;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes dinner events as Avro single-object messages: a marker, the fingerprint of the schema
+ * from the EventSchemaRegistry, and the binary-encoded event.
+ */
+@Component
+public class DinnerEventSerializer implements Serializer<Object> {
+
+    private static final String NAMESPACE = "com.buberdinner.events.";
+
+    private final EventSchemaRegistry schemaRegistry;
+    private final Map<String, BinaryMessageEncoder<GenericRecord>> encoders = new ConcurrentHashMap<>();
+
+    public DinnerEventSerializer(EventSchemaRegistry schemaRegistry) {
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            GenericRecord record = toRecord(event);
+            return encoders.computeIfAbsent(record.getSchema().getFullName(),
+                    name -> new BinaryMessageEncoder<>(GenericData.get(), record.getSchema()))
+                    .encode(record).array();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode " + event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private GenericRecord toRecord(Object event) {
+        if (event instanceof DinnerCreatedEvent created) {
+            GenericRecord record = record("DinnerCreated");
+            record.put("dinner", dinner(record.getSchema(), created.dinner()));
+            return record;
+        }
+        if (event instanceof DinnerUpdatedEvent updated) {
+            GenericRecord record = record("DinnerUpdated");
+            record.put("dinnerId", updated.dinnerId());
+            record.put("version", updated.version());
+            record.put("snapshot", updated.snapshot());
+            record.put("changedFields", updated.changedFields());
+            // Fields left out of the update are written as null, in one byte each
+            updated.changedFields().forEach(field -> record.put(field, value(updated.dinner(), field)));
+            return record;
+        }
+        if (event instanceof DinnerStartedEvent started) {
+            GenericRecord record = record("DinnerStarted");
+            com.buberdinner.dinnerservice.application.dto.DinnerResponse dinner = started.dinner();
+            record.put("dinner", dinner(record.getSchema(), dinner.getId(), dinner.getHostId(), dinner.getMenuId(),
+                    dinner.getName(), dinner.getDescription(), dinner.getPrice(), dinner.getStartTime(),
+                    dinner.getEndTime(), dinner.getImageUrl(), dinner.getAddress(), dinner.getCuisineType(),
+                    dinner.getMaxGuestCount(), dinner.getStatus(), dinner.getRating()));
+            record.put("guestIds", started.id_guess() != null ? started.id_guess() : List.of());
+            return record;
+        }
+        if (event instanceof DinnerCompletedEvent completed) {
+            GenericRecord record = record("DinnerCompleted");
+            record.put("dinnerId", completed.dinnerId());
+            return record;
+        }
+        if (event instanceof DinnerCancelledEvent cancelled) {
+            GenericRecord record = record("DinnerCancelled");
+            record.put("dinnerId", cancelled.dinnerId());
+            return record;
+        }
+        throw new SerializationException("No event schema for " + event.getClass().getName());
+    }
+
+    private GenericRecord record(String name) {
+        return new GenericData.Record(schemaRegistry.latest(NAMESPACE + name));
+    }
+
+    private GenericRecord dinner(Schema eventSchema, DinnerResponse dinner) {
+        return dinner(eventSchema, dinner.getId(), dinner.getHostId(), dinner.getMenuId(), dinner.getName(),
+                dinner.getDescription(), dinner.getPrice(), dinner.getStartTime(), dinner.getEndTime(),
+                dinner.getImageUrl(), dinner.getAddress(), dinner.getCuisineType(), dinner.getMaxGuestCount(),
+                dinner.getStatus(), dinner.getRating());
+    }
+
+    private GenericRecord dinner(Schema eventSchema, Long id, Long hostId, Long menuId, String name,
+                                 String description, double price, LocalDateTime startTime, LocalDateTime endTime,
+                                 String imageUrl, String address, String cuisineType, int maxGuestCount,
+                                 String status, long rating) {
+        GenericRecord dinner = new GenericData.Record(eventSchema.getField("dinner").schema());
+        dinner.put("id", id);
+        dinner.put("hostId", hostId);
+        dinner.put("menuId", menuId);
+        dinner.put("name", name);
+        dinner.put("description", description);
+        dinner.put("price", price);
+        dinner.put("startTime", epochMillis(startTime));
+        dinner.put("endTime", epochMillis(endTime));
+        dinner.put("imageUrl", imageUrl);
+        dinner.put("address", address);
+        dinner.put("cuisineType", cuisineType);
+        dinner.put("maxGuestCount", maxGuestCount);
+        dinner.put("status", status);
+        dinner.put("rating", rating);
+        return dinner;
+    }
+
+    private static Object value(com.buberdinner.dinnerservice.application.dto.DinnerResponse dinner, String field) {
+        return switch (field) {
+            case "hostId" -> dinner.getHostId();
+            case "menuId" -> dinner.getMenuId();
+            case "name" -> dinner.getName();
+            case "description" -> dinner.getDescription();
+            case "price" -> dinner.getPrice();
+            case "startTime" -> epochMillis(dinner.getStartTime());
+            case "endTime" -> epochMillis(dinner.getEndTime());
+            case "imageUrl" -> dinner.getImageUrl();
+            case "address" -> dinner.getAddress();
+            case "cuisineType" -> dinner.getCuisineType();
+            case "maxGuestCount" -> dinner.getMaxGuestCount();
+            case "status" -> dinner.getStatus();
+            case "rating" -> dinner.getRating();
+            default -> throw new SerializationException("Unknown dinner field " + field);
+        };
+    }
+
+    /**
+     * Dinner times are local times; they are written as local-timestamp-millis, with no time zone.
+     */
+    private static Long epochMillis(LocalDateTime time) {
+        return time != null ? time.toInstant(ZoneOffset.UTC).toEpochMilli() : null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.buberdinner.dinnerservice.infrastructure.messaging;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.OutboxEventEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.OutboxEventJpaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Stores dinner events in the outbox table, to be sent to Kafka by the OutboxRelay.
+ * Called inside the transaction that changes the dinners, the events are stored only if that
+ * transaction commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class DinnerOutbox {
+
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Stores an event for a topic.
+     *
+     * @param topic the topic to send the event to
+     * @param dinnerId the ID of the dinner the event is about
+     * @param event the event
+     */
+    public void append(String topic, Long dinnerId, Object event) {
+        outboxEventJpaRepository.save(toEntity(topic, dinnerId, event));
+    }
+
+    /**
+     * Stores events for a topic with batched inserts.
+     *
+     * @param topic the topic to send the events to
+     * @param events the events
+     * @param dinnerId gives the ID of the dinner an event is about
+     */
+    public <E> void appendAll(String topic, List<E> events, Function<E, Long> dinnerId) {
+        outboxEventJpaRepository.saveAll(events.stream()
+                .map(event -> toEntity(topic, dinnerId.apply(event), event))
+                .toList());
+    }
+
+    private OutboxEventEntity toEntity(String topic, Long dinnerId, Object event) {
+        try {
+            return new OutboxEventEntity(null, topic, dinnerId, event.getClass().getName(),
+                    objectMapper.writeValueAsString(event), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize " + event.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.buberdinner.dinnerservice.infrastructure.messaging;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.infrastructure.client.ReservationServiceClient;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fills in the guests of started dinners before the OutboxRelay sends them.
+ *
+ * A started dinner is stored in the outbox without its guests, in the transaction starting it, so
+ * the request starting the dinner neither waits for the reservation service nor loses the event if
+ * the lookup fails. Fetching the guests can be slow, so the relay hands it to a small pool of
+ * workers. The pool has a bounded queue: a lookup that does not fit, or that fails, leaves the
+ * event in the outbox, and the relay tries again on its next run.
+ */
+@Slf4j
+@Component
+public class DinnerStartedFanOut {
+
+    private final ReservationServiceClient reservationServiceClient;
+    private final Duration timeout;
+    private final ThreadPoolExecutor executor;
+    /** Lookups not completed yet, by dinner ID, shared by the relay runs sending the same event */
+    private final Map<Long, CompletableFuture<DinnerStartedEvent>> pending = new ConcurrentHashMap<>();
+
+    public DinnerStartedFanOut(ReservationServiceClient reservationServiceClient,
+                               @Value("${dinner.started.fan-out.timeout:PT5S}") Duration timeout,
+                               @Value("${dinner.started.fan-out.workers:4}") int workers,
+                               @Value("${dinner.started.fan-out.queue-capacity:1000}") int queueCapacity) {
+        this.reservationServiceClient = reservationServiceClient;
+        this.timeout = timeout;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "dinner-started-fan-out-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Fetches the guests of a started dinner, retrying for at most the timeout. A dinner the
+     * reservation service does not know has no guests. A lookup still running, for a relay run
+     * that gave up waiting for it, is reused.
+     *
+     * @return the event with its guests, completed exceptionally if they could not be fetched
+     */
+    public CompletableFuture<DinnerStartedEvent> withGuests(DinnerStartedEvent event) {
+        Long dinnerId = event.dinner().getId();
+        CompletableFuture<DinnerStartedEvent> lookup = new CompletableFuture<>();
+        CompletableFuture<DinnerStartedEvent> running = pending.putIfAbsent(dinnerId, lookup);
+        if (running != null) {
+            return running;
+        }
+        lookup.whenComplete((withGuests, error) -> pending.remove(dinnerId, lookup));
+        try {
+            executor.execute(() -> {
+                try {
+                    lookup.complete(new DinnerStartedEvent(event.dinner(), fetchGuests(dinnerId)));
+                } catch (RuntimeException e) {
+                    lookup.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            lookup.completeExceptionally(new IllegalStateException("Too many started dinners waiting for their guests", e));
+        }
+        return lookup;
+    }
+
+    private List<Long> fetchGuests(Long dinnerId) {
+        try {
+            return reservationServiceClient.getGuestIds(dinnerId, Instant.now().plus(timeout));
+        } catch (HttpClientErrorException e) {
+            log.warn("Reservation service rejected the guest lookup of started dinner {}, sending it without guests: {}",
+                    dinnerId, e.getMessage());
+            return List.of();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            // Their events stay in the outbox
+            log.warn("Abandoned {} pending guest lookups", executor.shutdownNow().size());
+        }
+    }
+}
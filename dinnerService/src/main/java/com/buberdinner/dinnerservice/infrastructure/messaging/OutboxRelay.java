@@ -0,0 +1,183 @@
+package com.buberdinner.dinnerservice.infrastructure.messaging;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.infrastructure.entity.OutboxEventEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.OutboxEventJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.SchedulerLeaseJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.scheduling.DatabaseLeaderLease;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends the events stored in the outbox to Kafka, oldest first, and deletes them once Kafka has
+ * acknowledged them. The events of a dinner are sent in the order they were committed, and an
+ * event is never sent before an older event of its dinner has been acknowledged. Events are read
+ * and sent in batches of up to batch-size; the relay waits for the linger interval whenever the
+ * outbox has been drained.
+ *
+ * Delivery is at least once: an event whose acknowledgement is lost is sent again. Only the
+ * instance holding the database lease relays, so instances do not send the same rows concurrently.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dinner.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final String LEASE_NAME = "dinner-outbox-relay";
+
+    private final OutboxEventJpaRepository outboxEventJpaRepository;
+    private final DinnerEventPublisher dinnerEventPublisher;
+    private final DinnerStartedFanOut dinnerStartedFanOut;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final DatabaseLeaderLease lease;
+    private final int batchSize;
+    private final Duration sendTimeout;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventJpaRepository outboxEventJpaRepository,
+                       DinnerEventPublisher dinnerEventPublisher,
+                       DinnerStartedFanOut dinnerStartedFanOut,
+                       ObjectMapper objectMapper,
+                       MeterRegistry meterRegistry,
+                       SchedulerLeaseJpaRepository leaseRepository,
+                       @Value("${dinner.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${dinner.outbox.relay.send-timeout:PT10S}") Duration sendTimeout,
+                       @Value("${dinner.outbox.relay.lease-duration:PT30S}") Duration leaseDuration) {
+        this.outboxEventJpaRepository = outboxEventJpaRepository;
+        this.dinnerEventPublisher = dinnerEventPublisher;
+        this.dinnerStartedFanOut = dinnerStartedFanOut;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.lease = new DatabaseLeaderLease(leaseRepository, LEASE_NAME, leaseDuration);
+        this.batchSize = batchSize;
+        this.sendTimeout = sendTimeout;
+        this.batchTimer = Timer.builder("dinner.outbox.relay.batch")
+                .description("Time to send and delete a batch of outbox events")
+                .register(meterRegistry);
+        Gauge.builder("dinner.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("Age of the oldest event waiting in the outbox")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until the outbox is drained.
+     */
+    @Scheduled(fixedDelayString = "${dinner.outbox.relay.linger:PT0.2S}")
+    public void relay() {
+        if (!lease.acquireIfDue()) {
+            return;
+        }
+        int relayed;
+        do {
+            relayed = batchTimer.record(this::relayBatch);
+        } while (relayed == batchSize && lease.isHeld());
+    }
+
+    /**
+     * Sends one batch of events, waiting for them to be acknowledged before deleting them.
+     *
+     * The events of a dinner are sent one after the other, in outbox order, while the events of
+     * different dinners are sent together: each round sends the oldest unsent event of every dinner
+     * of the batch. When an event cannot be sent, the later events of its dinner are not sent either,
+     * and stay in the outbox behind it, so that consumers never see them first.
+     *
+     * @return the number of events read from the outbox
+     */
+    private int relayBatch() {
+        List<OutboxEventEntity> batch = outboxEventJpaRepository.findByOrderByIdAsc(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        Map<Long, Deque<OutboxEventEntity>> byDinner = new LinkedHashMap<>();
+        batch.forEach(event -> byDinner.computeIfAbsent(event.getDinnerId(), dinnerId -> new ArrayDeque<>()).add(event));
+        List<Long> done = new ArrayList<>(batch.size());
+        long deadline = System.nanoTime() + sendTimeout.toNanos();
+        while (!byDinner.isEmpty()) {
+            List<OutboxEventEntity> round = new ArrayList<>(byDinner.size());
+            List<CompletableFuture<?>> sends = new ArrayList<>(byDinner.size());
+            for (Deque<OutboxEventEntity> events : byDinner.values()) {
+                OutboxEventEntity event = events.poll();
+                round.add(event);
+                sends.add(send(event));
+            }
+            byDinner.values().removeIf(Deque::isEmpty);
+            for (int i = 0; i < round.size(); i++) {
+                OutboxEventEntity event = round.get(i);
+                CompletableFuture<?> send = sends.get(i);
+                if (send == null) {
+                    done.add(event.getId());
+                    continue;
+                }
+                try {
+                    send.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    done.add(event.getId());
+                    counter("dinner.outbox.relayed", event.getTopic()).increment();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    outboxEventJpaRepository.deleteAllByIdInBatch(done);
+                    return 0;
+                } catch (Exception e) {
+                    // Left in the outbox for the next run, with the later events of its dinner
+                    log.warn("Could not send outbox event {} to {}: {}", event.getId(), event.getTopic(), e.getMessage());
+                    counter("dinner.outbox.failed", event.getTopic()).increment();
+                    byDinner.remove(event.getDinnerId());
+                }
+            }
+        }
+        outboxEventJpaRepository.deleteAllByIdInBatch(done);
+        return done.size() == batch.size() ? batch.size() : 0;
+    }
+
+    /**
+     * Starts sending an event. The guests of a started dinner are fetched first.
+     *
+     * @return the send, or null if the event cannot be read, and is dropped
+     */
+    private CompletableFuture<?> send(OutboxEventEntity event) {
+        try {
+            Object payload = objectMapper.readValue(event.getPayload(), Class.forName(event.getEventType()));
+            if (payload instanceof DinnerStartedEvent started && started.id_guess() == null) {
+                return dinnerStartedFanOut.withGuests(started).thenCompose(withGuests ->
+                        dinnerEventPublisher.publish(event.getTopic(), event.getDinnerId(), withGuests));
+            }
+            return dinnerEventPublisher.publish(event.getTopic(), event.getDinnerId(), payload);
+        } catch (Exception e) {
+            // Cannot be sent however many times it is retried
+            log.error("Dropping unreadable outbox event {} of type {}", event.getId(), event.getEventType(), e);
+            counter("dinner.outbox.failed", event.getTopic()).increment();
+            return null;
+        }
+    }
+
+    private Counter counter(String name, String topic) {
+        return Counter.builder(name).tag("topic", topic).register(meterRegistry);
+    }
+
+    private double lagSeconds() {
+        return outboxEventJpaRepository.findOldestCreatedAt()
+                .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0)
+                .orElse(0.0);
+    }
+}
@@ -4,8 +4,11 @@ import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
 import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
 import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -14,5 +17,57 @@ public interface DinnerJpaRepository extends JpaRepository<DinnerEntity, Long> {
     List<DinnerEntity> findByMenuId(Long menuId);
     List<DinnerEntity> findByMenuIdAndStatus(Long menuId, DinnerStatus status);
 
+    @Query("select d.id as id, d.latitude as latitude, d.longitude as longitude, " +
+            "d.startTime as startTime, d.status as status from DinnerEntity d " +
+            "where d.latitude is not null and d.longitude is not null")
+    List<GeoIndexRow> findGeoIndexRows();
 
+    @Query("select d.id as id, d.latitude as latitude, d.longitude as longitude, " +
+            "d.startTime as startTime, d.status as status from DinnerEntity d where d.id in :ids")
+    List<GeoIndexRow> findGeoIndexRowsByIdIn(Collection<Long> ids);
+
+    @Query("select d.id as id, d.name as name, d.description as description, " +
+            "d.cuisineType as cuisineType from DinnerEntity d")
+    List<TextIndexRow> findTextIndexRows();
+
+    @Query("select d.id as id, d.name as name, d.description as description, " +
+            "d.cuisineType as cuisineType from DinnerEntity d where d.id in :ids")
+    List<TextIndexRow> findTextIndexRowsByIdIn(Collection<Long> ids);
+
+    @Query("select d.id as id, d.startTime as dueAt from DinnerEntity d " +
+            "where d.status in :statuses and d.startTime <= :until")
+    List<LifecycleRow> findDueToStart(Collection<DinnerStatus> statuses, LocalDateTime until);
+
+    @Query("select d.id as id, d.endTime as dueAt from DinnerEntity d " +
+            "where d.status = :status and d.endTime <= :until")
+    List<LifecycleRow> findDueToComplete(DinnerStatus status, LocalDateTime until);
+
+    /**
+     * Projection of the columns needed to build the dinner geo index.
+     */
+    interface GeoIndexRow {
+        Long getId();
+        Double getLatitude();
+        Double getLongitude();
+        LocalDateTime getStartTime();
+        DinnerStatus getStatus();
+    }
+
+    /**
+     * Projection of the columns needed to build the dinner text index.
+     */
+    interface TextIndexRow {
+        Long getId();
+        String getName();
+        String getDescription();
+        String getCuisineType();
+    }
+
+    /**
+     * Projection of a dinner due for a lifecycle transition, and of the time it falls due.
+     */
+    interface LifecycleRow {
+        Long getId();
+        LocalDateTime getDueAt();
+    }
 }
@@ -0,0 +1,223 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerCursor;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerSearchCriteria;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CompoundSelection;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the dinners: selects the columns of the dinners straight into application
+ * DinnerResponse objects through constructor expressions. Neither JPA entities nor domain
+ * Dinner objects are created, so nothing is validated or tracked by the persistence context.
+ * Ratings are left at 0 for the caller to fill in.
+ */
+@Repository
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DinnerReadRepository {
+
+    /**
+     * Selection of the lookups by ID. Written as a query string rather than built as a criteria
+     * query, so that Hibernate translates it once and reuses the plan.
+     */
+    private static final String SELECT_RESPONSES = "select new " + DinnerResponse.class.getName()
+            + "(d.id, d.hostId, d.menuId, d.name, d.description, d.price, d.startTime, d.endTime,"
+            + " d.imageUrl, d.address, d.cuisineType, d.maxGuestCount, d.status) from DinnerEntity d";
+
+    private final EntityManager entityManager;
+
+    /**
+     * Finds the response of a dinner.
+     *
+     * @param id the dinner ID
+     * @return the response, or empty if the dinner does not exist
+     */
+    public Optional<DinnerResponse> findById(Long id) {
+        return entityManager.createQuery(SELECT_RESPONSES + " where d.id = :id", DinnerResponse.class)
+                .setParameter("id", id)
+                .getResultList().stream()
+                .findFirst();
+    }
+
+    /**
+     * Finds the version of a dinner, without reading its other columns.
+     *
+     * @param id the dinner ID
+     * @return the version, or empty if the dinner does not exist
+     */
+    public Optional<Long> findVersion(Long id) {
+        return entityManager.createQuery("select d.version from DinnerEntity d where d.id = :id", Long.class)
+                .setParameter("id", id)
+                .getResultList().stream()
+                .findFirst();
+    }
+
+    /**
+     * Finds the responses of the dinners with the given IDs, in no particular order.
+     *
+     * @param ids the dinner IDs
+     * @return the responses found, missing IDs being skipped
+     */
+    public List<DinnerResponse> findAllById(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(SELECT_RESPONSES + " where d.id in :ids", DinnerResponse.class)
+                .setParameter("ids", ids)
+                .getResultList();
+    }
+
+    /**
+     * Finds a page of dinners ordered by start time then ID.
+     *
+     * @param after the position to resume from, or null for the first page
+     * @param limit the maximum number of dinners to return
+     * @return the dinners following the cursor
+     */
+    public List<DinnerResponse> findPage(DinnerCursor after, int limit) {
+        return page(null, List.of(), after, limit);
+    }
+
+    /**
+     * Finds a page of dinners for a host, ordered by start time then ID.
+     */
+    public List<DinnerResponse> findPageByHostId(Long hostId, DinnerCursor after, int limit) {
+        return page(DinnerSpecifications.hostedBy(hostId), List.of("hostId"), after, limit);
+    }
+
+    /**
+     * Finds a page of dinners for a menu, ordered by start time then ID.
+     */
+    public List<DinnerResponse> findPageByMenuId(Long menuId, DinnerCursor after, int limit) {
+        return page(DinnerSpecifications.usingMenu(menuId), List.of("menuId"), after, limit);
+    }
+
+    /**
+     * Finds a page of dinners matching the search criteria, ordered by start time then ID.
+     */
+    public List<DinnerResponse> search(DinnerSearchCriteria criteria, DinnerCursor after, int limit) {
+        return page(DinnerSpecifications.matching(criteria), fixedColumns(criteria), after, limit);
+    }
+
+    /**
+     * Reads every dinner, or only the dinners changed since the given time, and hands them
+     * over in batches. Rows are pulled through a cursor with a fetch size hint, so memory use
+     * stays bounded by the batch size whatever the number of dinners.
+     *
+     * @param updatedSince only read the dinners changed at or after this time, or null for all dinners
+     * @param batchSize the number of dinners handed over at a time
+     * @param batchConsumer called with each batch, in (update time, ID) order, or ID order for all dinners
+     */
+    public void forEachBatch(LocalDateTime updatedSince, int batchSize, Consumer<List<DinnerResponse>> batchConsumer) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DinnerResponse> query = cb.createQuery(DinnerResponse.class);
+        Root<DinnerEntity> root = query.from(DinnerEntity.class);
+        query.select(construct(cb, root));
+        if (updatedSince != null) {
+            query.where(cb.greaterThanOrEqualTo(root.get("updatedAt"), updatedSince));
+            query.orderBy(cb.asc(root.get("updatedAt")), cb.asc(root.get("id")));
+        } else {
+            query.orderBy(cb.asc(root.get("id")));
+        }
+        try (Stream<DinnerResponse> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, batchSize)
+                .getResultStream()) {
+            List<DinnerResponse> batch = new ArrayList<>(batchSize);
+            Iterator<DinnerResponse> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                batch.add(iterator.next());
+                if (batch.size() == batchSize) {
+                    batchConsumer.accept(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                batchConsumer.accept(batch);
+            }
+        }
+    }
+
+    /**
+     * Selects a page in (start time, ID) order. The columns the filter pins to a single value are
+     * ordered on first: the order stays the same, but the database can then read an index starting
+     * with them in order, and stop at the page size, instead of sorting every matching dinner.
+     */
+    private List<DinnerResponse> page(Specification<DinnerEntity> filter, List<String> fixedColumns,
+                                      DinnerCursor after, int limit) {
+        Specification<DinnerEntity> specification = filter;
+        if (after != null) {
+            specification = filter != null
+                    ? filter.and(DinnerSpecifications.after(after))
+                    : DinnerSpecifications.after(after);
+        }
+        List<String> order = new ArrayList<>(fixedColumns);
+        order.add("startTime");
+        order.add("id");
+        return select(specification, order, limit);
+    }
+
+    /**
+     * Gets the columns the search criteria pin to a single value, in the order of the index
+     * that starts with them.
+     */
+    private static List<String> fixedColumns(DinnerSearchCriteria criteria) {
+        if (criteria.getStatus() == null) {
+            return List.of();
+        }
+        return criteria.getCuisineType() != null ? List.of("cuisineType", "status") : List.of("status");
+    }
+
+    private List<DinnerResponse> select(Specification<DinnerEntity> specification, List<String> order, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DinnerResponse> query = cb.createQuery(DinnerResponse.class);
+        Root<DinnerEntity> root = query.from(DinnerEntity.class);
+        query.select(construct(cb, root));
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        if (order != null) {
+            query.orderBy(order.stream().map(column -> cb.asc(root.get(column))).toList());
+        }
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private CompoundSelection<DinnerResponse> construct(CriteriaBuilder cb, Root<DinnerEntity> root) {
+        return cb.construct(DinnerResponse.class,
+                root.get("id"),
+                root.get("hostId"),
+                root.get("menuId"),
+                root.get("name"),
+                root.get("description"),
+                root.get("price"),
+                root.get("startTime"),
+                root.get("endTime"),
+                root.get("imageUrl"),
+                root.get("address"),
+                root.get("cuisineType"),
+                root.get("maxGuestCount"),
+                root.get("status"));
+    }
+}
@@ -0,0 +1,87 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerCursor;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerSearchCriteria;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria API building blocks for dinner queries.
+ */
+public final class DinnerSpecifications {
+
+    private DinnerSpecifications() {
+    }
+
+    /**
+     * Builds the predicate matching every filter set on the criteria.
+     *
+     * @param criteria the search criteria
+     * @return the specification
+     */
+    public static Specification<DinnerEntity> matching(DinnerSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.getCuisineType() != null) {
+                predicates.add(cb.equal(root.get("cuisineType"), criteria.getCuisineType()));
+            }
+            if (criteria.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), criteria.getStatus()));
+            }
+            if (criteria.getStartsAfter() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startTime"), criteria.getStartsAfter()));
+            }
+            if (criteria.getStartsBefore() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startTime"), criteria.getStartsBefore()));
+            }
+            if (criteria.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("price"), criteria.getMinPrice()));
+            }
+            if (criteria.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("price"), criteria.getMaxPrice()));
+            }
+            if (criteria.getMinCapacity() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("maxGuestCount"), criteria.getMinCapacity()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Builds the predicate selecting the dinners of a host.
+     *
+     * @param hostId the host ID
+     * @return the specification
+     */
+    public static Specification<DinnerEntity> hostedBy(Long hostId) {
+        return (root, query, cb) -> cb.equal(root.get("hostId"), hostId);
+    }
+
+    /**
+     * Builds the predicate selecting the dinners of a menu.
+     *
+     * @param menuId the menu ID
+     * @return the specification
+     */
+    public static Specification<DinnerEntity> usingMenu(Long menuId) {
+        return (root, query, cb) -> cb.equal(root.get("menuId"), menuId);
+    }
+
+    /**
+     * Builds the keyset predicate selecting dinners after the cursor in (start time, id) order.
+     *
+     * @param cursor the position to resume from
+     * @return the specification
+     */
+    public static Specification<DinnerEntity> after(DinnerCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("startTime"), cursor.getStartTime()),
+                cb.and(
+                        cb.equal(root.get("startTime"), cursor.getStartTime()),
+                        cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+}
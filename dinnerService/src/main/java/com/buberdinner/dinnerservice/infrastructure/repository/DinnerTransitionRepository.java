@@ -0,0 +1,84 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Moves every dinner of a menu or a host from one status to another with a single conditional
+ * UPDATE, without loading the dinners. The rows changed are stamped with the same update time,
+ * which is then used to select back their IDs in the same transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DinnerTransitionRepository {
+
+    private final EntityManager entityManager;
+
+    /**
+     * The dinners a bulk transition applies to.
+     */
+    public enum Scope {
+        MENU("menuId"),
+        HOST("hostId");
+
+        private final String attribute;
+
+        Scope(String attribute) {
+            this.attribute = attribute;
+        }
+    }
+
+    /**
+     * Moves the dinners of a menu or a host that are in one of the given statuses to a new status.
+     * Their version is incremented, so that entity tags change and concurrent writers fail.
+     *
+     * @param scope whether the ID is a menu or a host ID
+     * @param scopeId the menu or host ID
+     * @param from the statuses the dinners may be moved from
+     * @param to the new status
+     * @param startedBy if not null, only dinners starting at or before this time are moved
+     * @return the IDs of the dinners moved
+     */
+    @Transactional
+    public List<Long> transition(Scope scope, Long scopeId, Collection<DinnerStatus> from, DinnerStatus to,
+                                 LocalDateTime startedBy) {
+        // Column precision is microseconds: the stamp must compare equal once stored
+        LocalDateTime stamp = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<DinnerEntity> update = cb.createCriteriaUpdate(DinnerEntity.class);
+        Root<DinnerEntity> root = update.from(DinnerEntity.class);
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get(scope.attribute), scopeId));
+        predicates.add(root.get("status").in(from));
+        if (startedBy != null) {
+            predicates.add(cb.lessThanOrEqualTo(root.get("startTime"), startedBy));
+        }
+        update.set(root.<DinnerStatus>get("status"), to)
+                .set(root.<Long>get("version"), cb.sum(cb.coalesce(root.<Long>get("version"), 0L), 1L))
+                .set(root.<LocalDateTime>get("updatedAt"), stamp)
+                .where(predicates.toArray(Predicate[]::new));
+        if (entityManager.createQuery(update).executeUpdate() == 0) {
+            return List.of();
+        }
+        return entityManager.createQuery("select d.id from DinnerEntity d where d." + scope.attribute + " = :scopeId "
+                        + "and d.status = :status and d.updatedAt = :stamp", Long.class)
+                .setParameter("scopeId", scopeId)
+                .setParameter("status", to)
+                .setParameter("stamp", stamp)
+                .getResultList();
+    }
+}
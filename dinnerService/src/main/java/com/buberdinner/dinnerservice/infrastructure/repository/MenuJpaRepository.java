@@ -2,9 +2,14 @@ package com.buberdinner.dinnerservice.infrastructure.repository;
 
 import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface MenuJpaRepository extends JpaRepository<MenuEntity, Long> {
     List<MenuEntity> findByHostId(Long hostId);
+
+    @Query("select m.version from MenuEntity m where m.id = :id")
+    Optional<Long> findVersionById(Long id);
 }
@@ -0,0 +1,20 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.OutboxEventEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OutboxEventJpaRepository extends JpaRepository<OutboxEventEntity, Long> {
+    List<OutboxEventEntity> findByOrderByIdAsc(Pageable pageable);
+
+    @Query("select o.createdAt from OutboxEventEntity o " +
+            "where o.id = (select min(oldest.id) from OutboxEventEntity oldest)")
+    Optional<LocalDateTime> findOldestCreatedAt();
+}
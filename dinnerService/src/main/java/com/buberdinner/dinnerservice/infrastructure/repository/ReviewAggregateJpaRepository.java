@@ -0,0 +1,71 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewAggregateEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewAggregateId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ReviewAggregateJpaRepository extends JpaRepository<ReviewAggregateEntity, ReviewAggregateId> {
+
+    /**
+     * Adds (delta = 1) or removes (delta = -1) one review with the given rating, in place.
+     *
+     * @return the number of rows updated, 0 if the aggregate does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ReviewAggregateEntity a set " +
+            "a.reviewCount = a.reviewCount + :delta, " +
+            "a.ratingSum = a.ratingSum + :ratingDelta, " +
+            "a.oneStar = a.oneStar + case when :rating = 1 then :delta else 0 end, " +
+            "a.twoStars = a.twoStars + case when :rating = 2 then :delta else 0 end, " +
+            "a.threeStars = a.threeStars + case when :rating = 3 then :delta else 0 end, " +
+            "a.fourStars = a.fourStars + case when :rating = 4 then :delta else 0 end, " +
+            "a.fiveStars = a.fiveStars + case when :rating = 5 then :delta else 0 end " +
+            "where a.id = :id")
+    int applyRating(@Param("id") ReviewAggregateId id,
+                    @Param("rating") int rating,
+                    @Param("delta") long delta,
+                    @Param("ratingDelta") long ratingDelta);
+
+    /**
+     * Adds the given totals to an aggregate, in place; negative totals remove them.
+     *
+     * @return the number of rows updated, 0 if the aggregate does not exist yet
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update ReviewAggregateEntity a set " +
+            "a.reviewCount = a.reviewCount + :reviewCount, " +
+            "a.ratingSum = a.ratingSum + :ratingSum, " +
+            "a.oneStar = a.oneStar + :oneStar, " +
+            "a.twoStars = a.twoStars + :twoStars, " +
+            "a.threeStars = a.threeStars + :threeStars, " +
+            "a.fourStars = a.fourStars + :fourStars, " +
+            "a.fiveStars = a.fiveStars + :fiveStars " +
+            "where a.id = :id")
+    int addTotals(@Param("id") ReviewAggregateId id,
+                  @Param("reviewCount") long reviewCount,
+                  @Param("ratingSum") long ratingSum,
+                  @Param("oneStar") long oneStar,
+                  @Param("twoStars") long twoStars,
+                  @Param("threeStars") long threeStars,
+                  @Param("fourStars") long fourStars,
+                  @Param("fiveStars") long fiveStars);
+
+    /**
+     * Inserts an aggregate with no reviews. Fails if the aggregate already exists.
+     */
+    @Modifying
+    @Query(nativeQuery = true, value = "insert into review_aggregates " +
+            "(scope, subject_id, review_count, rating_sum, one_star, two_stars, three_stars, four_stars, five_stars) " +
+            "values (:scope, :subjectId, 0, 0, 0, 0, 0, 0, 0)")
+    void insertEmpty(@Param("scope") String scope, @Param("subjectId") Long subjectId);
+
+    List<ReviewAggregateEntity> findByIdScopeAndIdSubjectIdIn(ReviewAggregateId.Scope scope, Collection<Long> subjectIds);
+}
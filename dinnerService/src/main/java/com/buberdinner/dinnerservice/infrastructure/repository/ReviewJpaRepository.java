@@ -2,9 +2,9 @@ package com.buberdinner.dinnerservice.infrastructure.repository;
 
 import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
-import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -13,4 +13,36 @@ public interface ReviewJpaRepository extends JpaRepository<ReviewEntity, Long> {
     List<ReviewEntity> findByUserId(Long userId);
 
     List<ReviewEntity> findByHostId(Long hostId);
-}
\ No newline at end of file
+
+    @Query("select r.hostId as subjectId, count(r) as reviewCount, sum(r.rating) as ratingSum, " +
+            "sum(case when r.rating = 1 then 1 else 0 end) as oneStar, " +
+            "sum(case when r.rating = 2 then 1 else 0 end) as twoStars, " +
+            "sum(case when r.rating = 3 then 1 else 0 end) as threeStars, " +
+            "sum(case when r.rating = 4 then 1 else 0 end) as fourStars, " +
+            "sum(case when r.rating = 5 then 1 else 0 end) as fiveStars " +
+            "from ReviewEntity r group by r.hostId")
+    List<RatingTotalsView> summarizeByDinner();
+
+    @Query("select d.hostId as subjectId, count(r) as reviewCount, sum(r.rating) as ratingSum, " +
+            "sum(case when r.rating = 1 then 1 else 0 end) as oneStar, " +
+            "sum(case when r.rating = 2 then 1 else 0 end) as twoStars, " +
+            "sum(case when r.rating = 3 then 1 else 0 end) as threeStars, " +
+            "sum(case when r.rating = 4 then 1 else 0 end) as fourStars, " +
+            "sum(case when r.rating = 5 then 1 else 0 end) as fiveStars " +
+            "from ReviewEntity r join DinnerEntity d on d.id = r.hostId group by d.hostId")
+    List<RatingTotalsView> summarizeByHost();
+
+    /**
+     * Projection of the grouped rating queries used to rebuild review aggregates.
+     */
+    interface RatingTotalsView {
+        Long getSubjectId();
+        long getReviewCount();
+        long getRatingSum();
+        long getOneStar();
+        long getTwoStars();
+        long getThreeStars();
+        long getFourStars();
+        long getFiveStars();
+    }
+}
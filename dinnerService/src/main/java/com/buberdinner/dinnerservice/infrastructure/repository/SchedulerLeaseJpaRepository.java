@@ -0,0 +1,25 @@
+package com.buberdinner.dinnerservice.infrastructure.repository;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.SchedulerLeaseEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SchedulerLeaseJpaRepository extends JpaRepository<SchedulerLeaseEntity, String> {
+
+    /**
+     * Extends a lease held by the owner, or takes over a lease that has expired.
+     *
+     * @return 1 if the owner now holds the lease, 0 otherwise
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("update SchedulerLeaseEntity l set l.owner = :owner, l.expiresAt = :expiresAt " +
+            "where l.name = :name and (l.owner = :owner or l.expiresAt < :now)")
+    int renew(String name, String owner, LocalDateTime expiresAt, LocalDateTime now);
+}
@@ -4,10 +4,12 @@ import com.buberdinner.dinnerservice.domain.entity.Dinner;
 import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
 import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
 import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.mapper.DinnerEntityMapper;
 import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -17,38 +19,44 @@ import java.util.stream.Collectors;
 public class DinnerRepositoryImpl implements DinnerRepository {
 
     private final DinnerJpaRepository dinnerJpaRepository;
+    private final DinnerEntityMapper dinnerEntityMapper;
 
     @Override
     public Dinner save(Dinner dinner) {
-        DinnerEntity dinnerEntity = DinnerEntity.fromDomain(dinner);
+        DinnerEntity dinnerEntity = dinnerEntityMapper.toEntity(dinner);
         DinnerEntity savedEntity = dinnerJpaRepository.save(dinnerEntity);
-        return savedEntity.toDomain();
+        return dinnerEntityMapper.toDomain(savedEntity);
     }
 
     @Override
     public Optional<Dinner> findById(Long id) {
         return dinnerJpaRepository.findById(id)
-                .map(DinnerEntity::toDomain);
+                .map(dinnerEntityMapper::toDomain);
+    }
+
+    @Override
+    public List<Dinner> findAllById(Collection<Long> ids) {
+        return dinnerEntityMapper.toDomains(dinnerJpaRepository.findAllById(ids));
     }
 
     @Override
     public List<Dinner> findAll() {
         return dinnerJpaRepository.findAll().stream()
-                .map(DinnerEntity::toDomain)
+                .map(dinnerEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Dinner> findByHostId(Long hostId) {
         return dinnerJpaRepository.findByHostId(hostId).stream()
-                .map(DinnerEntity::toDomain)
+                .map(dinnerEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Dinner> findByMenuId(Long menuId) {
         return dinnerJpaRepository.findByMenuId(menuId).stream()
-                .map(DinnerEntity::toDomain)
+                .map(dinnerEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
@@ -60,27 +68,13 @@ public class DinnerRepositoryImpl implements DinnerRepository {
     @Override
     public List<Dinner> findByMenuIdAndStatus(long menuId, DinnerStatus dinnerStatus) {
         return dinnerJpaRepository.findByMenuIdAndStatus(menuId,dinnerStatus).stream()
-                .map(DinnerEntity::toDomain)
+                .map(dinnerEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Dinner> saveAll(List<Dinner> dinners) {
-        List<DinnerEntity> dinnersSaved = dinners.stream().map(DinnerEntity::fromDomain).collect(Collectors.toList());
-        return dinnerJpaRepository.saveAll(dinnersSaved).stream()
-                .map(DinnerEntity::toDomain).collect(Collectors.toList());
+        List<DinnerEntity> dinnersSaved = dinnerEntityMapper.toEntities(dinners);
+        return dinnerEntityMapper.toDomains(dinnerJpaRepository.saveAll(dinnersSaved));
     }
-
-    /*@Override
-    public List<Dinner> saveAll(List<Dinner> dinners) {
-        List<DinnerEntity> dinnerEntities = dinners.stream()
-                .map(DinnerEntity::fromDomain)
-                .collect(Collectors.toList());
-
-        List<DinnerEntity> savedEntities = dinnerJpaRepository.saveAll(dinnerEntities);
-
-        return savedEntities.stream()
-                .map(DinnerEntity::toDomain)
-                .collect(Collectors.toList());
-    }*/
 }
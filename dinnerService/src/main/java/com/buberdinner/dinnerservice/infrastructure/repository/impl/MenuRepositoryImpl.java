@@ -4,22 +4,25 @@ import com.buberdinner.dinnerservice.domain.entity.Menu;
 import com.buberdinner.dinnerservice.domain.repository.MenuRepository;
 import com.buberdinner.dinnerservice.domain.valueobject.HostId;
 import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.mapper.MenuEntityMapper;
 import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 @RequiredArgsConstructor
 public class MenuRepositoryImpl implements MenuRepository {
     private final MenuJpaRepository menuJpaRepository;
+    private final MenuEntityMapper menuEntityMapper;
     @Override
     public Menu createMenu(Menu menu) {
-         MenuEntity menuEntity = MenuEntity.fromDomain(menu);
+         MenuEntity menuEntity = menuEntityMapper.toEntity(menu);
          MenuEntity savedEntity = menuJpaRepository.save(menuEntity);
-        return savedEntity.toDomain();
+        return menuEntityMapper.toDomain(savedEntity);
 
     }
 
@@ -27,24 +30,27 @@ public class MenuRepositoryImpl implements MenuRepository {
     public Menu getMenu(Long menuId) {
          MenuEntity menuEntity = menuJpaRepository.findById(menuId)
                 .orElseThrow(() -> new IllegalArgumentException("Menu not found with ID: " + menuId));
-         Menu menu = menuEntity.toDomain();
+         Menu menu = menuEntityMapper.toDomain(menuEntity);
          return menu;
     }
 
+    @Override
+    public Optional<Long> findVersion(Long menuId) {
+        return menuJpaRepository.findVersionById(menuId);
+    }
+
     @Override
     public List<Menu> getHostMenus(HostId hostId) {
         List<MenuEntity> menuEntities = menuJpaRepository.findByHostId(hostId.getValue());
-        List<Menu> menus = menuEntities.stream()
-                .map(MenuEntity::toDomain)
-                .toList();
+        List<Menu> menus = menuEntityMapper.toDomains(menuEntities);
         return menus;
     }
 
     @Override
     public Menu updateMenu(Long menuId, Menu menu) {
-        MenuEntity menuEntity = MenuEntity.fromDomain(menu);
+        MenuEntity menuEntity = menuEntityMapper.toEntity(menu);
         MenuEntity savedEntity = menuJpaRepository.save(menuEntity);
-        return savedEntity.toDomain();
+        return menuEntityMapper.toDomain(savedEntity);
     }
 
     @Override
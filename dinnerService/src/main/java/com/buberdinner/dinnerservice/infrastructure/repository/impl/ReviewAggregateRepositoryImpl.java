@@ -0,0 +1,149 @@
+package com.buberdinner.dinnerservice.infrastructure.repository.impl;
+
+import com.buberdinner.dinnerservice.domain.repository.ReviewAggregateRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.RatingSummary;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewAggregateEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewAggregateId;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewAggregateJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Repository
+public class ReviewAggregateRepositoryImpl implements ReviewAggregateRepository {
+
+    private final ReviewAggregateJpaRepository reviewAggregateJpaRepository;
+    private final ReviewJpaRepository reviewJpaRepository;
+    private final TransactionTemplate newTransaction;
+
+    public ReviewAggregateRepositoryImpl(ReviewAggregateJpaRepository reviewAggregateJpaRepository,
+                                         ReviewJpaRepository reviewJpaRepository,
+                                         PlatformTransactionManager transactionManager) {
+        this.reviewAggregateJpaRepository = reviewAggregateJpaRepository;
+        this.reviewJpaRepository = reviewJpaRepository;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public void addRating(Long dinnerId, Long hostId, int rating) {
+        increment(ReviewAggregateId.ofDinner(dinnerId), rating);
+        if (hostId != null) {
+            increment(ReviewAggregateId.ofHost(hostId), rating);
+        }
+    }
+
+    @Override
+    public void removeRating(Long dinnerId, Long hostId, int rating) {
+        reviewAggregateJpaRepository.applyRating(ReviewAggregateId.ofDinner(dinnerId), rating, -1, -rating);
+        if (hostId != null) {
+            reviewAggregateJpaRepository.applyRating(ReviewAggregateId.ofHost(hostId), rating, -1, -rating);
+        }
+    }
+
+    @Override
+    public void moveDinner(Long dinnerId, Long previousHostId, Long hostId) {
+        RatingSummary dinner = findByDinnerId(dinnerId);
+        if (dinner.getReviewCount() == 0) {
+            return;
+        }
+        if (previousHostId != null) {
+            add(ReviewAggregateId.ofHost(previousHostId), dinner, -1);
+        }
+        if (hostId != null) {
+            add(ReviewAggregateId.ofHost(hostId), dinner, 1);
+        }
+    }
+
+    @Override
+    public RatingSummary findByDinnerId(Long dinnerId) {
+        return reviewAggregateJpaRepository.findById(ReviewAggregateId.ofDinner(dinnerId))
+                .map(ReviewAggregateEntity::toDomain)
+                .orElse(RatingSummary.empty());
+    }
+
+    @Override
+    public Map<Long, RatingSummary> findByDinnerIds(Collection<Long> dinnerIds) {
+        if (dinnerIds.isEmpty()) {
+            return Map.of();
+        }
+        return reviewAggregateJpaRepository.findByIdScopeAndIdSubjectIdIn(ReviewAggregateId.Scope.DINNER, dinnerIds).stream()
+                .collect(Collectors.toMap(entity -> entity.getId().getSubjectId(), ReviewAggregateEntity::toDomain));
+    }
+
+    @Override
+    public RatingSummary findByHostId(Long hostId) {
+        return reviewAggregateJpaRepository.findById(ReviewAggregateId.ofHost(hostId))
+                .map(ReviewAggregateEntity::toDomain)
+                .orElse(RatingSummary.empty());
+    }
+
+    @Override
+    public void rebuild() {
+        reviewAggregateJpaRepository.deleteAllInBatch();
+        List<ReviewAggregateEntity> aggregates = Stream.concat(
+                        reviewJpaRepository.summarizeByDinner().stream()
+                                .map(view -> toEntity(ReviewAggregateId.ofDinner(view.getSubjectId()), view)),
+                        reviewJpaRepository.summarizeByHost().stream()
+                                .map(view -> toEntity(ReviewAggregateId.ofHost(view.getSubjectId()), view)))
+                .collect(Collectors.toList());
+        reviewAggregateJpaRepository.saveAll(aggregates);
+    }
+
+    private void increment(ReviewAggregateId id, int rating) {
+        add(id, ReviewAggregateEntity.ofRating(id, rating).toDomain(), 1);
+    }
+
+    private void add(ReviewAggregateId id, RatingSummary totals, int sign) {
+        if (addTotals(id, totals, sign) == 0) {
+            createIfAbsent(id);
+            addTotals(id, totals, sign);
+        }
+    }
+
+    private int addTotals(ReviewAggregateId id, RatingSummary totals, int sign) {
+        return reviewAggregateJpaRepository.addTotals(id,
+                sign * totals.getReviewCount(),
+                sign * totals.getRatingSum(),
+                sign * totals.getStarCount(1),
+                sign * totals.getStarCount(2),
+                sign * totals.getStarCount(3),
+                sign * totals.getStarCount(4),
+                sign * totals.getStarCount(5));
+    }
+
+    /**
+     * Creates an empty aggregate in a transaction of its own, so that a concurrent transaction
+     * creating it first only fails that insert, and the caller then updates the row it committed.
+     */
+    private void createIfAbsent(ReviewAggregateId id) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    reviewAggregateJpaRepository.insertEmpty(id.getScope().name(), id.getSubjectId()));
+        } catch (DataIntegrityViolationException e) {
+            // Created by a concurrent transaction
+        }
+    }
+
+    private ReviewAggregateEntity toEntity(ReviewAggregateId id, ReviewJpaRepository.RatingTotalsView view) {
+        return new ReviewAggregateEntity(
+                id,
+                view.getReviewCount(),
+                view.getRatingSum(),
+                view.getOneStar(),
+                view.getTwoStars(),
+                view.getThreeStars(),
+                view.getFourStars(),
+                view.getFiveStars()
+        );
+    }
+}
@@ -3,6 +3,7 @@ package com.buberdinner.dinnerservice.infrastructure.repository.impl;
 import com.buberdinner.dinnerservice.domain.entity.Review;
 import com.buberdinner.dinnerservice.domain.repository.ReviewRepository;
 import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.mapper.ReviewEntityMapper;
 import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
@@ -16,31 +17,32 @@ import java.util.stream.Collectors;
 public class ReviewRepositoryImpl implements ReviewRepository {
 
     private final ReviewJpaRepository reviewJpaRepository;
+    private final ReviewEntityMapper reviewEntityMapper;
 
     @Override
     public Review save(Review review) {
-        ReviewEntity reviewEntity = ReviewEntity.fromDomain(review);
+        ReviewEntity reviewEntity = reviewEntityMapper.toEntity(review);
         ReviewEntity savedEntity = reviewJpaRepository.save(reviewEntity);
-        return savedEntity.toDomain();
+        return reviewEntityMapper.toDomain(savedEntity);
     }
 
     @Override
     public Optional<Review> findById(Long id) {
         return reviewJpaRepository.findById(id)
-                .map(ReviewEntity::toDomain);
+                .map(reviewEntityMapper::toDomain);
     }
 
     @Override
     public List<Review> findAll() {
         return reviewJpaRepository.findAll().stream()
-                .map(ReviewEntity::toDomain)
+                .map(reviewEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
     @Override
     public List<Review> findByHostId(Long hostID) {
         return reviewJpaRepository.findByHostId(hostID).stream()
-                .map(ReviewEntity::toDomain)
+                .map(reviewEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
@@ -48,7 +50,7 @@ public class ReviewRepositoryImpl implements ReviewRepository {
     @Override
     public List<Review> findByUserId(Long userId) {
         return reviewJpaRepository.findByUserId(userId).stream()
-                .map(ReviewEntity::toDomain)
+                .map(reviewEntityMapper::toDomain)
                 .collect(Collectors.toList());
     }
 
@@ -0,0 +1,82 @@
+package com.buberdinner.dinnerservice.infrastructure.scheduling;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.SchedulerLeaseEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.SchedulerLeaseJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leader election through a lease row in the database: the instance whose conditional update
+ * succeeds holds the lease until it expires, and must renew it before then to stay leader.
+ * Instances are expected to have roughly synchronized clocks; the lease duration should be
+ * several times the renewal interval.
+ */
+@Slf4j
+public class DatabaseLeaderLease {
+
+    private final SchedulerLeaseJpaRepository leaseRepository;
+    private final String name;
+    private final Duration duration;
+    private final String owner = UUID.randomUUID().toString();
+
+    private volatile LocalDateTime heldUntil;
+
+    public DatabaseLeaderLease(SchedulerLeaseJpaRepository leaseRepository, String name, Duration duration) {
+        this.leaseRepository = leaseRepository;
+        this.name = name;
+        this.duration = duration;
+    }
+
+    /**
+     * Acquires or renews the lease.
+     *
+     * @return true if this instance holds the lease
+     */
+    public boolean tryAcquire() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(duration);
+        boolean acquired = leaseRepository.renew(name, owner, expiresAt, now) == 1;
+        if (!acquired && !leaseRepository.existsById(name)) {
+            try {
+                leaseRepository.saveAndFlush(new SchedulerLeaseEntity(name, owner, expiresAt));
+                acquired = true;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance created the lease first
+                acquired = false;
+            }
+        }
+        if (acquired && heldUntil == null) {
+            log.info("Acquired lease {}", name);
+        } else if (!acquired && heldUntil != null) {
+            log.info("Lost lease {}", name);
+        }
+        heldUntil = acquired ? expiresAt : null;
+        return acquired;
+    }
+
+    /**
+     * Renews the lease only once a third of it has elapsed, so that frequent callers do not write
+     * to the database every time.
+     *
+     * @return true if this instance holds the lease
+     */
+    public boolean acquireIfDue() {
+        LocalDateTime until = heldUntil;
+        if (until != null && LocalDateTime.now().isBefore(until.minus(duration.dividedBy(3)))) {
+            return true;
+        }
+        return tryAcquire();
+    }
+
+    /**
+     * Tells whether this instance still holds the lease, without asking the database.
+     */
+    public boolean isHeld() {
+        LocalDateTime until = heldUntil;
+        return until != null && LocalDateTime.now().isBefore(until);
+    }
+}
@@ -0,0 +1,159 @@
+package com.buberdinner.dinnerservice.infrastructure.scheduling;
+
+import com.buberdinner.dinnerservice.application.service.DinnerApplicationService;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.SchedulerLeaseJpaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts and completes dinners when their start and end times come.
+ *
+ * Every poll loads only the dinners due within the lookahead window, through the (status, start_time)
+ * and (status, end_time) indexes, and queues them in a delay queue. A worker thread takes them off
+ * the queue as they fall due, together with any other dinner due at that moment, and applies the
+ * transitions as one batch. Only the instance holding the database lease polls and applies
+ * transitions, so each dinner is started and completed once across instances.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "dinner.lifecycle.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class DinnerLifecycleScheduler {
+
+    private static final String LEASE_NAME = "dinner-lifecycle";
+    private static final int MAX_BATCH_SIZE = 500;
+    private static final List<DinnerStatus> STARTABLE = List.of(DinnerStatus.UPCOMING, DinnerStatus.RESCHEDULED);
+
+    private final DinnerJpaRepository dinnerJpaRepository;
+    private final DinnerApplicationService dinnerApplicationService;
+    private final DatabaseLeaderLease lease;
+    private final Duration lookahead;
+
+    private final DelayQueue<DueTransition> queue = new DelayQueue<>();
+    private final Set<Pending> queued = ConcurrentHashMap.newKeySet();
+    private volatile Thread worker;
+
+    public DinnerLifecycleScheduler(DinnerJpaRepository dinnerJpaRepository,
+                                    DinnerApplicationService dinnerApplicationService,
+                                    SchedulerLeaseJpaRepository leaseRepository,
+                                    @Value("${dinner.lifecycle.lookahead:PT2M}") Duration lookahead,
+                                    @Value("${dinner.lifecycle.lease-duration:PT90S}") Duration leaseDuration) {
+        this.dinnerJpaRepository = dinnerJpaRepository;
+        this.dinnerApplicationService = dinnerApplicationService;
+        this.lease = new DatabaseLeaderLease(leaseRepository, LEASE_NAME, leaseDuration);
+        this.lookahead = lookahead;
+    }
+
+    private enum Transition { START, COMPLETE }
+
+    private record Pending(Long dinnerId, Transition transition) {
+    }
+
+    private record DueTransition(Pending pending, long dueAtMillis) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.MILLISECONDS), other.getDelay(TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startWorker() {
+        Thread thread = new Thread(this::work, "dinner-lifecycle");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stopWorker() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Renews the lease and, while it is held, queues the dinners due within the lookahead window.
+     * Overdue dinners are queued as due now.
+     */
+    @Scheduled(fixedDelayString = "${dinner.lifecycle.poll-interval:PT30S}")
+    public void poll() {
+        if (!lease.tryAcquire()) {
+            queue.clear();
+            queued.clear();
+            return;
+        }
+        LocalDateTime until = LocalDateTime.now().plus(lookahead);
+        dinnerJpaRepository.findDueToStart(STARTABLE, until)
+                .forEach(row -> schedule(row.getId(), Transition.START, row.getDueAt()));
+        dinnerJpaRepository.findDueToComplete(DinnerStatus.IN_PROGRESS, until)
+                .forEach(row -> schedule(row.getId(), Transition.COMPLETE, row.getDueAt()));
+    }
+
+    private void schedule(Long dinnerId, Transition transition, LocalDateTime dueAt) {
+        Pending pending = new Pending(dinnerId, transition);
+        if (queued.add(pending)) {
+            queue.put(new DueTransition(pending, dueAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()));
+        }
+    }
+
+    private void work() {
+        while (worker == Thread.currentThread()) {
+            try {
+                List<DueTransition> due = new ArrayList<>();
+                due.add(queue.take());
+                queue.drainTo(due, MAX_BATCH_SIZE - 1);
+                apply(due);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                // The dinners are queued again by the next poll
+                log.error("Could not apply dinner lifecycle transitions", e);
+            }
+        }
+    }
+
+    private void apply(List<DueTransition> due) {
+        due.forEach(transition -> queued.remove(transition.pending()));
+        if (!lease.isHeld()) {
+            return;
+        }
+        List<Long> toStart = new ArrayList<>();
+        List<Long> toComplete = new ArrayList<>();
+        for (DueTransition transition : due) {
+            Pending pending = transition.pending();
+            (pending.transition() == Transition.START ? toStart : toComplete).add(pending.dinnerId());
+        }
+        if (!toStart.isEmpty()) {
+            log.info("Started {} due dinners", dinnerApplicationService.startDueDinners(toStart));
+        }
+        if (!toComplete.isEmpty()) {
+            log.info("Completed {} due dinners", dinnerApplicationService.completeDueDinners(toComplete));
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package com.buberdinner.dinnerservice.infrastructure.search;
+
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Embedded Lucene index over the dinner name, description and cuisine type.
+ *
+ * The index lives in the directory set by search.index.directory, or in memory when the property
+ * is blank. It is rebuilt from the database on startup and updated document by document when
+ * dinners are created or updated, on this instance or, through their events, on another one;
+ * searches see an update as soon as it has been applied.
+ */
+@Slf4j
+@Component
+public class DinnerTextIndex {
+
+    /**
+     * Deepest position a ranked query can page to.
+     */
+    public static final int MAX_RESULT_WINDOW = 1000;
+
+    private static final String ID = "id";
+    private static final String NAME = "name";
+    private static final String DESCRIPTION = "description";
+    private static final String CUISINE_TYPE = "cuisineType";
+
+    private static final float NAME_BOOST = 3f;
+    private static final float CUISINE_TYPE_BOOST = 2f;
+
+    private final DinnerJpaRepository dinnerJpaRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public DinnerTextIndex(DinnerJpaRepository dinnerJpaRepository,
+                           @Value("${search.index.directory:}") String indexDirectory) throws IOException {
+        this.dinnerJpaRepository = dinnerJpaRepository;
+        this.directory = indexDirectory.isBlank()
+                ? new ByteBuffersDirectory()
+                : FSDirectory.open(Path.of(indexDirectory));
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * One page of ranked search results.
+     *
+     * @param dinnerIds the IDs of the matching dinners, best match first
+     * @param totalHits the total number of matching dinners
+     */
+    public record Hits(List<Long> dinnerIds, long totalHits) {
+    }
+
+    /**
+     * Reloads the whole index from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        try {
+            long started = System.nanoTime();
+            writer.deleteAll();
+            List<DinnerJpaRepository.TextIndexRow> rows = dinnerJpaRepository.findTextIndexRows();
+            for (DinnerJpaRepository.TextIndexRow row : rows) {
+                writer.addDocument(toDocument(row.getId(), row.getName(), row.getDescription(), row.getCuisineType()));
+            }
+            writer.commit();
+            searcherManager.maybeRefreshBlocking();
+            log.info("Dinner text index rebuilt with {} dinners in {} ms",
+                    rows.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild the dinner text index", e);
+        }
+    }
+
+    /**
+     * Adds or replaces the document of a dinner.
+     */
+    public void index(Long dinnerId, String name, String description, String cuisineType) {
+        try {
+            writer.updateDocument(new Term(ID, String.valueOf(dinnerId)),
+                    toDocument(dinnerId, name, description, cuisineType));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not index dinner " + dinnerId, e);
+        }
+    }
+
+    /**
+     * Reloads the documents of dinners from the database, removing those of the dinners no longer
+     * stored.
+     */
+    public void refresh(Collection<Long> dinnerIds) {
+        try {
+            Set<Long> missing = new HashSet<>(dinnerIds);
+            for (DinnerJpaRepository.TextIndexRow row : dinnerJpaRepository.findTextIndexRowsByIdIn(dinnerIds)) {
+                writer.updateDocument(new Term(ID, String.valueOf(row.getId())),
+                        toDocument(row.getId(), row.getName(), row.getDescription(), row.getCuisineType()));
+                missing.remove(row.getId());
+            }
+            for (Long dinnerId : missing) {
+                writer.deleteDocuments(new Term(ID, String.valueOf(dinnerId)));
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not refresh dinners " + dinnerIds, e);
+        }
+    }
+
+    /**
+     * Removes the document of a dinner.
+     */
+    public void remove(Long dinnerId) {
+        try {
+            writer.deleteDocuments(new Term(ID, String.valueOf(dinnerId)));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not remove dinner " + dinnerId, e);
+        }
+    }
+
+    /**
+     * Finds the dinners matching every word of the query, best match first.
+     * A word matching the name weighs more than one matching the cuisine type,
+     * which weighs more than one matching the description.
+     *
+     * @param text the words to look for
+     * @param offset the number of results to skip
+     * @param limit the maximum number of results to return
+     * @return the requested page of results
+     */
+    public Hits search(String text, int offset, int limit) {
+        if (offset + limit > MAX_RESULT_WINDOW) {
+            throw new IllegalArgumentException("Cannot page beyond the first " + MAX_RESULT_WINDOW + " results");
+        }
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit);
+                List<Long> dinnerIds = new ArrayList<>();
+                ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+                for (int i = offset; i < scoreDocs.length; i++) {
+                    dinnerIds.add(Long.valueOf(searcher.storedFields().document(scoreDocs[i].doc).get(ID)));
+                }
+                return new Hits(dinnerIds, topDocs.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search the dinner text index", e);
+        }
+    }
+
+    /**
+     * Gets the number of dinners currently searchable.
+     */
+    public int size() {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                return searcher.getIndexReader().numDocs();
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the dinner text index", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private Document toDocument(Long dinnerId, String name, String description, String cuisineType) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(dinnerId), Field.Store.YES));
+        document.add(new TextField(NAME, name != null ? name : "", Field.Store.NO));
+        document.add(new TextField(DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        document.add(new TextField(CUISINE_TYPE, cuisineType != null ? cuisineType : "", Field.Store.NO));
+        return document;
+    }
+
+    /**
+     * Builds a query requiring each analyzed word to match at least one field.
+     *
+     * @return the query, or null if the text holds no searchable word
+     */
+    private Query buildQuery(String text) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> words = analyze(text);
+        for (String word : words) {
+            query.add(new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(NAME, word)), NAME_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new BoostQuery(new TermQuery(new Term(CUISINE_TYPE, word)), CUISINE_TYPE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, word)), BooleanClause.Occur.SHOULD)
+                    .build(), BooleanClause.Occur.MUST);
+        }
+        return words.isEmpty() ? null : query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> words = new ArrayList<>();
+        try (TokenStream tokens = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = tokens.addAttribute(CharTermAttribute.class);
+            tokens.reset();
+            while (tokens.incrementToken()) {
+                words.add(term.toString());
+            }
+            tokens.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not analyze the search text", e);
+        }
+        return words;
+    }
+}
@@ -0,0 +1,94 @@
+package com.buberdinner.dinnerservice.infrastructure.search;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerCreatedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerUpdatedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCreatedEvent;
+import com.buberdinner.dinnerservice.presentation.dto.DinnerResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the dinner text index in step with the dinner create and update events.
+ * Events published inside a transaction are applied once it commits.
+ *
+ * The dinners created or updated by other instances are refreshed from the dinner topics, which
+ * every instance reads with its own consumer group. Only the dinner ID keys of their events are
+ * read, and each batch of dinners is reloaded from the database in one query.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DinnerTextIndexListener {
+
+    static final String LISTENER_ID = "dinner-text-index";
+
+    private static final Set<String> INDEXED_FIELDS = Set.of("name", "description", "cuisineType");
+
+    private final DinnerTextIndex dinnerTextIndex;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDinnerCreated(DinnerCreatedEvent event) {
+        index(event.dinner());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDinnersCreated(DinnersCreatedEvent event) {
+        event.dinners().forEach(created -> index(created.dinner()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDinnerUpdated(DinnerUpdatedEvent event) {
+        if (event.snapshot() || event.changedFields().stream().anyMatch(INDEXED_FIELDS::contains)) {
+            index(event.dinnerId(), event.dinner().getName(), event.dinner().getDescription(),
+                    event.dinner().getCuisineType());
+        }
+    }
+
+    @KafkaListener(id = LISTENER_ID,
+            idIsGroup = false,
+            topics = {"dinnerCreated", "dinnerUpdated"},
+            groupId = "dinner-text-index-${random.uuid}",
+            batch = "true",
+            properties = {"auto.offset.reset=latest",
+                    "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer"},
+            autoStartup = "${dinner.cache.kafka-invalidation.enabled:true}")
+    public void onDinnersChanged(List<ConsumerRecord<String, byte[]>> records) {
+        Set<Long> dinnerIds = new HashSet<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            try {
+                dinnerIds.add(Long.parseLong(record.key()));
+            } catch (NumberFormatException e) {
+                log.warn("Dinner event on {} without a dinner ID key, skipping it", record.topic());
+            }
+        }
+        if (dinnerIds.isEmpty()) {
+            return;
+        }
+        try {
+            dinnerTextIndex.refresh(dinnerIds);
+        } catch (RuntimeException e) {
+            log.error("Could not refresh dinners {} in the text index", dinnerIds, e);
+        }
+    }
+
+    private void index(DinnerResponse dinner) {
+        index(dinner.getId(), dinner.getName(), dinner.getDescription(), dinner.getCuisineType());
+    }
+
+    private void index(Long dinnerId, String name, String description, String cuisineType) {
+        try {
+            dinnerTextIndex.index(dinnerId, name, description, cuisineType);
+        } catch (RuntimeException e) {
+            // The next rebuild will pick the dinner up; the write itself has already succeeded
+            log.error("Could not index dinner {}", dinnerId, e);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.buberdinner.dinnerservice.presentation.controller;
 
+import com.buberdinner.dinnerservice.domain.exception.DinnerNotFoundException;
 import com.buberdinner.dinnerservice.infrastructure.client.ImageService;
 import com.buberdinner.dinnerservice.presentation.dto.DinnerUpdateRequest;
 import com.buberdinner.dinnerservice.presentation.dto.DinnerRequest;
@@ -7,17 +8,29 @@ import com.buberdinner.dinnerservice.presentation.dto.DinnerResponse;
 import com.buberdinner.dinnerservice.application.service.DinnerApplicationService;
 import com.buberdinner.dinnerservice.presentation.dto.RescheduleDinnerRequest;
 import com.buberdinner.dinnerservice.presentation.mapper.DinnerDtoMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.ws.rs.NotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/dinners")
@@ -27,6 +40,7 @@ public class DinnerController {
     private final DinnerApplicationService dinnerApplicationService;
     private final DinnerDtoMapper dinnerDtoMapper;
     private final ImageService imageService;
+    private final ObjectMapper objectMapper;
 
 //    @PostMapping
 //    public ResponseEntity<DinnerResponse> createDinner(@RequestBody DinnerRequest dinnerRequest) {
@@ -36,40 +50,41 @@ public class DinnerController {
 //        return new ResponseEntity<>(presentationResponse, HttpStatus.CREATED);
 //    }
 
+    /**
+     * Creates a dinner with its image. The image is only stored once the dinner is valid and has
+     * been saved, and an image already stored for another dinner is reused. An invalid dinner or
+     * image gets 400.
+     */
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<DinnerResponse> createDinner(
             @RequestPart("dinner") DinnerRequest dinnerRequest,
             @RequestPart("image") MultipartFile imageFile) {
 
-        // 1. Upload image
-        String imageUrl = imageService.storeImage(imageFile);
-
-
         com.buberdinner.dinnerservice.application.dto.DinnerRequest appRequest = dinnerDtoMapper.toApplicationRequest(dinnerRequest);
-
-        // 🧠 3. Injecte imageUrl ici, manuellement si nécessaire
-        // Si DinnerRequest est immutable : crée une copie avec imageUrl
-        // Sinon, ajoute un setter temporaire (ou utilise un builder)
-
-//        DinnerRequest requestWithImage = new DinnerRequest();
-//        requestWithImage.setHostId(appRequest.getHostId());
-//        requestWithImage.setMenuId(appRequest.getMenuId());
-//        requestWithImage.setStartTime(appRequest.getStartTime());
-//        requestWithImage.setEndTime(appRequest.getEndTime());
-//        requestWithImage.setAddress(appRequest.getAddress());
-//        requestWithImage.setDescription(appRequest.getDescription());
-//        requestWithImage.setCuisineType(appRequest.getCuisineType());
-//        requestWithImage.setMaxGuestCount(appRequest.getMaxGuestCount());
-
-        // Astuce : passer imageUrl à l'applicationService séparément ?
-        com.buberdinner.dinnerservice.application.dto.DinnerResponse response = dinnerApplicationService.createDinner(appRequest, imageUrl);
-
+        com.buberdinner.dinnerservice.application.dto.DinnerResponse response =
+                dinnerApplicationService.createDinner(appRequest, () -> imageService.storeImage(imageFile));
         return new ResponseEntity<>(
                 dinnerDtoMapper.toPresentationResponse(response),
                 HttpStatus.CREATED
         );
     }
 
+    /**
+     * Creates up to 1000 dinners of the same host at once, without images. Either all dinners are
+     * created or, if any of them is invalid, none is.
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> createDinners(@RequestBody List<DinnerRequest> dinnerRequests) {
+        try {
+            List<com.buberdinner.dinnerservice.application.dto.DinnerResponse> responses =
+                    dinnerApplicationService.createDinners(dinnerDtoMapper.toApplicationRequestList(dinnerRequests));
+            return new ResponseEntity<>(dinnerDtoMapper.toPresentationResponseList(responses), HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
 
     @PostMapping("/{id}/reschedule")
     public ResponseEntity<?> rescheduleDinner(@PathVariable long id, @RequestBody RescheduleDinnerRequest request) {
@@ -83,12 +98,26 @@ public class DinnerController {
         }
     }
 
+    /**
+     * Updates a dinner. With an If-Match header, the update only happens if the dinner still has
+     * that entity tag; otherwise 412 is returned and the client has to read the dinner again.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<DinnerResponse> updateDinner(@PathVariable Long id, @RequestBody DinnerRequest dinnerRequest) {
+    public ResponseEntity<?> updateDinner(@PathVariable Long id, @RequestBody DinnerRequest dinnerRequest,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         com.buberdinner.dinnerservice.application.dto.DinnerRequest applicationRequest = dinnerDtoMapper.toApplicationRequest(dinnerRequest);
-        com.buberdinner.dinnerservice.application.dto.DinnerResponse applicationResponse = dinnerApplicationService.updateDinner(id, applicationRequest);
-        DinnerResponse presentationResponse = dinnerDtoMapper.toPresentationResponse(applicationResponse);
-        return ResponseEntity.ok(presentationResponse);
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerResponse applicationResponse =
+                    dinnerApplicationService.updateDinner(id, applicationRequest, ETags.expected(ifMatch));
+            DinnerResponse presentationResponse = dinnerDtoMapper.toPresentationResponse(applicationResponse);
+            return ResponseEntity.ok()
+                    .eTag(dinnerApplicationService.getDinnerETag(id))
+                    .body(presentationResponse);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.PRECONDITION_FAILED.value())
+            );
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -97,32 +126,198 @@ public class DinnerController {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Gets a dinner. A client sending back the entity tag it already has in If-None-Match gets
+     * 304 Not Modified, decided from the dinner's version and rating only.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<DinnerResponse> getDinnerById(@PathVariable Long id) {
+    public ResponseEntity<DinnerResponse> getDinnerById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = dinnerApplicationService.getDinnerETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         com.buberdinner.dinnerservice.application.dto.DinnerResponse applicationResponse = dinnerApplicationService.getDinnerById(id);
         DinnerResponse presentationResponse = dinnerDtoMapper.toPresentationResponse(applicationResponse);
-        return ResponseEntity.ok(presentationResponse);
+        return ResponseEntity.ok().eTag(eTag).body(presentationResponse);
     }
 
     @GetMapping
-    public ResponseEntity<List<DinnerResponse>> getAllDinners() {
-        List<com.buberdinner.dinnerservice.application.dto.DinnerResponse> applicationResponses = dinnerApplicationService.getAllDinners();
-        List<DinnerResponse> presentationResponses = dinnerDtoMapper.toPresentationResponseList(applicationResponses);
-        return ResponseEntity.ok(presentationResponses);
+    public ResponseEntity<?> getAllDinners(@RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size) {
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerPageResponse applicationPage = dinnerApplicationService.getAllDinners(cursor, size);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationPage(applicationPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
     }
 
     @GetMapping("/host/{hostId}")
-    public ResponseEntity<List<DinnerResponse>> getDinnersByHostId(@PathVariable Long hostId) {
-        List<com.buberdinner.dinnerservice.application.dto.DinnerResponse> applicationResponses = dinnerApplicationService.getDinnersByHostId(hostId);
-        List<DinnerResponse> presentationResponses = dinnerDtoMapper.toPresentationResponseList(applicationResponses);
-        return ResponseEntity.ok(presentationResponses);
+    public ResponseEntity<?> getDinnersByHostId(@PathVariable Long hostId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerPageResponse applicationPage = dinnerApplicationService.getDinnersByHostId(hostId, cursor, size);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationPage(applicationPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
     }
 
     @GetMapping("/menu/{menuId}")
-    public ResponseEntity<List<DinnerResponse>> getDinnersByMenuId(@PathVariable Long menuId) {
-        List<com.buberdinner.dinnerservice.application.dto.DinnerResponse> applicationResponses = dinnerApplicationService.getDinnersByMenuId(menuId);
-        List<DinnerResponse> presentationResponses = dinnerDtoMapper.toPresentationResponseList(applicationResponses);
-        return ResponseEntity.ok(presentationResponses);
+    public ResponseEntity<?> getDinnersByMenuId(@PathVariable Long menuId,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "20") int size) {
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerPageResponse applicationPage = dinnerApplicationService.getDinnersByMenuId(menuId, cursor, size);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationPage(applicationPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchDinners(@RequestParam(required = false) String cuisineType,
+                                           @RequestParam(required = false) Double minPrice,
+                                           @RequestParam(required = false) Double maxPrice,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startsAfter,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startsBefore,
+                                           @RequestParam(required = false) String status,
+                                           @RequestParam(required = false) Integer minCapacity,
+                                           @RequestParam(required = false) String cursor,
+                                           @RequestParam(defaultValue = "20") int size) {
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest searchRequest = new com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest(
+                    cuisineType, minPrice, maxPrice, startsAfter, startsBefore, status, minCapacity);
+            com.buberdinner.dinnerservice.application.dto.DinnerPageResponse applicationPage = dinnerApplicationService.searchDinners(searchRequest, cursor, size);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationPage(applicationPage));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
+
+    @GetMapping("/search/text")
+    public ResponseEntity<?> searchDinnersByText(@RequestParam String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        try {
+            com.buberdinner.dinnerservice.application.dto.DinnerTextSearchResponse applicationResponse =
+                    dinnerApplicationService.searchDinnersByText(q, page, size);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationTextSearch(applicationResponse));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getDinnersNearby(@RequestParam double latitude,
+                                              @RequestParam double longitude,
+                                              @RequestParam(defaultValue = "10") double radiusKm,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse> applicationResponses =
+                    dinnerApplicationService.findDinnersNearby(latitude, longitude, radiusKm, limit);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationNearbyList(applicationResponses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
+
+    @GetMapping("/within")
+    public ResponseEntity<?> getDinnersWithin(@RequestParam double minLat,
+                                              @RequestParam double minLon,
+                                              @RequestParam double maxLat,
+                                              @RequestParam double maxLon,
+                                              @RequestParam(defaultValue = "20") int limit) {
+        try {
+            List<com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse> applicationResponses =
+                    dinnerApplicationService.findDinnersInBox(minLat, minLon, maxLat, maxLon, limit);
+            return ResponseEntity.ok(dinnerDtoMapper.toPresentationNearbyList(applicationResponses));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+            );
+        }
+    }
+
+    /**
+     * Streams the dinner catalog as NDJSON, one dinner per line, gzipped when the client accepts it.
+     * Partners pulling incrementally pass the time their previous pull started as updatedSince.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportDinners(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        ObjectWriter writer = objectMapper.writerFor(DinnerResponse.class);
+        StreamingResponseBody body = outputStream -> {
+            try (OutputStream target = gzip ? new GZIPOutputStream(outputStream, 8192) : outputStream) {
+                dinnerApplicationService.exportDinners(updatedSince, dinner -> {
+                    try {
+                        target.write(writer.writeValueAsBytes(dinnerDtoMapper.toPresentationResponse(dinner)));
+                        target.write('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    /**
+     * Tells whether an Accept-Encoding header accepts gzip: gzip is listed with a non-zero quality,
+     * or, when it is not listed, "*" is. A quality that cannot be read counts as zero.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parameters = coding.split(";");
+            String name = parameters[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip")) {
+                gzip = quality(parameters);
+            } else if (name.equals("*")) {
+                any = quality(parameters);
+            }
+        }
+        Double quality = gzip != null ? gzip : any;
+        return quality != null && quality > 0;
+    }
+
+    private static double quality(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                try {
+                    return Double.parseDouble(parameter.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
     }
 
     @PostMapping("/{dinnerId}/start")
@@ -145,6 +340,21 @@ public class DinnerController {
         }
     }
 
+    @PostMapping("/{dinnerId}/snapshot")
+    public ResponseEntity<?> publishDinnerSnapshot(@PathVariable Long dinnerId) {
+        try {
+            dinnerApplicationService.publishDinnerSnapshot(dinnerId);
+            return ResponseEntity.accepted().body(Map.of(
+                    "message", "Dinner snapshot published",
+                    "status", HttpStatus.ACCEPTED.value()
+            ));
+        } catch (DinnerNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.NOT_FOUND.value())
+            );
+        }
+    }
+
     @PostMapping("/{dinnerId}/complete")
     public ResponseEntity<?> completeDinner(@PathVariable Long dinnerId) {
         try {
@@ -166,16 +376,55 @@ public class DinnerController {
 
     @PostMapping("/menu/{menuId}/start-all")
     public ResponseEntity<?> startAllDinnersInMenu(@PathVariable Long menuId) {
-        try {
-            dinnerApplicationService.startAllDinnersInMenu(menuId);
-            return ResponseEntity.ok().body(Map.of(
-                    "message", "All dinners in menu started successfully",
-                    "status", HttpStatus.OK.value()
-            ));
-        } catch (NotFoundException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(
-                    Map.of("error", e.getMessage(), "status", HttpStatus.NOT_FOUND.value())
-            );
-        }
+        int count = dinnerApplicationService.startAllDinnersInMenu(menuId);
+        return bulkTransitionResponse("All dinners in menu started successfully", count);
+    }
+
+    @PostMapping("/menu/{menuId}/complete-all")
+    public ResponseEntity<?> completeAllDinnersInMenu(@PathVariable Long menuId) {
+        int count = dinnerApplicationService.completeAllDinnersInMenu(menuId);
+        return bulkTransitionResponse("All dinners in menu completed successfully", count);
+    }
+
+    @PostMapping("/menu/{menuId}/cancel-all")
+    public ResponseEntity<?> cancelAllDinnersInMenu(@PathVariable Long menuId) {
+        int count = dinnerApplicationService.cancelAllDinnersInMenu(menuId);
+        return bulkTransitionResponse("All dinners in menu cancelled successfully", count);
+    }
+
+    @PostMapping("/host/{hostId}/start-all")
+    public ResponseEntity<?> startAllDinnersOfHost(@PathVariable Long hostId) {
+        int count = dinnerApplicationService.startAllDinnersOfHost(hostId);
+        return bulkTransitionResponse("All dinners of host started successfully", count);
+    }
+
+    @PostMapping("/host/{hostId}/complete-all")
+    public ResponseEntity<?> completeAllDinnersOfHost(@PathVariable Long hostId) {
+        int count = dinnerApplicationService.completeAllDinnersOfHost(hostId);
+        return bulkTransitionResponse("All dinners of host completed successfully", count);
+    }
+
+    @PostMapping("/host/{hostId}/cancel-all")
+    public ResponseEntity<?> cancelAllDinnersOfHost(@PathVariable Long hostId) {
+        int count = dinnerApplicationService.cancelAllDinnersOfHost(hostId);
+        return bulkTransitionResponse("All dinners of host cancelled successfully", count);
+    }
+
+    private ResponseEntity<?> bulkTransitionResponse(String message, int count) {
+        return ResponseEntity.ok().body(Map.of(
+                "message", message,
+                "count", count,
+                "status", HttpStatus.OK.value()
+        ));
+    }
+
+    /**
+     * Answers a request rejected by the application service with 400 and the reason.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(
+                Map.of("error", e.getMessage(), "status", HttpStatus.BAD_REQUEST.value())
+        );
     }
 }
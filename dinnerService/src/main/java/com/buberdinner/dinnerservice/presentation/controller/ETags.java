@@ -0,0 +1,29 @@
+package com.buberdinner.dinnerservice.presentation.controller;
+
+/**
+ * Helpers for the entity tags used in conditional requests.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Extracts the tag a client expects from an If-Match header.
+     * Only the first tag of a list is considered. Weak tags keep their prefix so that they never
+     * match, since If-Match requires a strong comparison.
+     *
+     * @param ifMatch the header value, possibly null
+     * @return the unquoted tag, or null when any current version is accepted (no header, or "*")
+     */
+    static String expected(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.split(",")[0].trim();
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            return tag.substring(1, tag.length() - 1);
+        }
+        return tag;
+    }
+}
@@ -0,0 +1,187 @@
+package com.buberdinner.dinnerservice.presentation.controller;
+
+import com.buberdinner.dinnerservice.infrastructure.client.ImageService;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageStore.StoredFile;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageVariantPipeline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Serves the dinner images and their variants.
+ *
+ * An image name is the hash of its content (or, for older uploads, a unique name), so a name always
+ * denotes the same bytes: responses are cacheable forever and their entity tag is strong. Files are
+ * handed to Tomcat's sendfile when the connector supports it, and otherwise copied to the response
+ * with FileChannel.transferTo, so their content never goes through the request thread's heap.
+ */
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    // Tomcat request attributes for sending a file from the connector
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ImageService imageService;
+    private final ImageVariantPipeline imageVariantPipeline;
+
+    @GetMapping("/{name}")
+    public void getImage(@PathVariable String name, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        Optional<StoredFile> image = imageService.findFile(name);
+        if (image.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        serve(image.get(), IMMUTABLE, request, response);
+    }
+
+    /**
+     * Serves a smaller variant of an image (thumbnail, card or full). Until the variant has been
+     * generated the original is served instead, with a response that is not kept by caches.
+     */
+    @GetMapping("/{variant}/{name}")
+    public void getImageVariant(@PathVariable String variant, @PathVariable String name,
+                                HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<ImageVariantPipeline.Variant> size = ImageVariantPipeline.Variant.of(variant);
+        if (size.isEmpty() || ImageVariantPipeline.isVariantName(name)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        Optional<StoredFile> resized = imageService.findFile(ImageVariantPipeline.variantName(name, size.get()));
+        if (resized.isPresent()) {
+            serve(resized.get(), IMMUTABLE, request, response);
+            return;
+        }
+        Optional<StoredFile> original = imageService.findFile(name);
+        if (original.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        imageVariantPipeline.generate(name);
+        serve(original.get(), "no-cache", request, response);
+    }
+
+    private void serve(StoredFile file, String cacheControl, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        String eTag = "\"" + file.name().replaceAll("[^A-Za-z0-9._-]", "") + "\"";
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        long length = file.length();
+        long start = 0;
+        long end = length - 1;
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        long[] range = ifRange == null || ifRange.equals(eTag)
+                ? range(request.getHeader(HttpHeaders.RANGE), length)
+                : null;
+        if (range != null && range.length == 0) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        if (range != null) {
+            start = range[0];
+            end = range[1];
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+        response.setContentType(file.contentType());
+        response.setContentLengthLong(end - start + 1);
+        if ("HEAD".equals(request.getMethod()) || end < start) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat sends the file itself once the request completes
+            request.setAttribute(SENDFILE_FILENAME, file.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        return Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(tag -> tag.equals("*") || tag.equals(eTag));
+    }
+
+    /**
+     * Parses a single byte range. Multiple ranges and malformed headers are ignored, and the whole
+     * file is served.
+     *
+     * @return the first and last byte, an empty array if the range is not satisfiable, or null to
+     * serve the whole file
+     */
+    private static long[] range(String header, long length) {
+        if (header == null || !header.startsWith("bytes=") || header.contains(",")) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            if (dash == 0) {
+                long suffix = Long.parseLong(spec.substring(1));
+                if (suffix == 0 || length == 0) {
+                    return new long[0];
+                }
+                return new long[]{Math.max(0, length - suffix), length - 1};
+            }
+            long first = Long.parseLong(spec.substring(0, dash));
+            long last = dash == spec.length() - 1 ? Long.MAX_VALUE : Long.parseLong(spec.substring(dash + 1));
+            if (last < first) {
+                return null;
+            }
+            if (first >= length) {
+                return new long[0];
+            }
+            return new long[]{first, Math.min(last, length - 1)};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
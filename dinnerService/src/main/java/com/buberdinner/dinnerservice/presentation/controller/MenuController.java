@@ -4,11 +4,15 @@ import com.buberdinner.dinnerservice.application.service.MenuApplicationService;
 import com.buberdinner.dinnerservice.presentation.dto.MenuRequest;
 import com.buberdinner.dinnerservice.presentation.dto.MenuResponse;
 import com.buberdinner.dinnerservice.presentation.mapper.MenuDtoMapper;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/menus")
@@ -32,11 +36,18 @@ public class MenuController {
         return new ResponseEntity<>(presentationResponse, HttpStatus.CREATED);
     }
 
+    /**
+     * Gets a menu, or 304 Not Modified when If-None-Match holds its current entity tag.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<MenuResponse> getMenuById(@PathVariable Long id) {
+    public ResponseEntity<MenuResponse> getMenuById(@PathVariable Long id, WebRequest webRequest) {
+        String eTag = menuApplicationService.getMenuETag(id);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
         var applicationResponse = menuApplicationService.getMenuById(id);
         var presentationResponse = menuDtoMapper.toPresentationResponse(applicationResponse);
-        return ResponseEntity.ok(presentationResponse);
+        return ResponseEntity.ok().eTag(eTag).body(presentationResponse);
     }
 
     /*@GetMapping
@@ -53,14 +64,26 @@ public class MenuController {
         return ResponseEntity.ok(presentationResponses);
     }*/
 
+    /**
+     * Updates a menu, only if it still has the entity tag given in If-Match when the header is present.
+     */
     @PutMapping("/{id}")
-    public ResponseEntity<MenuResponse> updateMenu(
+    public ResponseEntity<?> updateMenu(
             @PathVariable Long id,
-            @RequestBody MenuRequest menuRequest) {
+            @RequestBody MenuRequest menuRequest,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         var applicationRequest = menuDtoMapper.toApplicationRequest(menuRequest);
-        var applicationResponse = menuApplicationService.updateMenu(id, applicationRequest);
-        var presentationResponse = menuDtoMapper.toPresentationResponse(applicationResponse);
-        return ResponseEntity.ok(presentationResponse);
+        try {
+            var applicationResponse = menuApplicationService.updateMenu(id, applicationRequest, ETags.expected(ifMatch));
+            var presentationResponse = menuDtoMapper.toPresentationResponse(applicationResponse);
+            return ResponseEntity.ok()
+                    .eTag(menuApplicationService.getMenuETag(id))
+                    .body(presentationResponse);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(
+                    Map.of("error", e.getMessage(), "status", HttpStatus.PRECONDITION_FAILED.value())
+            );
+        }
     }
 
     @DeleteMapping("/{id}")
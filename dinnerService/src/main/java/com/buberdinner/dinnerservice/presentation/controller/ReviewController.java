@@ -55,6 +55,17 @@ public class ReviewController {
         return ResponseEntity.ok(presentationResponses);
     }
 
+    @GetMapping("/host/{hostId}/rating")
+    public ResponseEntity<Long> getHostRating(@PathVariable Long hostId) {
+        return ResponseEntity.ok(reviewApplicationService.meanReviewsByHostId(hostId));
+    }
+
+    @PostMapping("/aggregates/rebuild")
+    public ResponseEntity<Void> rebuildRatingAggregates() {
+        reviewApplicationService.rebuildRatingAggregates();
+        return ResponseEntity.noContent().build();
+    }
+
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReview(@PathVariable Long id) {
         reviewApplicationService.deleteReview(id);
@@ -0,0 +1,21 @@
+package com.buberdinner.dinnerservice.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one page of full-text search results in the presentation layer.
+ * Dinners are sorted by relevance; totalHits counts every matching dinner.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DinnerTextSearchResponse {
+    private List<DinnerResponse> dinners;
+    private long totalHits;
+    private int page;
+    private int size;
+}
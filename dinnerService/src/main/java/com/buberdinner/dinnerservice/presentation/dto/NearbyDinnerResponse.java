@@ -0,0 +1,17 @@
+package com.buberdinner.dinnerservice.presentation.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Data Transfer Object for a dinner found by a location search in the presentation layer,
+ * with its distance in kilometers to the searched point.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class NearbyDinnerResponse {
+    private DinnerResponse dinner;
+    private double distanceKm;
+}
@@ -48,10 +48,44 @@ public class DinnerDtoMapper {
         );
     }
 
+    public com.buberdinner.dinnerservice.presentation.dto.DinnerPageResponse toPresentationPage(
+            com.buberdinner.dinnerservice.application.dto.DinnerPageResponse applicationPage) {
+        return new com.buberdinner.dinnerservice.presentation.dto.DinnerPageResponse(
+                toPresentationResponseList(applicationPage.getDinners()),
+                applicationPage.getNextCursor()
+        );
+    }
+
+    public com.buberdinner.dinnerservice.presentation.dto.DinnerTextSearchResponse toPresentationTextSearch(
+            com.buberdinner.dinnerservice.application.dto.DinnerTextSearchResponse applicationResponse) {
+        return new com.buberdinner.dinnerservice.presentation.dto.DinnerTextSearchResponse(
+                toPresentationResponseList(applicationResponse.getDinners()),
+                applicationResponse.getTotalHits(),
+                applicationResponse.getPage(),
+                applicationResponse.getSize()
+        );
+    }
+
+    public List<com.buberdinner.dinnerservice.presentation.dto.NearbyDinnerResponse> toPresentationNearbyList(
+            List<com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse> applicationResponses) {
+        return applicationResponses.stream()
+                .map(nearby -> new com.buberdinner.dinnerservice.presentation.dto.NearbyDinnerResponse(
+                        toPresentationResponse(nearby.getDinner()),
+                        nearby.getDistanceKm()))
+                .collect(Collectors.toList());
+    }
+
     public List<com.buberdinner.dinnerservice.presentation.dto.DinnerResponse> toPresentationResponseList(
             List<com.buberdinner.dinnerservice.application.dto.DinnerResponse> applicationResponses) {
         return applicationResponses.stream()
                 .map(this::toPresentationResponse)
                 .collect(Collectors.toList());
     }
+
+    public List<com.buberdinner.dinnerservice.application.dto.DinnerRequest> toApplicationRequestList(
+            List<com.buberdinner.dinnerservice.presentation.dto.DinnerRequest> presentationRequests) {
+        return presentationRequests.stream()
+                .map(this::toApplicationRequest)
+                .collect(Collectors.toList());
+    }
 }
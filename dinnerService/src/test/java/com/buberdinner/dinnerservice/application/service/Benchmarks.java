@@ -0,0 +1,120 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Data and timing shared by the benchmarks, which are tagged "benchmark" and only run with
+ * {@code mvn test -Pbenchmark}.
+ */
+final class Benchmarks {
+
+    static final String TAG = "benchmark";
+
+    /**
+     * Number of dinners seeded for the benchmarks measured at catalog scale, a million unless
+     * -Dbenchmark.dinners is set.
+     */
+    static final int DINNERS = Integer.getInteger("benchmark.dinners", 1_000_000);
+
+    static final String[] CUISINES = {"French", "Italian", "Japanese", "Mexican", "Indian",
+            "Moroccan", "Thai", "Greek", "Lebanese", "Spanish"};
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Inserts dinners with IDs 1 to count in one statement, bypassing JPA. They are spread over
+     * the year following the given time, over the cuisines, over prices from 10 to 209 and
+     * capacities from 1 to 12, and over a box covering mainland France. One dinner in seven is
+     * no longer upcoming.
+     */
+    static void seedDinners(JdbcTemplate jdbcTemplate, Long menuId, int count, LocalDateTime from) {
+        StringBuilder cuisine = new StringBuilder("CASE MOD(X, ").append(CUISINES.length).append(')');
+        for (int i = 0; i < CUISINES.length; i++) {
+            cuisine.append(" WHEN ").append(i).append(" THEN '").append(CUISINES[i]).append('\'');
+        }
+        cuisine.append(" END");
+        // H2 cannot infer the type of a parameter in a select list, hence the casts
+        jdbcTemplate.update("INSERT INTO dinners (id, host_id, menu_id, name, description, price, start_time, " +
+                        "end_time, address, latitude, longitude, cuisine_type, max_guest_count, status, version, updated_at) " +
+                        "SELECT X, MOD(X, 5000) + 1, CAST(? AS BIGINT), 'Dinner ' || X, 'Seasonal dinner number ' || X, MOD(X, 200) + 10, " +
+                        "DATEADD(MINUTE, MOD(X * 7919, 525600), CAST(? AS TIMESTAMP)), " +
+                        "DATEADD(MINUTE, MOD(X * 7919, 525600) + 120, CAST(? AS TIMESTAMP)), " +
+                        "'1 Main St, Paris, IDF, 75001, France', " +
+                        "42.0 + MOD(X * 104729, 900000) / 100000.0, -4.5 + MOD(X * 1299709, 1250000) / 100000.0, " +
+                        cuisine + ", MOD(X, 12) + 1, " +
+                        "CASE MOD(X, 7) WHEN 0 THEN 'CANCELLED' ELSE 'UPCOMING' END, 0, CAST(? AS TIMESTAMP) " +
+                        "FROM SYSTEM_RANGE(1, ?)",
+                menuId, from, from, from, count);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    /**
+     * Runs an operation warm-up times unmeasured, then iterations times measured.
+     *
+     * @param operation called with the iteration number
+     * @return the latencies of the measured runs
+     */
+    static Latencies time(int warmUp, int iterations, IntConsumer operation) {
+        for (int i = 0; i < warmUp; i++) {
+            operation.accept(i);
+        }
+        long[] nanos = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            operation.accept(warmUp + i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        return new Latencies(nanos);
+    }
+
+    /**
+     * Runs the JMH benchmarks of a class, with the warm-up, measurement and forks it declares.
+     *
+     * @return the primary result of each benchmark method, keyed by the method name followed by
+     * the parameter values, e.g. "projection 20"
+     */
+    static Map<String, Result<?>> runJmh(Class<?> benchmarks) throws RunnerException {
+        Map<String, Result<?>> results = new LinkedHashMap<>();
+        for (RunResult run : new Runner(new OptionsBuilder()
+                .include(benchmarks.getName() + "\\.")
+                .build()).run()) {
+            StringBuilder name = new StringBuilder(run.getParams().getBenchmark().replaceAll(".*\\.", ""));
+            run.getParams().getParamsKeys().forEach(key -> name.append(' ').append(run.getParams().getParam(key)));
+            results.put(name.toString(), run.getPrimaryResult());
+        }
+        return results;
+    }
+
+    /**
+     * Sorted latencies of the measured runs of a benchmark.
+     */
+    record Latencies(long[] nanos) {
+
+        double meanMillis() {
+            return Arrays.stream(nanos).average().orElse(0) / 1_000_000;
+        }
+
+        double percentileMillis(double percentile) {
+            return nanos[(int) Math.ceil(nanos.length * percentile / 100) - 1] / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("mean %.3f ms, p50 %.3f ms, p99 %.3f ms over %d runs",
+                    meanMillis(), percentileMillis(50), percentileMillis(99), nanos.length);
+        }
+    }
+}
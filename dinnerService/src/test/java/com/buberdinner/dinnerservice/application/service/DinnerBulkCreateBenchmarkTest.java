@@ -0,0 +1,119 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.MenuServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark of creating a season of 1000 dinners with 1000 single creations and with one bulk
+ * creation. The user and menu services answer at once and the Kafka sends are left out, so the
+ * difference is a lower bound: each single creation also pays two remote round trips and a send.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dinner-bulk-create-benchmark-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.buberdinner.dinnerservice.application.service.impl=WARN",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerBulkCreateBenchmarkTest {
+
+    private static final long HOST_ID = 11L;
+    private static final int SEASON = 1000;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private MenuServiceClient menuServiceClient;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeAll
+    void setUp() {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(HOST_ID);
+        menu.setName("Season menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        when(userServiceClient.isUserHost(anyLong())).thenReturn(true);
+        when(menuServiceClient.menuExists(anyLong())).thenReturn(true);
+    }
+
+    /**
+     * Test that one bulk creation of a season is faster than creating its dinners one by one,
+     * and reports both
+     */
+    @Test
+    void testBulkCreateIsFasterThanSingleCreates() {
+        List<DinnerRequest> season = season();
+        long before = dinnerJpaRepository.count();
+
+        Benchmarks.Latencies single = Benchmarks.time(1, 5, i ->
+                season.forEach(request -> dinnerApplicationService.createDinner(request, () -> null)));
+        Benchmarks.Latencies bulk = Benchmarks.time(1, 5, i ->
+                assertEquals(SEASON, dinnerApplicationService.createDinners(season).size()));
+
+        assertEquals(before + 12L * SEASON, dinnerJpaRepository.count());
+        log.info("{} dinners: {} single creations {}; one bulk creation {}; {} dinners/s against {}",
+                SEASON, SEASON, single, bulk, Math.round(SEASON / (bulk.meanMillis() / 1000)),
+                Math.round(SEASON / (single.meanMillis() / 1000)));
+        assertTrue(bulk.meanMillis() < single.meanMillis(), "single " + single + ", bulk " + bulk);
+    }
+
+    private List<DinnerRequest> season() {
+        List<DinnerRequest> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < SEASON; i++) {
+            requests.add(new DinnerRequest(HOST_ID, menuId, "Dinner " + i, "Description " + i, 35,
+                    start.plusHours(i), start.plusHours(i).plusHours(2),
+                    "1 Main St, Nantes, PDL, 44000, France", "French", 8));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,155 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.event.DinnersCreatedEvent;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.MenuServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the bulk dinner creation.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerBulkCreateIntegrationTest {
+
+    private static final long HOST_ID = 11L;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private MenuServiceClient menuServiceClient;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(HOST_ID);
+        menu.setName("Season menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        when(userServiceClient.isUserHost(anyLong())).thenReturn(true);
+        when(menuServiceClient.menuExists(anyLong())).thenReturn(true);
+    }
+
+    /**
+     * Test that a bulk create validates the host and menu once and batches the inserts
+     */
+    @Test
+    void testBulkCreateValidatesOnceAndBatchesInserts() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<DinnerResponse> created = dinnerApplicationService.createDinners(requests(120));
+
+        assertEquals(120, created.size());
+        assertEquals(120, new HashSet<>(created.stream().map(DinnerResponse::getId).toList()).size());
+        assertEquals(120, dinnerJpaRepository.count());
+        verify(userServiceClient, times(1)).isUserHost(HOST_ID);
+        verify(menuServiceClient, times(1)).menuExists(menuId);
+        // 3 insert batches of at most 50 rows and a few sequence calls, instead of 120 inserts
+        assertTrue(statistics.getPrepareStatementCount() < 10, "statements: " + statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test that the created events are published once, as a single batch, after the commit
+     */
+    @Test
+    void testCreatedEventsArePublishedAsOneBatch() {
+        dinnerApplicationService.createDinners(requests(30));
+
+        ArgumentCaptor<DinnersCreatedEvent> event = ArgumentCaptor.forClass(DinnersCreatedEvent.class);
+        verify(dinnerEventListner, times(1)).onDinnersCreated(event.capture());
+        assertEquals(30, event.getValue().dinners().size());
+        verify(dinnerEventListner, never()).onDinnerCreated(any());
+    }
+
+    /**
+     * Test that nothing is created when one dinner is invalid or the hosts differ
+     */
+    @Test
+    void testInvalidBulkCreatesNothing() {
+        List<DinnerRequest> withInvalidDinner = requests(5);
+        withInvalidDinner.get(3).setEndTime(withInvalidDinner.get(3).getStartTime().minusHours(1));
+        IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class,
+                () -> dinnerApplicationService.createDinners(withInvalidDinner));
+        assertTrue(invalid.getMessage().contains("Dinner 3"));
+
+        List<DinnerRequest> mixedHosts = requests(5);
+        mixedHosts.get(1).setHostId(HOST_ID + 1);
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.createDinners(mixedHosts));
+
+        assertEquals(0, dinnerJpaRepository.count());
+        verify(dinnerEventListner, never()).onDinnersCreated(any());
+    }
+
+    private List<DinnerRequest> requests(int count) {
+        List<DinnerRequest> requests = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < count; i++) {
+            requests.add(new DinnerRequest(HOST_ID, menuId, "Dinner " + i, "Description " + i, 35,
+                    start.plusDays(i), start.plusDays(i).plusHours(2),
+                    "1 Main St, Nantes, PDL, 44000, France", "French", 8));
+        }
+        return requests;
+    }
+}
@@ -0,0 +1,155 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.geo.DinnerGeoIndex;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of starting, completing and cancelling all the dinners of a menu of 10k dinners, with
+ * the set-based transitions and with the former load, mutate and save of each dinner.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dinner-bulk-transition-benchmark-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerBulkTransitionBenchmarkTest {
+
+    private static final int DINNERS_IN_MENU = 10_000;
+    // One seeded dinner in seven is cancelled and never moves
+    private static final int MOVED = DINNERS_IN_MENU - DINNERS_IN_MENU / 7;
+    private static final int WARM_UP = 1;
+    private static final int ROUNDS = 5;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerRepository dinnerRepository;
+
+    @Autowired
+    private DinnerGeoIndex dinnerGeoIndex;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeAll
+    void seed() {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(1L);
+        menu.setName("Season");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+        // Every dinner has started by now
+        Benchmarks.seedDinners(jdbcTemplate, menuId, DINNERS_IN_MENU, LocalDateTime.now().minusYears(2).withNano(0));
+    }
+
+    /**
+     * Test that the set-based transitions of a 10k-dinner menu are faster than moving its dinners
+     * one by one, and reports both
+     */
+    @Test
+    void testSetBasedTransitionsAreFasterThanOneByOne() {
+        Benchmarks.Latencies start = time(DinnerStatus.UPCOMING,
+                () -> dinnerApplicationService.startAllDinnersInMenu(menuId));
+        Benchmarks.Latencies startOneByOne = time(DinnerStatus.UPCOMING,
+                () -> oneByOne(DinnerStatus.UPCOMING, dinner -> LocalDateTime.now().isAfter(dinner.getStartTime())
+                        && dinner.start()));
+        Benchmarks.Latencies complete = time(DinnerStatus.IN_PROGRESS,
+                () -> dinnerApplicationService.completeAllDinnersInMenu(menuId));
+        Benchmarks.Latencies completeOneByOne = time(DinnerStatus.IN_PROGRESS,
+                () -> oneByOne(DinnerStatus.IN_PROGRESS, Dinner::complete));
+        Benchmarks.Latencies cancel = time(DinnerStatus.UPCOMING,
+                () -> dinnerApplicationService.cancelAllDinnersInMenu(menuId));
+        Benchmarks.Latencies cancelOneByOne = time(DinnerStatus.UPCOMING,
+                () -> oneByOne(DinnerStatus.UPCOMING, Dinner::cancel));
+
+        log.info("Start {} of {} dinners: set-based {}; one by one {}", MOVED, DINNERS_IN_MENU, start, startOneByOne);
+        log.info("Complete {} of {} dinners: set-based {}; one by one {}", MOVED, DINNERS_IN_MENU, complete, completeOneByOne);
+        log.info("Cancel {} of {} dinners: set-based {}; one by one {}", MOVED, DINNERS_IN_MENU, cancel, cancelOneByOne);
+        assertTrue(start.meanMillis() < startOneByOne.meanMillis());
+        assertTrue(complete.meanMillis() < completeOneByOne.meanMillis());
+        assertTrue(cancel.meanMillis() < cancelOneByOne.meanMillis());
+    }
+
+    /**
+     * Times a transition of the menu, each run starting with its moving dinners in the given status.
+     */
+    private Benchmarks.Latencies time(DinnerStatus from, IntSupplier transition) {
+        long[] nanos = new long[ROUNDS];
+        for (int i = -WARM_UP; i < ROUNDS; i++) {
+            jdbcTemplate.update("UPDATE dinners SET status = CASE MOD(id, 7) WHEN 0 THEN 'CANCELLED' ELSE ? END",
+                    from.name());
+            long started = System.nanoTime();
+            assertEquals(MOVED, transition.getAsInt());
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - started;
+            }
+        }
+        Arrays.sort(nanos);
+        return new Benchmarks.Latencies(nanos);
+    }
+
+    /**
+     * Moves the dinners of the menu the way the transitions did before they were set-based: each
+     * dinner in the given status is loaded, moved, saved and reindexed.
+     */
+    private int oneByOne(DinnerStatus from, Predicate<Dinner> move) {
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            List<Dinner> moved = dinnerRepository.findByMenuIdAndStatus(menuId, from).stream()
+                    .filter(move)
+                    .toList();
+            for (Dinner dinner : dinnerRepository.saveAll(moved)) {
+                dinnerGeoIndex.index(dinner.getId(), dinner.getLocation(), dinner.getStartTime(), dinner.getStatus());
+            }
+            return moved.size();
+        });
+    }
+}
@@ -0,0 +1,222 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersStartedEvent;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the set-based start, complete and cancel of all the dinners of a menu or host.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerBulkTransitionIntegrationTest {
+
+    private static final long HOST_ID = 13L;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+    private Long otherMenuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        menuId = saveMenu(HOST_ID);
+        otherMenuId = saveMenu(HOST_ID + 1);
+    }
+
+    /**
+     * Test that starting a menu starts only its startable dinners whose start time has come,
+     * and announces them in one event
+     */
+    @Test
+    void testStartAllInMenuStartsOnlyDueDinners() {
+        LocalDateTime now = LocalDateTime.now();
+        Long upcoming = saveDinner(menuId, HOST_ID, now.minusMinutes(5), DinnerStatus.UPCOMING).getId();
+        Long rescheduled = saveDinner(menuId, HOST_ID, now.minusMinutes(1), DinnerStatus.RESCHEDULED).getId();
+        Long later = saveDinner(menuId, HOST_ID, now.plusHours(1), DinnerStatus.UPCOMING).getId();
+        Long completed = saveDinner(menuId, HOST_ID, now.minusHours(5), DinnerStatus.COMPLETED).getId();
+        Long otherMenu = saveDinner(otherMenuId, HOST_ID + 1, now.minusMinutes(5), DinnerStatus.UPCOMING).getId();
+
+        assertEquals(2, dinnerApplicationService.startAllDinnersInMenu(menuId));
+
+        assertEquals(DinnerStatus.IN_PROGRESS, status(upcoming));
+        assertEquals(DinnerStatus.IN_PROGRESS, status(rescheduled));
+        assertEquals(DinnerStatus.UPCOMING, status(later));
+        assertEquals(DinnerStatus.COMPLETED, status(completed));
+        assertEquals(DinnerStatus.UPCOMING, status(otherMenu));
+        ArgumentCaptor<DinnersStartedEvent> event = ArgumentCaptor.forClass(DinnersStartedEvent.class);
+        verify(dinnerEventListner, timeout(5000)).onDinnersStarted(event.capture());
+        assertEquals(Set.of(upcoming, rescheduled), Set.copyOf(event.getValue().dinners().stream()
+                .map(DinnerStartedEvent::dinner).map(dinner -> dinner.getId()).toList()));
+        assertEquals("IN_PROGRESS", event.getValue().dinners().get(0).dinner().getStatus());
+        // The guests are fetched by the outbox relay
+        assertNull(event.getValue().dinners().get(0).id_guess());
+    }
+
+    /**
+     * Test that cancelling the dinners of a host bumps their versions and announces them in one event
+     */
+    @Test
+    void testCancelAllOfHostBumpsVersionsAndAnnouncesDinners() {
+        LocalDateTime now = LocalDateTime.now();
+        DinnerEntity upcoming = saveDinner(menuId, HOST_ID, now.plusDays(1), DinnerStatus.UPCOMING);
+        Long inProgress = saveDinner(menuId, HOST_ID, now.minusHours(1), DinnerStatus.IN_PROGRESS).getId();
+        Long otherHost = saveDinner(otherMenuId, HOST_ID + 1, now.plusDays(1), DinnerStatus.UPCOMING).getId();
+        String eTag = dinnerApplicationService.getDinnerETag(upcoming.getId());
+        dinnerApplicationService.getDinnerById(upcoming.getId());
+
+        assertEquals(1, dinnerApplicationService.cancelAllDinnersOfHost(HOST_ID));
+
+        assertEquals(DinnerStatus.CANCELLED, status(upcoming.getId()));
+        assertEquals("CANCELLED", dinnerApplicationService.getDinnerById(upcoming.getId()).getStatus());
+        assertNotEquals(eTag, dinnerApplicationService.getDinnerETag(upcoming.getId()));
+        assertEquals(DinnerStatus.IN_PROGRESS, status(inProgress));
+        assertEquals(DinnerStatus.UPCOMING, status(otherHost));
+        ArgumentCaptor<DinnersCancelledEvent> event = ArgumentCaptor.forClass(DinnersCancelledEvent.class);
+        verify(dinnerEventListner).onDinnersCancelled(event.capture());
+        assertEquals(List.of(new DinnerCancelledEvent(upcoming.getId())), event.getValue().dinners());
+    }
+
+    /**
+     * Test that a bulk transition is rolled back when its events cannot be stored in the outbox
+     */
+    @Test
+    void testTransitionIsRolledBackWithItsEvents() {
+        Long upcoming = saveDinner(menuId, HOST_ID, LocalDateTime.now().plusDays(1), DinnerStatus.UPCOMING).getId();
+        doThrow(new IllegalStateException("Outbox unavailable")).when(dinnerEventListner).onDinnersCancelled(any());
+
+        assertThrows(IllegalStateException.class, () -> dinnerApplicationService.cancelAllDinnersInMenu(menuId));
+
+        assertEquals(DinnerStatus.UPCOMING, status(upcoming));
+    }
+
+    /**
+     * Test that completing a menu issues the same number of statements for 5 and 200 dinners
+     */
+    @Test
+    void testCompleteAllInMenuIssuesConstantNumberOfStatements() {
+        long small = countStatementsToComplete(5);
+        long large = countStatementsToComplete(200);
+
+        assertEquals(small, large);
+        verify(dinnerEventListner, times(2)).onDinnersCompleted(any());
+    }
+
+    /**
+     * Test that nothing is announced when no dinner can be moved
+     */
+    @Test
+    void testNothingIsAnnouncedWhenNoDinnerMoves() {
+        saveDinner(menuId, HOST_ID, LocalDateTime.now().plusDays(1), DinnerStatus.UPCOMING);
+
+        assertEquals(0, dinnerApplicationService.completeAllDinnersInMenu(menuId));
+        assertEquals(0, dinnerApplicationService.startAllDinnersOfHost(HOST_ID));
+
+        verifyNoInteractions(dinnerEventListner);
+    }
+
+    private long countStatementsToComplete(int dinnerCount) {
+        dinnerJpaRepository.deleteAll();
+        List<DinnerEntity> dinners = new ArrayList<>();
+        for (int i = 0; i < dinnerCount; i++) {
+            dinners.add(newDinner(menuId, HOST_ID, LocalDateTime.now().minusHours(1), DinnerStatus.IN_PROGRESS));
+        }
+        dinnerJpaRepository.saveAll(dinners);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        assertEquals(dinnerCount, dinnerApplicationService.completeAllDinnersInMenu(menuId));
+        long statements = statistics.getPrepareStatementCount();
+
+        dinnerJpaRepository.findAll().forEach(dinner -> assertEquals(DinnerStatus.COMPLETED, dinner.getStatus()));
+        return statements;
+    }
+
+    private DinnerStatus status(Long dinnerId) {
+        return dinnerJpaRepository.findById(dinnerId).orElseThrow().getStatus();
+    }
+
+    private Long saveMenu(long hostId) {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(hostId);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        return menuJpaRepository.save(menu).getId();
+    }
+
+    private DinnerEntity saveDinner(Long menuId, long hostId, LocalDateTime startTime, DinnerStatus status) {
+        return dinnerJpaRepository.save(newDinner(menuId, hostId, startTime, status));
+    }
+
+    private DinnerEntity newDinner(Long menuId, long hostId, LocalDateTime startTime, DinnerStatus status) {
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(hostId);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(startTime);
+        dinner.setEndTime(startTime.plusHours(2));
+        dinner.setAddress("1 Main St, Lille, HDF, 59000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(status);
+        return dinner;
+    }
+}
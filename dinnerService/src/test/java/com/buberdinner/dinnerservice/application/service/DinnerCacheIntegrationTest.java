@@ -0,0 +1,160 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.cache.DinnerCacheInvalidationListener;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the read-through dinner cache.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerCacheIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerCacheInvalidationListener dinnerCacheInvalidationListener;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(6L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that a cached dinner is served without any SQL statement
+     */
+    @Test
+    void testSecondLookupIsServedFromCache() {
+        Long dinnerId = saveDinner(DinnerStatus.UPCOMING).getId();
+        dinnerApplicationService.getDinnerById(dinnerId);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        dinnerApplicationService.getDinnerById(dinnerId);
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+    }
+
+    /**
+     * Test that completing a dinner drops its cached response
+     */
+    @Test
+    void testCompletingDinnerInvalidatesCache() {
+        Long dinnerId = saveDinner(DinnerStatus.IN_PROGRESS).getId();
+        assertEquals("IN_PROGRESS", dinnerApplicationService.getDinnerById(dinnerId).getStatus());
+
+        dinnerApplicationService.completeDinner(dinnerId);
+
+        assertEquals("COMPLETED", dinnerApplicationService.getDinnerById(dinnerId).getStatus());
+    }
+
+    /**
+     * Test that a change announced on Kafka by another instance drops the cached response
+     */
+    @Test
+    void testDinnerUpdatedMessageInvalidatesCache() {
+        DinnerEntity dinner = saveDinner(DinnerStatus.UPCOMING);
+        dinnerApplicationService.getDinnerById(dinner.getId());
+        dinner.setName("Renamed elsewhere");
+        dinnerJpaRepository.save(dinner);
+        assertEquals("Dinner", dinnerApplicationService.getDinnerById(dinner.getId()).getName());
+
+        dinnerCacheInvalidationListener.onDinnerChanged(
+                new ConsumerRecord<>("dinnerUpdated", 0, 0, String.valueOf(dinner.getId()), new byte[0]));
+
+        assertEquals("Renamed elsewhere", dinnerApplicationService.getDinnerById(dinner.getId()).getName());
+    }
+
+    /**
+     * Test that cache hits and misses are published as metrics
+     */
+    @Test
+    void testHitsAndMissesAreMeasured() {
+        Long dinnerId = saveDinner(DinnerStatus.UPCOMING).getId();
+        double hits = cacheGets("hit");
+        double misses = cacheGets("miss");
+
+        dinnerApplicationService.getDinnerById(dinnerId);
+        dinnerApplicationService.getDinnerById(dinnerId);
+
+        assertEquals(misses + 1, cacheGets("miss"));
+        assertEquals(hits + 1, cacheGets("hit"));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "dinners").tag("result", result)
+                .functionCounter().count();
+    }
+
+    private DinnerEntity saveDinner(DinnerStatus status) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(6L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Lyon, ARA, 69001, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(status);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,200 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the entity tags and optimistic versioning of dinners.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerConditionalRequestIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ReviewApplicationService reviewApplicationService;
+
+    @Autowired
+    private DinnerRepository dinnerRepository;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Keeps the update events away from Kafka, which is not running during the tests
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(10L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that the entity tag changes with the dinner and with its rating, and only then
+     */
+    @Test
+    void testETagFollowsDinnerAndRatingChanges() {
+        DinnerEntity dinner = saveDinner();
+        String initial = dinnerApplicationService.getDinnerETag(dinner.getId());
+        assertEquals(initial, dinnerApplicationService.getDinnerETag(dinner.getId()));
+
+        dinner.setName("Renamed");
+        dinnerJpaRepository.save(dinner);
+        String renamed = dinnerApplicationService.getDinnerETag(dinner.getId());
+        assertNotEquals(initial, renamed);
+
+        List<ReviewEntity> reviews = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            reviews.add(new ReviewEntity(null, dinner.getId(), 100L + i, "Great", 4, LocalDateTime.now(), null));
+        }
+        reviewJpaRepository.saveAll(reviews);
+        reviewApplicationService.rebuildRatingAggregates();
+        assertNotEquals(renamed, dinnerApplicationService.getDinnerETag(dinner.getId()));
+    }
+
+    /**
+     * Test that a client sending back the current entity tag gets 304 without a body
+     */
+    @Test
+    void testMatchingIfNoneMatchReturnsNotModified() throws Exception {
+        Long dinnerId = saveDinner().getId();
+        String eTag = "\"" + dinnerApplicationService.getDinnerETag(dinnerId) + "\"";
+
+        mockMvc.perform(get("/api/dinners/{id}", dinnerId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/api/dinners/{id}", dinnerId).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/dinners/{id}", dinnerId).header(HttpHeaders.IF_NONE_MATCH, "\"0-42\""))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Test that an update based on an outdated entity tag is rejected and leaves the dinner untouched
+     */
+    @Test
+    void testUpdateWithStaleETagIsRejected() {
+        DinnerEntity dinner = saveDinner();
+        String staleETag = dinnerApplicationService.getDinnerETag(dinner.getId());
+        dinner.setName("Changed by someone else");
+        dinnerJpaRepository.save(dinner);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> dinnerApplicationService.updateDinner(dinner.getId(), request("Mine"), staleETag));
+        assertEquals("Changed by someone else", dinnerJpaRepository.findById(dinner.getId()).orElseThrow().getName());
+
+        String currentETag = dinnerApplicationService.getDinnerETag(dinner.getId());
+        dinnerApplicationService.updateDinner(dinner.getId(), request("Mine"), currentETag);
+        assertEquals("Mine", dinnerJpaRepository.findById(dinner.getId()).orElseThrow().getName());
+    }
+
+    /**
+     * Test that saving a dinner loaded before a concurrent update fails instead of overwriting it
+     */
+    @Test
+    void testSavingOutdatedDinnerFails() {
+        DinnerEntity entity = saveDinner();
+        Dinner outdated = dinnerRepository.findById(entity.getId()).orElseThrow();
+        entity.setName("Concurrent update");
+        dinnerJpaRepository.save(entity);
+
+        outdated.setName("Lost update");
+        assertThrows(OptimisticLockingFailureException.class, () -> dinnerRepository.save(outdated));
+        assertEquals("Concurrent update", dinnerJpaRepository.findById(entity.getId()).orElseThrow().getName());
+    }
+
+    private DinnerRequest request(String name) {
+        DinnerRequest request = new DinnerRequest();
+        LocalDateTime start = LocalDateTime.now().plusDays(2).withNano(0);
+        request.setHostId(10L);
+        request.setMenuId(menuId);
+        request.setName(name);
+        request.setDescription("Description");
+        request.setPrice(30);
+        request.setStartTime(start);
+        request.setEndTime(start.plusHours(2));
+        request.setAddress("1 Main St, Lille, HDF, 59000, France");
+        request.setCuisineType("French");
+        request.setMaxGuestCount(8);
+        return request;
+    }
+
+    private DinnerEntity saveDinner() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(10L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Lille, HDF, 59000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,176 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.domain.event.DinnerUpdatedEvent;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerEventSerializer;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the versioned, field-level dinner update events.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false",
+        "dinner.events.snapshot-every=3"
+})
+class DinnerDeltaEventIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerEventSerializer dinnerEventSerializer;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @MockBean(name = "reservationRestTemplate")
+    private RestTemplate restTemplate;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(19L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that an update announces only the changed fields, with the new version of the dinner,
+     * in a fraction of the bytes of a snapshot
+     */
+    @Test
+    void testUpdateAnnouncesOnlyChangedFields() {
+        DinnerEntity dinner = saveDinner();
+        DinnerRequest request = request(dinner);
+        request.setDescription("Now with dessert");
+
+        dinnerApplicationService.updateDinner(dinner.getId(), request, null);
+
+        DinnerUpdatedEvent event = capturedUpdates().get(0);
+        assertEquals(dinner.getId(), event.dinnerId());
+        assertEquals(dinnerJpaRepository.findById(dinner.getId()).orElseThrow().getVersion(), event.version());
+        assertFalse(event.snapshot());
+        assertEquals(List.of("description"), event.changedFields());
+        assertEquals("Now with dessert", event.dinner().getDescription());
+        int delta = dinnerEventSerializer.serialize("dinnerUpdated", event).length;
+        int snapshot = dinnerEventSerializer.serialize("dinnerUpdated",
+                DinnerUpdatedEvent.snapshot(event.dinner(), event.version())).length;
+        assertTrue(delta * 2 < snapshot, "delta " + delta + " bytes, snapshot " + snapshot + " bytes");
+    }
+
+    /**
+     * Test that an update changing nothing announces nothing
+     */
+    @Test
+    void testUnchangedUpdateIsNotAnnounced() {
+        DinnerEntity dinner = saveDinner();
+
+        dinnerApplicationService.updateDinner(dinner.getId(), request(dinner), null);
+
+        verify(dinnerEventListner, never()).onDinnerUpdated(any());
+    }
+
+    /**
+     * Test that every update reaching a multiple of snapshot-every is sent as a snapshot, and that
+     * a snapshot can be requested at the current version
+     */
+    @Test
+    void testSnapshotsArePeriodicAndOnDemand() {
+        DinnerEntity dinner = saveDinner();
+        DinnerRequest request = request(dinner);
+        for (int i = 1; i <= 3; i++) {
+            request.setPrice(30 + i);
+            dinnerApplicationService.updateDinner(dinner.getId(), request, null);
+        }
+        dinnerApplicationService.publishDinnerSnapshot(dinner.getId());
+
+        List<DinnerUpdatedEvent> events = capturedUpdates();
+        assertEquals(List.of(1L, 2L, 3L, 3L), events.stream().map(DinnerUpdatedEvent::version).toList());
+        assertEquals(List.of(false, false, true, true), events.stream().map(DinnerUpdatedEvent::snapshot).toList());
+        assertEquals(List.of("price"), events.get(0).changedFields());
+        assertEquals(DinnerUpdatedEvent.FIELDS, events.get(2).changedFields());
+        assertEquals(33, events.get(3).dinner().getPrice());
+    }
+
+    private List<DinnerUpdatedEvent> capturedUpdates() {
+        ArgumentCaptor<DinnerUpdatedEvent> events = ArgumentCaptor.forClass(DinnerUpdatedEvent.class);
+        verify(dinnerEventListner, atLeastOnce()).onDinnerUpdated(events.capture());
+        return events.getAllValues();
+    }
+
+    private DinnerRequest request(DinnerEntity dinner) {
+        DinnerRequest request = new DinnerRequest();
+        request.setHostId(dinner.getHostId());
+        request.setMenuId(dinner.getMenuId());
+        request.setName(dinner.getName());
+        request.setDescription(dinner.getDescription());
+        request.setPrice(dinner.getPrice());
+        request.setStartTime(dinner.getStartTime());
+        request.setEndTime(dinner.getEndTime());
+        request.setAddress(dinner.getAddress());
+        request.setCuisineType(dinner.getCuisineType());
+        request.setMaxGuestCount(dinner.getMaxGuestCount());
+        return request;
+    }
+
+    private DinnerEntity saveDinner() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(19L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Nantes, PDL, 44000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,178 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integration tests for the streaming dinner export.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerExportIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ReviewApplicationService reviewApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(9L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that the export visits every dinner once, in ID order, across several batches
+     */
+    @Test
+    void testExportVisitsEveryDinnerInIdOrder() {
+        saveDinners(1203);
+
+        List<DinnerResponse> exported = new ArrayList<>();
+        dinnerApplicationService.exportDinners(null, exported::add);
+
+        assertEquals(1203, exported.size());
+        for (int i = 1; i < exported.size(); i++) {
+            assertTrue(exported.get(i - 1).getId() < exported.get(i).getId());
+        }
+    }
+
+    /**
+     * Test that the export is gzipped only when gzip is accepted with a non-zero quality
+     */
+    @Test
+    void testExportIsGzippedOnlyWhenAccepted() throws Exception {
+        for (String accepted : List.of("gzip", "deflate, gzip;q=0.5", "GZIP", "*", "br, *;q=0.1")) {
+            assertEquals("gzip", exportContentEncoding(accepted), accepted);
+        }
+        for (String refused : List.of("identity", "gzip;q=0", "gzip; q=0.0, deflate", "*, gzip;q=0", "*;q=0", "gzip;q=x")) {
+            assertNull(exportContentEncoding(refused), refused);
+        }
+    }
+
+    private String exportContentEncoding(String acceptEncoding) throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/dinners/export").header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding))
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started)).andReturn().getResponse().getHeader(HttpHeaders.CONTENT_ENCODING);
+    }
+
+    /**
+     * Test that exported dinners carry their status and rating
+     */
+    @Test
+    void testExportedDinnersCarryStatusAndRating() {
+        DinnerEntity dinner = saveDinners(1).get(0);
+        dinner.setStatus(DinnerStatus.COMPLETED);
+        dinnerJpaRepository.save(dinner);
+        List<ReviewEntity> reviews = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            reviews.add(new ReviewEntity(null, dinner.getId(), 100L + i, "Great", 3, LocalDateTime.now(), null));
+        }
+        reviewJpaRepository.saveAll(reviews);
+        reviewApplicationService.rebuildRatingAggregates();
+
+        List<DinnerResponse> exported = new ArrayList<>();
+        dinnerApplicationService.exportDinners(null, exported::add);
+
+        assertEquals(1, exported.size());
+        assertEquals("COMPLETED", exported.get(0).getStatus());
+        assertEquals(3, exported.get(0).getRating());
+    }
+
+    /**
+     * Test that an incremental export only returns the dinners changed since the given time
+     */
+    @Test
+    void testIncrementalExportReturnsDinnersChangedSince() throws InterruptedException {
+        List<DinnerEntity> dinners = saveDinners(3);
+        Thread.sleep(20);
+        LocalDateTime since = LocalDateTime.now();
+        Thread.sleep(20);
+        DinnerEntity changed = dinners.get(1);
+        changed.setName("Renamed");
+        dinnerJpaRepository.save(changed);
+        Long added = saveDinners(1).get(0).getId();
+
+        List<DinnerResponse> exported = new ArrayList<>();
+        dinnerApplicationService.exportDinners(since, exported::add);
+
+        assertEquals(List.of(changed.getId(), added), exported.stream().map(DinnerResponse::getId).toList());
+        assertEquals("Renamed", exported.get(0).getName());
+    }
+
+    private List<DinnerEntity> saveDinners(int count) {
+        List<DinnerEntity> dinners = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < count; i++) {
+            DinnerEntity dinner = new DinnerEntity();
+            dinner.setHostId(9L);
+            dinner.setMenuId(menuId);
+            dinner.setName("Dinner " + i);
+            dinner.setDescription("Description " + i);
+            dinner.setPrice(30);
+            dinner.setStartTime(start.plusHours(i));
+            dinner.setEndTime(start.plusHours(i + 2));
+            dinner.setAddress("1 Main St, Bordeaux, NA, 33000, France");
+            dinner.setCuisineType("French");
+            dinner.setMaxGuestCount(8);
+            dinner.setStatus(DinnerStatus.UPCOMING);
+            dinners.add(dinner);
+        }
+        return dinnerJpaRepository.saveAll(dinners);
+    }
+}
@@ -0,0 +1,108 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.geo.DinnerGeoIndex;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the "dinners near me" search over a million dinners spread over mainland France.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dinner-geo-benchmark-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerGeoSearchBenchmarkTest {
+
+    private static final int LIMIT = 20;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerGeoIndex dinnerGeoIndex;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(1L);
+        menu.setName("Season");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        Benchmarks.seedDinners(jdbcTemplate, menuJpaRepository.save(menu).getId(), Benchmarks.DINNERS,
+                LocalDateTime.now().withNano(0));
+        long started = System.nanoTime();
+        dinnerGeoIndex.rebuild();
+        log.info("Indexed {} dinners in {} ms", dinnerGeoIndex.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Test that a radius query on the index stays under 10 ms at the 99th percentile, and reports
+     * it with and without loading the dinners found
+     */
+    @Test
+    void testRadiusSearch() {
+        for (double radiusKm : new double[]{5, 25}) {
+            Benchmarks.Latencies index = Benchmarks.time(1000, 5000, i ->
+                    dinnerGeoIndex.findUpcomingWithin(center(i), radiusKm, LIMIT, LocalDateTime.now()));
+            Benchmarks.Latencies search = Benchmarks.time(200, 1000, i -> assertFalse(
+                    dinnerApplicationService.findDinnersNearby(center(i).getLatitude(), center(i).getLongitude(),
+                            radiusKm, LIMIT).isEmpty()));
+            log.info("{} km radius over {} dinners, {} nearest: index {}; with the dinners loaded {}",
+                    radiusKm, dinnerGeoIndex.size(), LIMIT, index, search);
+            assertTrue(index.percentileMillis(99) < 10, index.toString());
+        }
+    }
+
+    /**
+     * Test that a box query on the index stays under 10 ms at the 99th percentile, and reports it
+     */
+    @Test
+    void testBoxSearch() {
+        Benchmarks.Latencies index = Benchmarks.time(1000, 5000, i -> {
+            GeoPoint center = center(i);
+            dinnerGeoIndex.findUpcomingInBox(center.getLatitude() - 0.2, center.getLongitude() - 0.3,
+                    center.getLatitude() + 0.2, center.getLongitude() + 0.3, LIMIT, LocalDateTime.now());
+        });
+        log.info("0.4 x 0.6 degree box over {} dinners, {} nearest: index {}", dinnerGeoIndex.size(), LIMIT, index);
+        assertTrue(index.percentileMillis(99) < 10, index.toString());
+    }
+
+    /**
+     * Gets a query point inside the seeded area, away from its edges.
+     */
+    private static GeoPoint center(int i) {
+        return GeoPoint.of(43.0 + (i * 37 % 700) / 100.0, -3.5 + (i * 53 % 1050) / 100.0);
+    }
+}
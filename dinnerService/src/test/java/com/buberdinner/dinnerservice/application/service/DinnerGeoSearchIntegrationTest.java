@@ -0,0 +1,148 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.NearbyDinnerResponse;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.geo.DinnerGeoIndex;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the "dinners near me" search.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerGeoSearchIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerGeoIndex dinnerGeoIndex;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    private Long menuId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(5L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Moroccan");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    /**
+     * Test that only upcoming dinners inside the radius are returned, nearest first
+     */
+    @Test
+    void testNearbyReturnsUpcomingDinnersInsideRadiusNearestFirst() {
+        Long near = saveDinner(33.5750, -7.5900, start, DinnerStatus.UPCOMING).getId();
+        Long nearer = saveDinner(33.5732, -7.5899, start, DinnerStatus.UPCOMING).getId();
+        Long farther = saveDinner(33.6200, -7.5000, start, DinnerStatus.RESCHEDULED).getId();
+        saveDinner(34.0209, -6.8416, start, DinnerStatus.UPCOMING);
+        saveDinner(33.5740, -7.5890, start, DinnerStatus.COMPLETED);
+        saveDinner(33.5740, -7.5890, LocalDateTime.now().minusDays(1), DinnerStatus.UPCOMING);
+        dinnerGeoIndex.rebuild();
+
+        List<NearbyDinnerResponse> dinners = dinnerApplicationService.findDinnersNearby(33.5731, -7.5898, 15, 20);
+
+        assertEquals(List.of(nearer, near, farther), dinners.stream().map(d -> d.getDinner().getId()).toList());
+        assertTrue(dinners.get(0).getDistanceKm() < dinners.get(1).getDistanceKm());
+        assertTrue(dinners.get(2).getDistanceKm() <= 15);
+    }
+
+    /**
+     * Test that the limit keeps the nearest dinners
+     */
+    @Test
+    void testNearbyLimitKeepsNearestDinners() {
+        for (int i = 0; i < 10; i++) {
+            saveDinner(48.8566 + i * 0.01, 2.3522, start, DinnerStatus.UPCOMING);
+        }
+        dinnerGeoIndex.rebuild();
+
+        List<NearbyDinnerResponse> dinners = dinnerApplicationService.findDinnersNearby(48.8566, 2.3522, 50, 3);
+
+        assertEquals(3, dinners.size());
+        assertTrue(dinners.get(2).getDistanceKm() < 2.5);
+    }
+
+    /**
+     * Test that a bounding box search returns only the dinners inside the box
+     */
+    @Test
+    void testWithinReturnsDinnersInsideBox() {
+        Long inside = saveDinner(41.9028, 12.4964, start, DinnerStatus.UPCOMING).getId();
+        saveDinner(45.7640, 4.8357, start, DinnerStatus.UPCOMING);
+        dinnerGeoIndex.rebuild();
+
+        List<NearbyDinnerResponse> dinners = dinnerApplicationService.findDinnersInBox(41, 12, 42.5, 13, 20);
+
+        assertEquals(1, dinners.size());
+        assertEquals(inside, dinners.get(0).getDinner().getId());
+    }
+
+    /**
+     * Test that invalid coordinates and radiuses are rejected
+     */
+    @Test
+    void testInvalidQueriesAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.findDinnersNearby(91, 0, 10, 20));
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.findDinnersNearby(0, 0, 0, 20));
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.findDinnersInBox(10, 0, 5, 1, 20));
+    }
+
+    private DinnerEntity saveDinner(double latitude, double longitude, LocalDateTime startTime, DinnerStatus status) {
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(5L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(25);
+        dinner.setStartTime(startTime);
+        dinner.setEndTime(startTime.plusHours(2));
+        dinner.setAddress("1 Main St, Casablanca, CS, 20000, Morocco");
+        dinner.setLatitude(latitude);
+        dinner.setLongitude(longitude);
+        dinner.setCuisineType("Moroccan");
+        dinner.setMaxGuestCount(6);
+        dinner.setStatus(status);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,230 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageService;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageStore;
+import com.buberdinner.dinnerservice.infrastructure.client.MenuServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for storing dinner images under the hash of their content.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerImageIngestIntegrationTest {
+
+    private static final long HOST_ID = 23L;
+    private static final Path IMAGE_DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void imageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("dinner.images.directory", IMAGE_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private MenuServiceClient menuServiceClient;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(HOST_ID);
+        menu.setName("Photo menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        when(userServiceClient.isUserHost(anyLong())).thenReturn(true);
+        when(menuServiceClient.menuExists(anyLong())).thenReturn(true);
+    }
+
+    /**
+     * Test that an image is stored under the SHA-256 of its content, and that the same image
+     * uploaded for another dinner is stored once
+     */
+    @Test
+    void testSameImageIsStoredOnce() throws Exception {
+        byte[] png = png(1);
+        String expectedName = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png)) + ".png";
+
+        DinnerResponse first = createDinner(request("First"), png, "photo.png");
+        DinnerResponse second = createDinner(request("Second"), png, "same-photo.png");
+
+        assertEquals("/images/" + expectedName, first.getImageUrl());
+        assertEquals(first.getImageUrl(), second.getImageUrl());
+        assertArrayEquals(png, Files.readAllBytes(IMAGE_DIRECTORY.resolve(ImageStore.relativePath(expectedName))));
+        assertEquals(1, files().stream().filter(expectedName::equals).count());
+        assertTrue(files().stream().noneMatch(name -> name.startsWith(".")), "temporary files: " + files());
+    }
+
+    /**
+     * Test that an invalid dinner is rejected before its image is written
+     */
+    @Test
+    void testInvalidDinnerWritesNoImage() throws IOException {
+        List<String> before = files();
+        DinnerRequest invalid = request("Invalid");
+        invalid.setEndTime(invalid.getStartTime().minusHours(1));
+
+        assertThrows(IllegalArgumentException.class, () -> createDinner(invalid, png(2), "photo.png"));
+
+        when(userServiceClient.isUserHost(anyLong())).thenReturn(false);
+        assertThrows(IllegalArgumentException.class, () -> createDinner(request("No host"), png(3), "photo.png"));
+
+        assertEquals(before, files());
+        assertEquals(0, dinnerJpaRepository.count());
+    }
+
+    /**
+     * Test that a file which is not an image is rejected without being written
+     */
+    @Test
+    void testNonImageIsRejected() throws IOException {
+        List<String> before = files();
+
+        assertThrows(IllegalArgumentException.class, () -> createDinner(request("Script"),
+                "#!/bin/sh\necho not an image\n".getBytes(), "photo.png"));
+
+        assertEquals(before, files());
+        assertEquals(0, dinnerJpaRepository.count());
+    }
+
+    /**
+     * Test that the image of a dinner is only stored once the dinner is committed, and that a
+     * dinner rolled back leaves no image behind
+     */
+    @Test
+    void testImageIsStoredOnlyAfterCommit() throws Exception {
+        byte[] png = png(4);
+        String name = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(png)) + ".png";
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        transaction.executeWithoutResult(status -> {
+            createDinner(request("Rolled back"), png, "photo.png");
+            assertFalse(files().contains(name));
+            status.setRollbackOnly();
+        });
+
+        assertFalse(files().contains(name));
+        assertTrue(files().stream().noneMatch(file -> file.startsWith(".upload-")));
+        assertEquals(0, dinnerJpaRepository.count());
+
+        transaction.executeWithoutResult(status -> {
+            createDinner(request("Committed"), png, "photo.png");
+            assertFalse(files().contains(name));
+        });
+
+        assertTrue(files().contains(name));
+        assertEquals(1, dinnerJpaRepository.count());
+    }
+
+    private DinnerResponse createDinner(DinnerRequest request, byte[] image, String filename) {
+        MockMultipartFile file = new MockMultipartFile("image", filename, "image/png", image);
+        return dinnerApplicationService.createDinner(request, () -> imageService.storeImage(file));
+    }
+
+    private DinnerRequest request(String name) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        return new DinnerRequest(HOST_ID, menuId, name, "Description", 35, start, start.plusHours(2),
+                "1 Main St, Nantes, PDL, 44000, France", "French", 8);
+    }
+
+    /** The PNG signature followed by some content that differs with the seed */
+    private static byte[] png(int seed) {
+        byte[] png = new byte[4096];
+        byte[] signature = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A};
+        System.arraycopy(signature, 0, png, 0, signature.length);
+        for (int i = signature.length; i < png.length; i++) {
+            png[i] = (byte) (i * seed);
+        }
+        return png;
+    }
+
+    private static List<String> files() {
+        try (Stream<Path> files = Files.walk(IMAGE_DIRECTORY)) {
+            return files.filter(Files::isRegularFile)
+                    .map(file -> file.getFileName().toString())
+                    .filter(name -> !name.startsWith(ImageStore.MANIFEST_FILE))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("dinner-images");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the caching and range headers of the image endpoint.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false",
+        // Keeps the original served in place of the variants
+        "dinner.images.variants.workers=1",
+        "dinner.images.variants.queue-capacity=1"
+})
+class DinnerImageServingIntegrationTest {
+
+    private static final Path IMAGE_DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void imageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("dinner.images.directory", IMAGE_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private byte[] image;
+    private String name;
+    private String eTag;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        image = new byte[10_000];
+        byte[] signature = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF};
+        System.arraycopy(signature, 0, image, 0, signature.length);
+        for (int i = signature.length; i < image.length; i++) {
+            image[i] = (byte) (i % 251);
+        }
+        String url = imageService.storeImage(new ByteArrayInputStream(image));
+        name = url.substring(url.lastIndexOf('/') + 1);
+        eTag = "\"" + name + "\"";
+    }
+
+    /**
+     * Test that an image is served with its length, a strong entity tag and an immutable cache
+     * lifetime, and that a known entity tag gets a 304
+     */
+    @Test
+    void testImageIsServedAsImmutable() throws Exception {
+        mockMvc.perform(get("/images/" + name))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(image))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, image.length))
+                .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"));
+
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+        mockMvc.perform(get("/images/missing.jpg"))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test that byte ranges are served as partial content, and that unsatisfiable ranges get a 416
+     */
+    @Test
+    void testRangesAreServedAsPartialContent() throws Exception {
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/10000"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 100, 200)));
+
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=9900-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().bytes(Arrays.copyOfRange(image, 9900, 10_000)));
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=-10"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 9990-9999/10000"));
+
+        mockMvc.perform(get("/images/" + name).header(HttpHeaders.RANGE, "bytes=10000-"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */10000"));
+    }
+
+    /**
+     * Test that a range is ignored when the entity tag of If-Range is not the current one
+     */
+    @Test
+    void testRangeIsIgnoredForAnotherVersion() throws Exception {
+        mockMvc.perform(get("/images/" + name)
+                        .header(HttpHeaders.RANGE, "bytes=0-9")
+                        .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(image));
+    }
+
+    /**
+     * Test that the original served in place of a missing variant is not cached
+     */
+    @Test
+    void testVariantFallbackIsNotCached() throws Exception {
+        // Not a decodable JPEG, so it never gets variants
+        mockMvc.perform(get("/images/thumbnail/" + name))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(content().bytes(image));
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("dinner-images");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageStore;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageStoreMigration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the migration of an image directory to the directory tree of the
+ * ImageStore and its manifest.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false",
+        // The migration is run by the test
+        "dinner.images.migration.enabled=false"
+})
+class DinnerImageStoreMigrationIntegrationTest {
+
+    private static final String HASHED_NAME = "7f3a000000000000000000000000000000000000000000000000000000000001.png";
+    private static final String OLD_NAME = "Photo-3F2504E0-4F89-11D3-9A0C-0305E82C3301.jpg";
+    private static final byte[] HASHED_IMAGE = {(byte) 0x89, 'P', 'N', 'G', 0x0D, 0x0A, 0x1A, 0x0A, 1, 2, 3};
+    private static final byte[] OLD_IMAGE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, 4, 5};
+
+    /** A directory written before the directory tree, with an interrupted upload */
+    private static final Path IMAGE_DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void imageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("dinner.images.directory", IMAGE_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    /**
+     * Test that images left at the top level are served before the migration, and are moved into
+     * the directory tree and the manifest by it
+     */
+    @Test
+    void testTopLevelImagesAreMovedIntoTheTree() throws Exception {
+        assertFalse(Files.exists(IMAGE_DIRECTORY.resolve(".upload-1.tmp")));
+        mockMvc.perform(get("/images/" + OLD_NAME))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(OLD_IMAGE));
+
+        ImageStoreMigration.Result result = new ImageStoreMigration(imageStore).migrate();
+
+        assertEquals(new ImageStoreMigration.Result(2, 0), result);
+        assertEquals(2, imageStore.size());
+        for (String name : new String[]{HASHED_NAME, OLD_NAME}) {
+            assertFalse(Files.exists(IMAGE_DIRECTORY.resolve(name)), name);
+            Path moved = IMAGE_DIRECTORY.resolve(ImageStore.relativePath(name));
+            assertEquals(moved, imageStore.find(name).orElseThrow().path());
+        }
+        assertTrue(ImageStore.relativePath(HASHED_NAME).startsWith("7f/3a/"));
+
+        ImageStore.StoredFile hashed = imageStore.find(HASHED_NAME).orElseThrow();
+        assertEquals(HASHED_IMAGE.length, hashed.length());
+        assertEquals("image/png", hashed.contentType());
+        mockMvc.perform(get("/images/" + OLD_NAME))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(OLD_IMAGE));
+        mockMvc.perform(get("/images/" + ImageStore.MANIFEST_FILE))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test that a directory tree without a manifest is indexed again, and that the manifest
+     * outlives the store
+     */
+    @Test
+    void testTreeWithoutManifestIsIndexed() throws Exception {
+        Path directory = Files.createTempDirectory("dinner-images");
+        Path file = directory.resolve(ImageStore.relativePath(HASHED_NAME));
+        Files.createDirectories(file.getParent());
+        Files.write(file, HASHED_IMAGE);
+
+        ImageStore store = new ImageStore(directory);
+        try {
+            assertEquals(new ImageStoreMigration.Result(0, 1), new ImageStoreMigration(store).migrate());
+        } finally {
+            store.close();
+        }
+
+        ImageStore reopened = new ImageStore(directory);
+        try {
+            assertEquals(file, reopened.find(HASHED_NAME).orElseThrow().path());
+            assertEquals(new ImageStoreMigration.Result(0, 0), new ImageStoreMigration(reopened).migrate());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private static Path createDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("dinner-images");
+            Files.write(directory.resolve(HASHED_NAME), HASHED_IMAGE);
+            Files.write(directory.resolve(OLD_NAME), OLD_IMAGE);
+            Files.write(directory.resolve(".upload-1.tmp"), new byte[]{1});
+            return directory;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageService;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageStore;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageVariantPipeline;
+import com.buberdinner.dinnerservice.infrastructure.client.ImageVariantPipeline.Variant;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the resized variants of the dinner images.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerImageVariantIntegrationTest {
+
+    private static final Path IMAGE_DIRECTORY = createDirectory();
+
+    @DynamicPropertySource
+    static void imageDirectory(DynamicPropertyRegistry registry) {
+        registry.add("dinner.images.directory", IMAGE_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private ImageService imageService;
+
+    @Autowired
+    private ImageStore imageStore;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    /**
+     * Test that storing an image generates JPEG variants of each width, each smaller than the
+     * original, and that they are served under the variant path
+     */
+    @Test
+    void testStoredImageGetsResizedVariants() throws Exception {
+        byte[] original = png(2000, 1200, 1);
+        String name = store(original);
+
+        for (Variant variant : Variant.values()) {
+            Path file = awaitVariant(name, variant);
+            BufferedImage image = ImageIO.read(file.toFile());
+            assertEquals(variant.maxWidth(), image.getWidth());
+            assertEquals(variant.maxWidth() * 3 / 5, image.getHeight());
+            assertTrue(Files.size(file) < original.length, variant + ": " + Files.size(file) + " bytes");
+        }
+
+        mockMvc.perform(get("/images/thumbnail/" + name))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(Files.readAllBytes(
+                        IMAGE_DIRECTORY.resolve(ImageStore.relativePath(ImageVariantPipeline.variantName(name, Variant.THUMBNAIL))))));
+        mockMvc.perform(get("/images/" + name))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(original));
+    }
+
+    /**
+     * Test that the original is served until a variant is ready, and that asking for a missing
+     * variant generates it
+     */
+    @Test
+    void testOriginalIsServedUntilVariantIsReady() throws Exception {
+        byte[] original = png(800, 600, 2);
+        String name = "0000000000000000000000000000000000000000000000000000000000000002.png";
+        // Stored without going through the ImageService, so no variant is generated
+        Path temp = imageStore.createTempFile(".test-");
+        Files.write(temp, original);
+        imageStore.moveIntoPlace(temp, name);
+
+        mockMvc.perform(get("/images/card/" + name))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("image/png"))
+                .andExpect(content().bytes(original));
+
+        assertEquals(480, ImageIO.read(awaitVariant(name, Variant.CARD).toFile()).getWidth());
+        mockMvc.perform(get("/images/card/" + name))
+                .andExpect(content().contentType("image/jpeg"));
+        mockMvc.perform(get("/images/poster/" + name))
+                .andExpect(status().isNotFound());
+    }
+
+    /**
+     * Test that images smaller than a variant are not enlarged
+     */
+    @Test
+    void testSmallImagesAreNotEnlarged() throws Exception {
+        String name = store(png(300, 200, 3));
+
+        assertEquals(160, ImageIO.read(awaitVariant(name, Variant.THUMBNAIL).toFile()).getWidth());
+        assertEquals(300, ImageIO.read(awaitVariant(name, Variant.FULL).toFile()).getWidth());
+    }
+
+    private String store(byte[] image) throws IOException {
+        String url = imageService.storeImage(new ByteArrayInputStream(image));
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    private Path awaitVariant(String name, Variant variant) throws InterruptedException {
+        String variantName = ImageVariantPipeline.variantName(name, variant);
+        for (int i = 0; i < 200 && !imageStore.contains(variantName); i++) {
+            Thread.sleep(50);
+        }
+        assertTrue(imageStore.contains(variantName), "no " + variant + " variant of " + name);
+        Path file = IMAGE_DIRECTORY.resolve(ImageStore.relativePath(variantName));
+        assertTrue(Files.exists(file), "no file for " + variantName);
+        return file;
+    }
+
+    /** A noisy photo-like PNG, which compresses poorly */
+    private static byte[] png(int width, int height, long seed) throws IOException {
+        Random random = new Random(seed);
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, ((x * 255 / width) << 16) | ((y * 255 / height) << 8) | random.nextInt(64));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("dinner-images");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
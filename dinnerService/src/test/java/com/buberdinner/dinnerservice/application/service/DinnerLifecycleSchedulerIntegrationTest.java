@@ -0,0 +1,195 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.DinnersCompletedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersStartedEvent;
+import com.buberdinner.dinnerservice.domain.event.EventListner.DinnerEventListner;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.SchedulerLeaseJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.scheduling.DatabaseLeaderLease;
+import com.buberdinner.dinnerservice.infrastructure.scheduling.DinnerLifecycleScheduler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the scheduler starting and completing dinners on time.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=true",
+        "dinner.outbox.relay.enabled=false",
+        "dinner.lifecycle.poll-interval=PT1H",
+        "dinner.lifecycle.lookahead=PT1M"
+})
+class DinnerLifecycleSchedulerIntegrationTest {
+
+    @Autowired
+    private DinnerLifecycleScheduler dinnerLifecycleScheduler;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private SchedulerLeaseJpaRepository schedulerLeaseJpaRepository;
+
+    @MockBean
+    private DinnerEventListner dinnerEventListner;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(12L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that overdue dinners are started and completed, and announced in batches
+     */
+    @Test
+    void testOverdueDinnersAreStartedAndCompleted() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Long toStart = saveDinner(now.minusMinutes(5), now.plusHours(2), DinnerStatus.UPCOMING).getId();
+        Long rescheduled = saveDinner(now.minusMinutes(1), now.plusHours(2), DinnerStatus.RESCHEDULED).getId();
+        Long toComplete = saveDinner(now.minusHours(3), now.minusMinutes(1), DinnerStatus.IN_PROGRESS).getId();
+
+        dinnerLifecycleScheduler.poll();
+
+        awaitStatus(toStart, DinnerStatus.IN_PROGRESS, Duration.ofSeconds(5));
+        awaitStatus(rescheduled, DinnerStatus.IN_PROGRESS, Duration.ofSeconds(5));
+        awaitStatus(toComplete, DinnerStatus.COMPLETED, Duration.ofSeconds(5));
+
+        ArgumentCaptor<DinnersStartedEvent> started = ArgumentCaptor.forClass(DinnersStartedEvent.class);
+        verify(dinnerEventListner, timeout(5000).atLeastOnce()).onDinnersStarted(started.capture());
+        assertEquals(2, started.getAllValues().stream().mapToInt(event -> event.dinners().size()).sum());
+        // The guests are fetched by the outbox relay
+        assertNull(started.getValue().dinners().get(0).id_guess());
+        ArgumentCaptor<DinnersCompletedEvent> completed = ArgumentCaptor.forClass(DinnersCompletedEvent.class);
+        verify(dinnerEventListner, timeout(5000)).onDinnersCompleted(completed.capture());
+        assertEquals(toComplete, completed.getValue().dinners().get(0).dinnerId());
+    }
+
+    /**
+     * Test that a dinner due within the lookahead window starts when its start time comes, not before
+     */
+    @Test
+    void testDinnerStartsWhenDue() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusSeconds(2);
+        Long dinnerId = saveDinner(start, start.plusHours(2), DinnerStatus.UPCOMING).getId();
+
+        dinnerLifecycleScheduler.poll();
+
+        assertEquals(DinnerStatus.UPCOMING, dinnerJpaRepository.findById(dinnerId).orElseThrow().getStatus());
+        awaitStatus(dinnerId, DinnerStatus.IN_PROGRESS, Duration.ofSeconds(6));
+        assertFalse(LocalDateTime.now().isBefore(start));
+        verify(dinnerEventListner).onDinnersStarted(any());
+    }
+
+    /**
+     * Test that dinners beyond the lookahead window and completed dinners are left alone
+     */
+    @Test
+    void testDinnersNotDueAreLeftAlone() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        Long later = saveDinner(now.plusHours(1), now.plusHours(3), DinnerStatus.UPCOMING).getId();
+        Long completed = saveDinner(now.minusMinutes(5), now.plusHours(2), DinnerStatus.COMPLETED).getId();
+
+        dinnerLifecycleScheduler.poll();
+        Thread.sleep(500);
+
+        assertEquals(DinnerStatus.UPCOMING, dinnerJpaRepository.findById(later).orElseThrow().getStatus());
+        assertEquals(DinnerStatus.COMPLETED, dinnerJpaRepository.findById(completed).orElseThrow().getStatus());
+        verify(dinnerEventListner, never()).onDinnersStarted(any());
+    }
+
+    /**
+     * Test that due dinners are not completed when their events cannot be stored in the outbox
+     */
+    @Test
+    void testDueTransitionIsRolledBackWithItsEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Long dinnerId = saveDinner(now.minusHours(3), now.minusMinutes(1), DinnerStatus.IN_PROGRESS).getId();
+        doThrow(new IllegalStateException("Outbox unavailable")).when(dinnerEventListner).onDinnersCompleted(any());
+
+        assertThrows(IllegalStateException.class, () -> dinnerApplicationService.completeDueDinners(List.of(dinnerId)));
+
+        assertEquals(DinnerStatus.IN_PROGRESS, dinnerJpaRepository.findById(dinnerId).orElseThrow().getStatus());
+    }
+
+    /**
+     * Test that a lease is held by one instance at a time and can be renewed by its holder
+     */
+    @Test
+    void testLeaseIsExclusive() {
+        DatabaseLeaderLease first = new DatabaseLeaderLease(schedulerLeaseJpaRepository, "test-lease", Duration.ofMinutes(1));
+        DatabaseLeaderLease second = new DatabaseLeaderLease(schedulerLeaseJpaRepository, "test-lease", Duration.ofMinutes(1));
+
+        assertTrue(first.tryAcquire());
+        assertFalse(second.tryAcquire());
+        assertTrue(first.tryAcquire());
+        assertTrue(first.isHeld());
+        assertFalse(second.isHeld());
+    }
+
+    private void awaitStatus(Long dinnerId, DinnerStatus status, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (dinnerJpaRepository.findById(dinnerId).orElseThrow().getStatus() != status) {
+            assertTrue(System.currentTimeMillis() < deadline, "Dinner " + dinnerId + " never became " + status);
+            Thread.sleep(50);
+        }
+    }
+
+    private DinnerEntity saveDinner(LocalDateTime startTime, LocalDateTime endTime, DinnerStatus status) {
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(12L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(startTime);
+        dinner.setEndTime(endTime);
+        dinner.setAddress("1 Main St, Nantes, PDL, 44000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(status);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,235 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerPageResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests guarding the number of SQL statements issued by the dinner list endpoints.
+ * Ratings must be fetched with one grouped query, whatever the number of dinners returned.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerListQueryCountIntegrationTest {
+
+    private static final long HOST_ID = 7L;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ReviewApplicationService reviewApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(HOST_ID);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that listing all dinners issues the same number of statements for 2 and 20 dinners
+     */
+    @Test
+    void testGetAllDinnersIssuesConstantNumberOfStatements() {
+        long small = countStatementsWith(2, () -> dinnerApplicationService.getAllDinners(null, 50).getDinners());
+        long large = countStatementsWith(20, () -> dinnerApplicationService.getAllDinners(null, 50).getDinners());
+
+        assertEquals(small, large);
+        assertEquals(2, large);
+    }
+
+    /**
+     * Test that listing dinners by host issues the same number of statements for 2 and 20 dinners
+     */
+    @Test
+    void testGetDinnersByHostIdIssuesConstantNumberOfStatements() {
+        long small = countStatementsWith(2, () -> dinnerApplicationService.getDinnersByHostId(HOST_ID, null, 50).getDinners());
+        long large = countStatementsWith(20, () -> dinnerApplicationService.getDinnersByHostId(HOST_ID, null, 50).getDinners());
+
+        assertEquals(small, large);
+    }
+
+    /**
+     * Test that listing dinners by menu issues the same number of statements for 2 and 20 dinners
+     */
+    @Test
+    void testGetDinnersByMenuIdIssuesConstantNumberOfStatements() {
+        long small = countStatementsWith(2, () -> dinnerApplicationService.getDinnersByMenuId(menuId, null, 50).getDinners());
+        long large = countStatementsWith(20, () -> dinnerApplicationService.getDinnersByMenuId(menuId, null, 50).getDinners());
+
+        assertEquals(small, large);
+    }
+
+    /**
+     * Test that the bulk lookup keeps the rating rules of the single-dinner lookup
+     */
+    @Test
+    void testBulkRatingsMatchSingleDinnerRatings() {
+        List<DinnerEntity> dinners = saveDinners(2);
+        Long rated = dinners.get(0).getId();
+        Long barelyReviewed = dinners.get(1).getId();
+        saveReviews(rated, 10, 4);
+        saveReviews(barelyReviewed, 3, 5);
+        reviewApplicationService.rebuildRatingAggregates();
+
+        List<DinnerResponse> responses = dinnerApplicationService.getAllDinners(null, 50).getDinners();
+
+        DinnerResponse ratedResponse = responses.stream().filter(d -> d.getId().equals(rated)).findFirst().orElseThrow();
+        DinnerResponse barelyReviewedResponse = responses.stream().filter(d -> d.getId().equals(barelyReviewed)).findFirst().orElseThrow();
+        assertEquals(4, ratedResponse.getRating());
+        assertEquals(0, barelyReviewedResponse.getRating());
+        assertEquals(ratedResponse.getRating(), dinnerApplicationService.getDinnerById(rated).getRating());
+    }
+
+    /**
+     * Test that following the cursors visits every dinner once, in (start time, id) order,
+     * including dinners sharing the same start time
+     */
+    @Test
+    void testCursorPaginationWalksAllDinnersOnce() {
+        List<DinnerEntity> dinners = saveDinners(5);
+        dinners.addAll(saveDinners(2));
+
+        List<DinnerResponse> visited = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            DinnerPageResponse page = dinnerApplicationService.getDinnersByHostId(HOST_ID, cursor, 3);
+            assertTrue(page.getDinners().size() <= 3);
+            visited.addAll(page.getDinners());
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(3, pages);
+        assertEquals(7, visited.size());
+        Set<Long> ids = new HashSet<>();
+        visited.forEach(dinner -> assertTrue(ids.add(dinner.getId())));
+        for (int i = 1; i < visited.size(); i++) {
+            DinnerResponse previous = visited.get(i - 1);
+            DinnerResponse current = visited.get(i);
+            assertTrue(previous.getStartTime().isBefore(current.getStartTime())
+                    || (previous.getStartTime().equals(current.getStartTime()) && previous.getId() < current.getId()));
+        }
+    }
+
+    /**
+     * Test that reads project the stored columns without loading entities or domain objects
+     */
+    @Test
+    void testReadsProjectStoredColumnsWithoutLoadingEntities() {
+        DinnerEntity dinner = saveDinners(1).get(0);
+        // Not a valid domain address: the domain model would drop it
+        dinner.setAddress("Somewhere");
+        dinnerJpaRepository.save(dinner);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<DinnerResponse> responses = dinnerApplicationService.getDinnersByHostId(HOST_ID, null, 50).getDinners();
+
+        assertEquals(1, responses.size());
+        assertEquals("Somewhere", responses.get(0).getAddress());
+        assertEquals("UPCOMING", responses.get(0).getStatus());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    private long countStatementsWith(int dinnerCount, Supplier<List<DinnerResponse>> listing) {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        for (DinnerEntity dinner : saveDinners(dinnerCount)) {
+            saveReviews(dinner.getId(), 10, 5);
+        }
+        reviewApplicationService.rebuildRatingAggregates();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<DinnerResponse> responses = listing.get();
+
+        assertEquals(dinnerCount, responses.size());
+        responses.forEach(response -> assertEquals(5, response.getRating()));
+        return statistics.getPrepareStatementCount();
+    }
+
+    private List<DinnerEntity> saveDinners(int count) {
+        List<DinnerEntity> dinners = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < count; i++) {
+            DinnerEntity dinner = new DinnerEntity();
+            dinner.setHostId(HOST_ID);
+            dinner.setMenuId(menuId);
+            dinner.setName("Dinner " + i);
+            dinner.setDescription("Description " + i);
+            dinner.setPrice(30);
+            dinner.setStartTime(start.plusHours(i));
+            dinner.setEndTime(start.plusHours(i + 2));
+            dinner.setAddress("1 Main St, Paris, IDF, 75001, France");
+            dinner.setCuisineType("French");
+            dinner.setMaxGuestCount(8);
+            dinner.setStatus(DinnerStatus.UPCOMING);
+            dinners.add(dinner);
+        }
+        return dinnerJpaRepository.saveAll(dinners);
+    }
+
+    private void saveReviews(Long dinnerId, int count, int rating) {
+        List<ReviewEntity> reviews = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            reviews.add(new ReviewEntity(null, dinnerId, 100L + i, "Great", rating, LocalDateTime.now(), null));
+        }
+        reviewJpaRepository.saveAll(reviews);
+    }
+}
@@ -0,0 +1,106 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.domain.valueobject.GeoPoint;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.mapper.DinnerEntityMapper;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Field;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH comparison of the cost of mapping 10k loaded dinner entities to domain dinners: through the
+ * generated DinnerEntityMapper and Dinner.rehydrate, and through the validating constructor with
+ * the status forced by reflection, as DinnerEntity.toDomain did before. Run by
+ * DinnerMappingBenchmarkTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class DinnerMappingBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private final DinnerEntityMapper dinnerEntityMapper = Mappers.getMapper(DinnerEntityMapper.class);
+    private final List<DinnerEntity> entities = new ArrayList<>(ROWS);
+
+    @Setup(Level.Trial)
+    public void load() {
+        LocalDateTime from = LocalDateTime.now().withNano(0);
+        for (int i = 1; i <= ROWS; i++) {
+            DinnerEntity entity = new DinnerEntity();
+            entity.setId((long) i);
+            entity.setHostId((long) (i % 5000 + 1));
+            entity.setMenuId(1L);
+            entity.setName("Dinner " + i);
+            entity.setDescription("Seasonal dinner number " + i);
+            entity.setPrice(i % 200 + 10);
+            entity.setStartTime(from.plusMinutes(i * 7919L % 525600));
+            entity.setEndTime(entity.getStartTime().plusHours(2));
+            entity.setAddress("1 Main St, Paris, IDF, 75001, France");
+            entity.setLatitude(42.0 + i * 104729L % 900000 / 100000.0);
+            entity.setLongitude(-4.5 + i * 1299709L % 1250000 / 100000.0);
+            entity.setCuisineType(Benchmarks.CUISINES[i % Benchmarks.CUISINES.length]);
+            entity.setMaxGuestCount(i % 12 + 1);
+            entity.setStatus(i % 7 == 0 ? DinnerStatus.CANCELLED : DinnerStatus.UPCOMING);
+            entity.setVersion(0L);
+            entity.setUpdatedAt(from);
+            entities.add(entity);
+        }
+    }
+
+    @Benchmark
+    public List<Dinner> rehydrate() {
+        return dinnerEntityMapper.toDomains(entities);
+    }
+
+    @Benchmark
+    public List<Dinner> constructorWithReflection() {
+        List<Dinner> dinners = new ArrayList<>(entities.size());
+        for (DinnerEntity entity : entities) {
+            dinners.add(toDomainWithReflection(entity));
+        }
+        return dinners;
+    }
+
+    /**
+     * The mapping DinnerEntity.toDomain did before the rehydrate factory, kept as the baseline.
+     */
+    private static Dinner toDomainWithReflection(DinnerEntity entity) {
+        Dinner dinner = new Dinner(entity.getId(), entity.getHostId(), entity.getMenuId(), entity.getName(),
+                entity.getDescription(), entity.getPrice(), entity.getStartTime(), entity.getEndTime(),
+                entity.getAddress(), entity.getCuisineType(), entity.getMaxGuestCount(), entity.getImageUrl());
+        if (entity.getStatus() != null && dinner.getStatus() != entity.getStatus()) {
+            try {
+                Field statusField = Dinner.class.getDeclaredField("status");
+                statusField.setAccessible(true);
+                statusField.set(dinner, entity.getStatus());
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to set dinner status", e);
+            }
+        }
+        if (entity.getLatitude() != null && entity.getLongitude() != null) {
+            dinner.setLocation(GeoPoint.of(entity.getLatitude(), entity.getLongitude()));
+        }
+        return dinner;
+    }
+}
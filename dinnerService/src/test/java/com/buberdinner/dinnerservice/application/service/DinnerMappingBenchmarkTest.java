@@ -0,0 +1,32 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link DinnerMappingBenchmark} JMH benchmarks.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+class DinnerMappingBenchmarkTest {
+
+    /**
+     * Test that rehydrating 10k dinners is faster than constructing them with the status set by
+     * reflection, and reports both
+     */
+    @Test
+    void testRehydrateIsFasterThanConstructorWithReflection() throws RunnerException {
+        Map<String, Result<?>> results = Benchmarks.runJmh(DinnerMappingBenchmark.class);
+
+        results.forEach((name, result) -> log.info("{} per 10k dinners: {}", name, result));
+        assertTrue(results.get("rehydrate").getScore() < results.get("constructorWithReflection").getScore(),
+                results.toString());
+    }
+}
@@ -0,0 +1,289 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.event.DinnerCancelledEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerCompletedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.domain.event.DinnersCancelledEvent;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerEventPublisher;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerEventSerializer;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.OutboxEventJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import com.buberdinner.events.EventSchemaRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the dinner event outbox and its relay to an embedded Kafka broker.
+ */
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"dinnerCreated", "dinnerUpdated", "dinnerStarted", "dinnerCompleted", "dinnerCancelled"})
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=true",
+        "dinner.outbox.relay.batch-size=20",
+        "dinner.outbox.relay.linger=PT0.05S"
+})
+class DinnerOutboxRelayIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @SpyBean
+    private DinnerEventPublisher dinnerEventPublisher;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DinnerEventSerializer dinnerEventSerializer;
+
+    @Autowired
+    private EventSchemaRegistry eventSchemaRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Consumer<String, byte[]> consumer;
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(15L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        Map<String, Object> props = KafkaTestUtils.consumerProps("outbox-test-" + System.nanoTime(), "false", embeddedKafka);
+        consumer = new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer())
+                .createConsumer();
+        embeddedKafka.consumeFromEmbeddedTopics(consumer, "dinnerCompleted");
+    }
+
+    @AfterEach
+    void tearDown() {
+        consumer.close();
+    }
+
+    /**
+     * Test that completed dinners are relayed to Kafka in order, keyed by dinner ID,
+     * removed from the outbox, and timed per topic
+     */
+    @Test
+    void testCommittedEventsAreRelayedInOrder() throws IOException {
+        List<Long> dinnerIds = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            dinnerIds.add(saveInProgressDinner().getId());
+        }
+        double relayed = relayedCount();
+
+        dinnerIds.forEach(dinnerApplicationService::completeDinner);
+
+        List<ConsumerRecord<String, byte[]>> records = poll(dinnerIds);
+        assertEquals(dinnerIds.stream().map(String::valueOf).toList(), records.stream().map(ConsumerRecord::key).toList());
+        assertEquals(dinnerIds.get(0), decode("DinnerCompleted", records.get(0).value()).get("dinnerId"));
+        awaitEmptyOutbox();
+        assertEquals(relayed + dinnerIds.size(), relayedCount());
+        assertEquals(0, meterRegistry.get("dinner.outbox.lag").gauge().value());
+        assertTrue(meterRegistry.get("dinner.events.send").tags("topic", "dinnerCompleted", "outcome", "success")
+                .timer().count() >= dinnerIds.size());
+        assertEquals(0, meterRegistry.get("dinner.events.in-flight").gauge().value());
+    }
+
+    /**
+     * Test that a started dinner is written in its Avro schema, in less than half the size of its JSON
+     */
+    @Test
+    void testStartedDinnerIsEncodedWithItsSchema() throws Exception {
+        com.buberdinner.dinnerservice.application.dto.DinnerResponse dinner =
+                new com.buberdinner.dinnerservice.application.dto.DinnerResponse(7L, 15L, menuId, "Dinner",
+                        "Description", 30, LocalDateTime.of(2026, 5, 1, 19, 30), LocalDateTime.of(2026, 5, 1, 22, 0),
+                        null, "1 Main St, Toulouse, OCC, 31000, France", "French", 8, "IN_PROGRESS", 4);
+        DinnerStartedEvent event = new DinnerStartedEvent(dinner, List.of(41L, 42L, 43L));
+
+        byte[] avro = dinnerEventSerializer.serialize("dinnerStarted", event);
+
+        GenericRecord decoded = decode("DinnerStarted", avro);
+        GenericRecord decodedDinner = (GenericRecord) decoded.get("dinner");
+        assertEquals(7L, decodedDinner.get("id"));
+        assertEquals(LocalDateTime.of(2026, 5, 1, 19, 30), decodedDinner.get("startTime"));
+        assertEquals("IN_PROGRESS", decodedDinner.get("status").toString());
+        assertEquals(List.of(41L, 42L, 43L), decoded.get("guestIds"));
+        assertTrue(avro.length * 2 < objectMapper.writeValueAsBytes(event).length);
+    }
+
+    /**
+     * Test that events published by a transaction that rolls back are neither stored nor sent
+     */
+    @Test
+    void testRolledBackEventsAreNotRelayed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationEventPublisher.publishEvent(new DinnerCompletedEvent(-1L));
+            assertEquals(1, outboxEventJpaRepository.count());
+            status.setRollbackOnly();
+        });
+        Long committed = saveInProgressDinner().getId();
+        dinnerApplicationService.completeDinner(committed);
+
+        List<ConsumerRecord<String, byte[]>> records = poll(List.of(-1L, committed));
+        assertEquals(List.of(String.valueOf(committed)), records.stream().map(ConsumerRecord::key).toList());
+    }
+
+    /**
+     * Test that when an event cannot be sent, the later events of its dinner are held back until it
+     * has been sent, while the events of other dinners are sent
+     */
+    @Test
+    void testFailedSendHoldsBackTheLaterEventsOfItsDinner() {
+        Long dinnerId = saveInProgressDinner().getId();
+        Long otherId = saveInProgressDinner().getId();
+        doReturn(CompletableFuture.failedFuture(new IllegalStateException("Broker unavailable")))
+                .doCallRealMethod()
+                .when(dinnerEventPublisher).publish(eq("dinnerCompleted"), eq(dinnerId), any());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            applicationEventPublisher.publishEvent(new DinnerCompletedEvent(dinnerId));
+            applicationEventPublisher.publishEvent(new DinnerCompletedEvent(otherId));
+            applicationEventPublisher.publishEvent(new DinnersCancelledEvent(List.of(new DinnerCancelledEvent(dinnerId))));
+        });
+
+        verify(dinnerEventPublisher, timeout(5000)).publish(eq("dinnerCancelled"), eq(dinnerId), any());
+        verify(dinnerEventPublisher).publish(eq("dinnerCompleted"), eq(otherId), any());
+        InOrder inOrder = inOrder(dinnerEventPublisher);
+        inOrder.verify(dinnerEventPublisher, times(2)).publish(eq("dinnerCompleted"), eq(dinnerId), any());
+        inOrder.verify(dinnerEventPublisher).publish(eq("dinnerCancelled"), eq(dinnerId), any());
+        awaitEmptyOutbox();
+    }
+
+    /**
+     * Polls the records of the given dinners until the last one arrives, skipping those of other tests.
+     */
+    private List<ConsumerRecord<String, byte[]>> poll(List<Long> dinnerIds) {
+        Set<String> keys = dinnerIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        String last = String.valueOf(dinnerIds.get(dinnerIds.size() - 1));
+        List<ConsumerRecord<String, byte[]>> records = new ArrayList<>();
+        long deadline = System.currentTimeMillis() + 10000;
+        while ((records.isEmpty() || !records.get(records.size() - 1).key().equals(last))
+                && System.currentTimeMillis() < deadline) {
+            ConsumerRecords<String, byte[]> polled = KafkaTestUtils.getRecords(consumer, Duration.ofMillis(500));
+            polled.forEach(record -> {
+                if (keys.contains(record.key())) {
+                    records.add(record);
+                }
+            });
+        }
+        return records;
+    }
+
+    private void awaitEmptyOutbox() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (outboxEventJpaRepository.count() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Outbox was not drained");
+            Thread.onSpinWait();
+        }
+    }
+
+    private GenericRecord decode(String name, byte[] message) throws IOException {
+        GenericData model = new GenericData();
+        model.addLogicalTypeConversion(new TimeConversions.LocalTimestampMillisConversion());
+        return new BinaryMessageDecoder<GenericRecord>(model,
+                eventSchemaRegistry.latest("com.buberdinner.events." + name), eventSchemaRegistry).decode(message);
+    }
+
+    private double relayedCount() {
+        return meterRegistry.find("dinner.outbox.relayed").tag("topic", "dinnerCompleted").counters().stream()
+                .mapToDouble(counter -> counter.count()).sum();
+    }
+
+    private DinnerEntity saveInProgressDinner() {
+        LocalDateTime start = LocalDateTime.now().minusHours(1);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(15L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Toulouse, OCC, 31000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.IN_PROGRESS);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
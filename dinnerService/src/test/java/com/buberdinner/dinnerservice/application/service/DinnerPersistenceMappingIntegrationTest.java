@@ -0,0 +1,176 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.entity.Menu;
+import com.buberdinner.dinnerservice.domain.entity.Review;
+import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.domain.repository.MenuRepository;
+import com.buberdinner.dinnerservice.domain.repository.ReviewRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.domain.valueobject.MenuStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the mapping between the domain aggregates and their JPA entities.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerPersistenceMappingIntegrationTest {
+
+    @Autowired
+    private DinnerRepository dinnerRepository;
+
+    @Autowired
+    private MenuRepository menuRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(8L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("INACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that a stored dinner is loaded back with its status, location and address
+     */
+    @Test
+    void testDinnerIsRehydratedWithStoredState() {
+        LocalDateTime start = LocalDateTime.now().minusHours(1).withNano(0);
+        DinnerEntity entity = new DinnerEntity();
+        entity.setHostId(8L);
+        entity.setMenuId(menuId);
+        entity.setName("Dinner");
+        entity.setDescription("Description");
+        entity.setPrice(40);
+        entity.setStartTime(start);
+        entity.setEndTime(start.plusHours(2));
+        entity.setAddress("1 Main St, Nice, PACA, 06000, France");
+        entity.setLatitude(43.7102);
+        entity.setLongitude(7.2620);
+        entity.setCuisineType("French");
+        entity.setMaxGuestCount(10);
+        entity.setStatus(DinnerStatus.IN_PROGRESS);
+        Long dinnerId = dinnerJpaRepository.save(entity).getId();
+
+        Dinner dinner = dinnerRepository.findById(dinnerId).orElseThrow();
+
+        assertEquals(DinnerStatus.IN_PROGRESS, dinner.getStatus());
+        assertEquals(menuId, dinner.getMenuId());
+        assertEquals(start, dinner.getStartTime());
+        assertEquals("1 Main St, Nice, PACA, 06000, France", dinner.getAddress());
+        assertEquals(43.7102, dinner.getLocation().getLatitude());
+        assertEquals(7.2620, dinner.getLocation().getLongitude());
+
+        Dinner saved = dinnerRepository.save(dinner);
+        DinnerEntity stored = dinnerJpaRepository.findById(saved.getId()).orElseThrow();
+        assertEquals(DinnerStatus.IN_PROGRESS, stored.getStatus());
+        assertEquals(43.7102, stored.getLatitude());
+        assertNotNull(dinner.getUpdatedAt());
+        assertFalse(stored.getUpdatedAt().isBefore(dinner.getUpdatedAt()));
+    }
+
+    /**
+     * Test that a stored dinner whose host, times and address are no longer valid is still loaded,
+     * with them left empty
+     */
+    @Test
+    void testDinnerWithInvalidStoredStateIsStillLoaded() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        DinnerEntity entity = new DinnerEntity();
+        entity.setHostId(0L);
+        entity.setMenuId(menuId);
+        entity.setName("Dinner");
+        entity.setDescription("Description");
+        entity.setPrice(40);
+        entity.setStartTime(start);
+        entity.setEndTime(start.minusHours(2));
+        entity.setAddress("not an address");
+        entity.setCuisineType("French");
+        entity.setMaxGuestCount(10);
+        entity.setStatus(DinnerStatus.UPCOMING);
+        Long dinnerId = dinnerJpaRepository.save(entity).getId();
+
+        Dinner dinner = dinnerRepository.findById(dinnerId).orElseThrow();
+
+        assertEquals("Dinner", dinner.getName());
+        assertNull(dinner.getHostId());
+        assertEquals(menuId, dinner.getMenuId());
+        assertNull(dinner.getStartTime());
+        assertNull(dinner.getAddress());
+    }
+
+    /**
+     * Test that a stored review keeps its creation time when loaded back
+     */
+    @Test
+    void testReviewKeepsItsCreationTime() {
+        LocalDateTime createdAt = LocalDateTime.now().minusDays(3).withNano(0);
+        Long reviewId = reviewJpaRepository.save(new ReviewEntity(null, 1L, 2L, "Lovely", 4, createdAt, null)).getId();
+
+        Review review = reviewRepository.findById(reviewId).orElseThrow();
+
+        assertEquals(createdAt, review.getCreatedAt());
+        assertEquals(1L, review.getHostId());
+        assertEquals(2L, review.getUserId());
+        assertEquals(4, review.getRating());
+    }
+
+    /**
+     * Test that a menu round-trips through its entity with its host and status
+     */
+    @Test
+    void testMenuRoundTripsThroughEntity() {
+        Menu menu = menuRepository.getMenu(menuId);
+        assertEquals(MenuStatus.INACTIVE, menu.getStatus());
+        assertEquals(8L, menu.getHostId().getValue());
+
+        Menu saved = menuRepository.updateMenu(menuId, menu);
+
+        MenuEntity stored = menuJpaRepository.findById(saved.getId()).orElseThrow();
+        assertEquals("INACTIVE", stored.getActive());
+        assertEquals(8L, stored.getHostId());
+    }
+}
@@ -0,0 +1,129 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.DinnerServiceApplication;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.domain.entity.Dinner;
+import com.buberdinner.dinnerservice.domain.repository.DinnerRepository;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerReadRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * JMH comparison of the two ways of reading dinners: projecting the columns straight into
+ * responses through DinnerReadRepository, and loading entities mapped to domain Dinners through
+ * DinnerRepository, then to responses, as the reads did before. Both read the same dinners by ID in
+ * a read-only transaction. Run by DinnerReadPathBenchmarkTest.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class DinnerReadPathBenchmark {
+
+    private static final int DINNERS = 100_000;
+    private static final int ID_SETS = 256;
+
+    @Param({"20", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private DinnerReadRepository dinnerReadRepository;
+    private DinnerRepository dinnerRepository;
+    private TransactionTemplate readOnly;
+    private final List<List<Long>> idSets = new ArrayList<>();
+    private int next;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(DinnerServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                // Arguments, since properties set on the builder would not override application.properties
+                .run("--eureka.client.enabled=false",
+                        "--spring.datasource.url=jdbc:h2:mem:dinner-read-benchmark-db",
+                        "--spring.kafka.admin.auto-create=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--dinner.cache.kafka-invalidation.enabled=false",
+                        "--dinner.lifecycle.scheduler.enabled=false",
+                        "--dinner.outbox.relay.enabled=false");
+        dinnerReadRepository = context.getBean(DinnerReadRepository.class);
+        dinnerRepository = context.getBean(DinnerRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(1L);
+        menu.setName("Season");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        Long menuId = context.getBean(MenuJpaRepository.class).save(menu).getId();
+        Benchmarks.seedDinners(context.getBean(JdbcTemplate.class), menuId, DINNERS, LocalDateTime.now().withNano(0));
+
+        Random random = new Random(42);
+        for (int i = 0; i < ID_SETS; i++) {
+            long first = 1 + random.nextInt(DINNERS - rows);
+            idSets.add(LongStream.range(first, first + rows).boxed().collect(Collectors.toList()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DinnerResponse> projection() {
+        List<Long> ids = nextIds();
+        return readOnly.execute(status -> dinnerReadRepository.findAllById(ids));
+    }
+
+    @Benchmark
+    public List<DinnerResponse> entitiesThroughDomain() {
+        List<Long> ids = nextIds();
+        return readOnly.execute(status -> dinnerRepository.findAllById(ids).stream()
+                .map(DinnerReadPathBenchmark::toResponse)
+                .collect(Collectors.toList()));
+    }
+
+    private List<Long> nextIds() {
+        next = (next + 1) % ID_SETS;
+        return idSets.get(next);
+    }
+
+    private static DinnerResponse toResponse(Dinner dinner) {
+        return new DinnerResponse(dinner.getId(), dinner.getHostId(), dinner.getMenuId(), dinner.getName(),
+                dinner.getDescription(), dinner.getPrice(), dinner.getStartTime(), dinner.getEndTime(),
+                dinner.getImageUrl(), dinner.getAddress(), dinner.getCuisineType(), dinner.getMaxGuestCount(),
+                dinner.getStatus().name(), 0);
+    }
+}
@@ -0,0 +1,34 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the {@link DinnerReadPathBenchmark} JMH benchmarks.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+class DinnerReadPathBenchmarkTest {
+
+    /**
+     * Test that reading dinners through projections is faster than through entities and domain
+     * objects, and reports both
+     */
+    @Test
+    void testProjectionIsFasterThanEntitiesThroughDomain() throws RunnerException {
+        Map<String, Result<?>> results = Benchmarks.runJmh(DinnerReadPathBenchmark.class);
+
+        results.forEach((name, result) -> log.info("{} rows: {}", name, result));
+        for (String rows : new String[]{"20", "1000"}) {
+            assertTrue(results.get("projection " + rows).getScore()
+                    < results.get("entitiesThroughDomain " + rows).getScore(), results.toString());
+        }
+    }
+}
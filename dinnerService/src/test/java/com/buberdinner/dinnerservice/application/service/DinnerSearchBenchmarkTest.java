@@ -0,0 +1,165 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerPageResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the multi-criteria dinner search over a million dinners: the plans of the SQL it
+ * generates, and its latency.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dinner-search-benchmark-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.buberdinner.dinnerservice.application.service.DinnerSearchBenchmarkTest$LastStatement",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerSearchBenchmarkTest {
+
+    private static final int DINNERS = Benchmarks.DINNERS;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private LocalDateTime from;
+
+    /**
+     * Remembers the last dinner query Hibernate prepared, so its plan can be explained.
+     */
+    public static class LastStatement implements StatementInspector {
+
+        private static volatile String sql;
+
+        @Override
+        public String inspect(String sql) {
+            if (sql.contains(" from dinners ")) {
+                LastStatement.sql = sql;
+            }
+            return sql;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(1L);
+        menu.setName("Season");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        Long menuId = menuJpaRepository.save(menu).getId();
+        from = LocalDateTime.now().withNano(0);
+        long started = System.nanoTime();
+        Benchmarks.seedDinners(jdbcTemplate, menuId, DINNERS, from);
+        log.info("Seeded {} dinners in {} ms", DINNERS, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Test that a search on cuisine, status and a start-time window reads the composite cuisine
+     * index, and reports its latency
+     */
+    @Test
+    void testCuisineStatusAndWindowSearch() {
+        benchmark("cuisine + status + 1 week window", i -> new DinnerSearchRequest(
+                        Benchmarks.CUISINES[i % Benchmarks.CUISINES.length], null, null,
+                        from.plusDays(i % 300), from.plusDays(i % 300 + 7), "UPCOMING", null),
+                "IDX_DINNERS_CUISINE_STATUS_START_TIME");
+    }
+
+    /**
+     * Test that a search on status, price range and capacity reads the status index in start-time
+     * order, and reports its latency
+     */
+    @Test
+    void testStatusPriceAndCapacitySearch() {
+        benchmark("status + price range + capacity", i -> new DinnerSearchRequest(
+                        null, 40.0 + i % 50, 80.0 + i % 50, from.plusDays(i % 300), null, "UPCOMING", 6),
+                "IDX_DINNERS_STATUS_START_TIME");
+    }
+
+    /**
+     * Test that a search on a start-time window alone reads the start-time index, and reports its
+     * latency
+     */
+    @Test
+    void testWindowSearch() {
+        benchmark("1 day window", i -> new DinnerSearchRequest(
+                        null, null, null, from.plusDays(i % 300), from.plusDays(i % 300 + 1), null, null),
+                "IDX_DINNERS_START_TIME_ID");
+    }
+
+    private void benchmark(String name, Function<Integer, DinnerSearchRequest> request, String expectedIndex) {
+        DinnerSearchRequest sample = request.apply(0);
+        DinnerPageResponse page = dinnerApplicationService.searchDinners(sample, null, PAGE_SIZE);
+        assertEquals(PAGE_SIZE, page.getDinners().size());
+        String plan = explain(LastStatement.sql, sample);
+        log.info("Plan of the {} search:\n{}", name, plan);
+        assertTrue(plan.toUpperCase().contains(expectedIndex), plan);
+        // The page is read from the index in order, instead of sorting every match
+        assertTrue(plan.toUpperCase().contains("INDEX SORTED"), plan);
+
+        Benchmarks.Latencies latencies = Benchmarks.time(200, 1000,
+                i -> dinnerApplicationService.searchDinners(request.apply(i), null, PAGE_SIZE));
+        log.info("Search on {} over {} dinners, pages of {}: {}", name, DINNERS, PAGE_SIZE, latencies);
+    }
+
+    /**
+     * Explains a search statement, binding the criteria set on the request in the order the
+     * specification adds them, then the page size.
+     */
+    private String explain(String sql, DinnerSearchRequest request) {
+        List<Object> parameters = new ArrayList<>();
+        addIfSet(parameters, request.getCuisineType());
+        addIfSet(parameters, request.getStatus());
+        addIfSet(parameters, request.getStartsAfter());
+        addIfSet(parameters, request.getStartsBefore());
+        addIfSet(parameters, request.getMinPrice());
+        addIfSet(parameters, request.getMaxPrice());
+        addIfSet(parameters, request.getMinCapacity());
+        parameters.add(PAGE_SIZE + 1);
+        assertEquals(parameters.size(), sql.chars().filter(c -> c == '?').count(), sql);
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters.toArray());
+    }
+
+    private static void addIfSet(List<Object> parameters, Object value) {
+        if (value != null) {
+            parameters.add(value);
+        }
+    }
+}
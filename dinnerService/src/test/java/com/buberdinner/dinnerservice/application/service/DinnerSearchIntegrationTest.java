@@ -0,0 +1,159 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerPageResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerSearchRequest;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the multi-criteria dinner search.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerSearchIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long menuId;
+    private LocalDateTime start;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(3L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+        start = LocalDateTime.now().plusDays(1).withNano(0);
+    }
+
+    /**
+     * Test that every filter is applied together
+     */
+    @Test
+    void testSearchCombinesAllFilters() {
+        Long match = saveDinner("Italian", 40, start.plusHours(2), DinnerStatus.UPCOMING, 10).getId();
+        saveDinner("French", 40, start.plusHours(2), DinnerStatus.UPCOMING, 10);
+        saveDinner("Italian", 80, start.plusHours(2), DinnerStatus.UPCOMING, 10);
+        saveDinner("Italian", 40, start.plusDays(5), DinnerStatus.UPCOMING, 10);
+        saveDinner("Italian", 40, start.plusHours(2), DinnerStatus.COMPLETED, 10);
+        saveDinner("Italian", 40, start.plusHours(2), DinnerStatus.UPCOMING, 2);
+
+        DinnerSearchRequest request = new DinnerSearchRequest(
+                "Italian", 20.0, 50.0, start, start.plusDays(1), "UPCOMING", 6);
+        DinnerPageResponse page = dinnerApplicationService.searchDinners(request, null, 20);
+
+        assertEquals(1, page.getDinners().size());
+        assertEquals(match, page.getDinners().get(0).getId());
+        assertNull(page.getNextCursor());
+    }
+
+    /**
+     * Test that search results are paginated with the listing cursor
+     */
+    @Test
+    void testSearchIsPaginated() {
+        for (int i = 0; i < 5; i++) {
+            saveDinner("Italian", 30, start.plusHours(i), DinnerStatus.UPCOMING, 8);
+        }
+        DinnerSearchRequest request = new DinnerSearchRequest("Italian", null, null, null, null, null, null);
+
+        List<DinnerResponse> visited = new ArrayList<>();
+        DinnerPageResponse page = dinnerApplicationService.searchDinners(request, null, 2);
+        visited.addAll(page.getDinners());
+        while (page.getNextCursor() != null) {
+            page = dinnerApplicationService.searchDinners(request, page.getNextCursor(), 2);
+            visited.addAll(page.getDinners());
+        }
+
+        assertEquals(5, visited.size());
+        for (int i = 1; i < visited.size(); i++) {
+            assertTrue(visited.get(i - 1).getStartTime().isBefore(visited.get(i).getStartTime()));
+        }
+    }
+
+    /**
+     * Test that inconsistent filters are rejected
+     */
+    @Test
+    void testSearchRejectsInvalidFilters() {
+        DinnerSearchRequest invertedPrices = new DinnerSearchRequest(null, 50.0, 10.0, null, null, null, null);
+        DinnerSearchRequest unknownStatus = new DinnerSearchRequest(null, null, null, null, null, "SOLD_OUT", null);
+
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.searchDinners(invertedPrices, null, 20));
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.searchDinners(unknownStatus, null, 20));
+    }
+
+    /**
+     * Test that the search plan uses the composite index instead of scanning the table
+     */
+    @Test
+    void testSearchPlanUsesCompositeIndex() {
+        String plan = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT id FROM dinners WHERE cuisine_type = 'Italian' AND status = 'UPCOMING' " +
+                        "AND start_time >= CURRENT_TIMESTAMP ORDER BY start_time, id",
+                String.class);
+
+        assertTrue(plan.toUpperCase().contains("IDX_DINNERS_CUISINE_STATUS_START_TIME"), plan);
+    }
+
+    private DinnerEntity saveDinner(String cuisineType, double price, LocalDateTime startTime,
+                                    DinnerStatus status, int maxGuestCount) {
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(3L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(price);
+        dinner.setStartTime(startTime);
+        dinner.setEndTime(startTime.plusHours(2));
+        dinner.setAddress("1 Main St, Rome, RM, 00100, Italy");
+        dinner.setCuisineType(cuisineType);
+        dinner.setMaxGuestCount(maxGuestCount);
+        dinner.setStatus(status);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,213 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.GuestIdListResponse;
+import com.buberdinner.dinnerservice.domain.event.DinnerStartedEvent;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.messaging.DinnerEventPublisher;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.OutboxEventJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the started dinners stored in the outbox, and the guest lookup made by the
+ * outbox relay before sending them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        // A database of its own, so that its relay does not compete for the lease with the relay
+        // of other test contexts
+        "spring.datasource.url=jdbc:h2:mem:dinner-fan-out-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=true",
+        "dinner.outbox.relay.linger=PT0.05S",
+        "service.reservation.max-attempts=3",
+        "service.reservation.retry-backoff=PT0.05S",
+        "dinner.started.fan-out.workers=8",
+        "dinner.started.fan-out.timeout=PT5S"
+})
+class DinnerStartFanOutIntegrationTest {
+
+    private static final long SLOW_RESERVATION_SERVICE_MILLIS = 1000;
+
+    @Autowired
+    private TestRestTemplate testRestTemplate;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private OutboxEventJpaRepository outboxEventJpaRepository;
+
+    @MockBean(name = "reservationRestTemplate")
+    private RestTemplate restTemplate;
+
+    // Stands in for Kafka, which is not running during the tests
+    @MockBean
+    private DinnerEventPublisher dinnerEventPublisher;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(14L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        when(dinnerEventPublisher.publish(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * Test that POST /{dinnerId}/start commits and returns without waiting for a slow reservation
+     * service, and that the event is sent with the guests afterwards
+     */
+    @Test
+    void testStartDoesNotWaitForSlowReservationService() {
+        when(restTemplate.getForObject(anyString(), eq(GuestIdListResponse.class))).thenAnswer(invocation -> {
+            Thread.sleep(SLOW_RESERVATION_SERVICE_MILLIS);
+            return new GuestIdListResponse(List.of(41L, 42L));
+        });
+        // Warms up the request path, which is not measured
+        start(saveStartableDinner().getId());
+        List<Long> latencies = new ArrayList<>();
+        List<Long> dinnerIds = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Long dinnerId = saveStartableDinner().getId();
+            long start = System.nanoTime();
+            assertEquals(HttpStatus.OK, start(dinnerId).getStatusCode());
+            latencies.add((System.nanoTime() - start) / 1_000_000);
+            dinnerIds.add(dinnerId);
+        }
+
+        latencies.sort(null);
+        long p99 = latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1);
+        assertTrue(p99 < SLOW_RESERVATION_SERVICE_MILLIS / 2, "p99 start latency was " + p99 + " ms");
+        dinnerIds.forEach(dinnerId ->
+                assertEquals(DinnerStatus.IN_PROGRESS, dinnerJpaRepository.findById(dinnerId).orElseThrow().getStatus()));
+        ArgumentCaptor<DinnerStartedEvent> event = ArgumentCaptor.forClass(DinnerStartedEvent.class);
+        verify(dinnerEventPublisher, timeout(10000).times(21)).publish(eq("dinnerStarted"), any(), event.capture());
+        assertEquals(List.of(41L, 42L), event.getValue().id_guess());
+        awaitEmptyOutbox();
+    }
+
+    /**
+     * Test that a failed guest lookup is retried
+     */
+    @Test
+    void testTransientFailureIsRetried() {
+        when(restTemplate.getForObject(anyString(), eq(GuestIdListResponse.class)))
+                .thenThrow(new ResourceAccessException("Read timed out"))
+                .thenReturn(new GuestIdListResponse(List.of(43L)));
+        Long dinnerId = saveStartableDinner().getId();
+
+        start(dinnerId);
+
+        verify(dinnerEventPublisher, timeout(5000)).publish(eq("dinnerStarted"), eq(dinnerId),
+                argThat(event -> List.of(43L).equals(((DinnerStartedEvent) event).id_guess())));
+        verify(restTemplate, times(2)).getForObject(anyString(), eq(GuestIdListResponse.class));
+    }
+
+    /**
+     * Test that a started dinner whose guests cannot be fetched stays in the outbox until they can,
+     * and that a dinner unknown to the reservation service is sent without guests
+     */
+    @Test
+    void testFailedLookupIsKeptUntilItSucceeds() {
+        Long unavailable = saveStartableDinner().getId();
+        Long unknown = saveStartableDinner().getId();
+        when(restTemplate.getForObject(endsWith("/" + unavailable), eq(GuestIdListResponse.class)))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenThrow(new ResourceAccessException("Connection refused"))
+                .thenReturn(new GuestIdListResponse(List.of(44L)));
+        when(restTemplate.getForObject(endsWith("/" + unknown), eq(GuestIdListResponse.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+
+        start(unavailable);
+        start(unknown);
+
+        verify(dinnerEventPublisher, timeout(5000)).publish(eq("dinnerStarted"), eq(unavailable),
+                argThat(event -> List.of(44L).equals(((DinnerStartedEvent) event).id_guess())));
+        verify(dinnerEventPublisher, timeout(5000)).publish(eq("dinnerStarted"), eq(unknown),
+                argThat(event -> List.of().equals(((DinnerStartedEvent) event).id_guess())));
+        verify(restTemplate, times(4)).getForObject(endsWith("/" + unavailable), eq(GuestIdListResponse.class));
+        verify(restTemplate, times(1)).getForObject(endsWith("/" + unknown), eq(GuestIdListResponse.class));
+        awaitEmptyOutbox();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private ResponseEntity<Map> start(Long dinnerId) {
+        return testRestTemplate.postForEntity("/api/dinners/{dinnerId}/start", null, Map.class, dinnerId);
+    }
+
+    private void awaitEmptyOutbox() {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (outboxEventJpaRepository.count() > 0) {
+            assertTrue(System.currentTimeMillis() < deadline, "Outbox was not drained");
+            Thread.onSpinWait();
+        }
+    }
+
+    private DinnerEntity saveStartableDinner() {
+        LocalDateTime start = LocalDateTime.now().minusMinutes(1);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(14L);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Bordeaux, NAQ, 33000, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,151 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.search.DinnerTextIndex;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the text index's listener on the dinner topics, which brings in the
+ * changes made by other instances, against an embedded Kafka broker.
+ */
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"host-topic", "guest-topic",
+        "dinnerCreated", "dinnerUpdated", "dinnerStarted", "dinnerCompleted", "dinnerCancelled"})
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=true",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerTextIndexEventIntegrationTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private DinnerTextIndex dinnerTextIndex;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    private Producer<String, byte[]> producer;
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+        dinnerTextIndex.rebuild();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(21L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+
+        // The listener starts from the latest offsets, so events sent before it is assigned its
+        // partitions would be missed
+        ContainerTestUtils.waitForAssignment(kafkaListenerEndpointRegistry.getListenerContainer("dinner-text-index"), 2);
+        producer = new DefaultKafkaProducerFactory<>(KafkaTestUtils.producerProps(embeddedKafka),
+                new StringSerializer(), new ByteArraySerializer()).createProducer();
+    }
+
+    @AfterEach
+    void tearDown() {
+        producer.close();
+    }
+
+    /**
+     * Test that dinners written by another instance are added, updated and removed when their
+     * events arrive
+     */
+    @Test
+    void testDinnersChangedElsewhereAreRefreshedFromTheirEvents() {
+        // Written straight to the database, as another instance would
+        DinnerEntity dinner = saveDinner("Saffron paella");
+        assertEquals(0, dinnerTextIndex.search("saffron", 0, 10).totalHits());
+
+        send("dinnerCreated", dinner.getId());
+        await(() -> dinnerTextIndex.search("saffron", 0, 10).totalHits() == 1);
+
+        dinner.setName("Truffle risotto");
+        dinnerJpaRepository.save(dinner);
+        send("dinnerUpdated", dinner.getId());
+        await(() -> dinnerTextIndex.search("truffle", 0, 10).totalHits() == 1);
+        assertEquals(0, dinnerTextIndex.search("saffron", 0, 10).totalHits());
+
+        dinnerJpaRepository.deleteById(dinner.getId());
+        send("dinnerUpdated", dinner.getId());
+        await(() -> dinnerTextIndex.search("truffle", 0, 10).totalHits() == 0);
+    }
+
+    private void send(String topic, Long dinnerId) {
+        producer.send(new ProducerRecord<>(topic, String.valueOf(dinnerId), new byte[0]));
+        producer.flush();
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.currentTimeMillis() < deadline, "Text index was not refreshed");
+            Thread.onSpinWait();
+        }
+    }
+
+    private DinnerEntity saveDinner(String name) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(21L);
+        dinner.setMenuId(menuId);
+        dinner.setName(name);
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Rue de la République, Lyon, ARA, 69002, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
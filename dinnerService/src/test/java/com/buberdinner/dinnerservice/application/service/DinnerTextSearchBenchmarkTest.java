@@ -0,0 +1,115 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.search.DinnerTextIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the full-text dinner search over a million dinners: the indexing throughput of a
+ * rebuild and of document updates, and the latency of ranked queries.
+ */
+@Slf4j
+@Tag(Benchmarks.TAG)
+@SpringBootTest
+@DirtiesContext
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.datasource.url=jdbc:h2:mem:dinner-text-benchmark-db",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerTextSearchBenchmarkTest {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int UPDATES = 10_000;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerTextIndex dinnerTextIndex;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(1L);
+        menu.setName("Season");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        Benchmarks.seedDinners(jdbcTemplate, menuJpaRepository.save(menu).getId(), Benchmarks.DINNERS,
+                LocalDateTime.now().withNano(0));
+    }
+
+    /**
+     * Test that a rebuild indexes every dinner and that updates replace their documents, and
+     * reports the rebuild and update throughput
+     */
+    @Test
+    void testIndexingThroughput() {
+        long started = System.nanoTime();
+        dinnerTextIndex.rebuild();
+        double rebuildSeconds = (System.nanoTime() - started) / 1e9;
+        assertEquals(Benchmarks.DINNERS, dinnerTextIndex.size());
+
+        started = System.nanoTime();
+        for (int i = 1; i <= UPDATES; i++) {
+            dinnerTextIndex.index((long) i, "Renamed dinner " + i, "Seasonal dinner number " + i, "Fusion");
+        }
+        double updateSeconds = (System.nanoTime() - started) / 1e9;
+        // Updating a dinner replaces its document
+        assertEquals(Benchmarks.DINNERS, dinnerTextIndex.size());
+        assertEquals(List.of((long) UPDATES), dinnerTextIndex.search("renamed dinner " + UPDATES, 0, 1).dinnerIds());
+
+        log.info("Rebuilt the text index of {} dinners in {} s ({} dinners/s); {} single-dinner updates in {} s ({} dinners/s)",
+                Benchmarks.DINNERS, String.format("%.1f", rebuildSeconds), Math.round(Benchmarks.DINNERS / rebuildSeconds),
+                UPDATES, String.format("%.2f", updateSeconds), Math.round(UPDATES / updateSeconds));
+    }
+
+    /**
+     * Test that ranked queries return full pages, and reports their latency for broad and narrow
+     * queries, with and without loading the dinners found
+     */
+    @Test
+    void testQueryLatency() {
+        dinnerTextIndex.rebuild();
+        String[] broad = {"italian", "japanese dinner", "seasonal thai", "greek"};
+        Benchmarks.Latencies broadIndex = Benchmarks.time(200, 2000, i ->
+                dinnerTextIndex.search(broad[i % broad.length], (i % 5) * PAGE_SIZE, PAGE_SIZE));
+        Benchmarks.Latencies broadSearch = Benchmarks.time(100, 1000, i -> assertEquals(PAGE_SIZE,
+                dinnerApplicationService.searchDinnersByText(broad[i % broad.length], i % 5, PAGE_SIZE)
+                        .getDinners().size()));
+        Benchmarks.Latencies narrowIndex = Benchmarks.time(200, 2000, i ->
+                assertEquals(1, dinnerTextIndex.search("dinner " + (i * 7919 % Benchmarks.DINNERS + 1), 0, PAGE_SIZE)
+                        .totalHits()));
+
+        log.info("Broad ranked queries (at least {} hits) over {} dinners, pages of {}: index {}; with the dinners loaded {}",
+                dinnerTextIndex.search(broad[0], 0, 1).totalHits(), Benchmarks.DINNERS, PAGE_SIZE, broadIndex, broadSearch);
+        log.info("Narrow queries (1 hit) over {} dinners: index {}", Benchmarks.DINNERS, narrowIndex);
+    }
+}
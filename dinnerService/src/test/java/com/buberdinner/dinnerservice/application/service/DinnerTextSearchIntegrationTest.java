@@ -0,0 +1,159 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerResponse;
+import com.buberdinner.dinnerservice.application.dto.DinnerTextSearchResponse;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.search.DinnerTextIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the full-text dinner search.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class DinnerTextSearchIntegrationTest {
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private DinnerTextIndex dinnerTextIndex;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    private Long menuId;
+
+    @BeforeEach
+    void setUp() {
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(4L);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("Mixed");
+        menu.setActive("ACTIVE");
+        menuId = menuJpaRepository.save(menu).getId();
+    }
+
+    /**
+     * Test that a match on the name ranks above a match on the description
+     */
+    @Test
+    void testNameMatchesRankAboveDescriptionMatches() {
+        Long inDescription = saveDinner("Sunday lunch", "Slow cooked tagine with lemon", "Moroccan").getId();
+        Long inName = saveDinner("Tagine night", "Family recipes", "Moroccan").getId();
+        saveDinner("Pasta evening", "Fresh pasta", "Italian");
+        dinnerTextIndex.rebuild();
+
+        DinnerTextSearchResponse results = dinnerApplicationService.searchDinnersByText("tagine", 0, 20);
+
+        assertEquals(2, results.getTotalHits());
+        assertEquals(List.of(inName, inDescription), results.getDinners().stream().map(DinnerResponse::getId).toList());
+    }
+
+    /**
+     * Test that every word of the query must match
+     */
+    @Test
+    void testAllWordsMustMatch() {
+        Long match = saveDinner("Pasta evening", "Fresh pasta with truffle", "Italian").getId();
+        saveDinner("Pasta lunch", "Fresh pasta", "Italian");
+        dinnerTextIndex.rebuild();
+
+        DinnerTextSearchResponse results = dinnerApplicationService.searchDinnersByText("Italian truffle", 0, 20);
+
+        assertEquals(1, results.getTotalHits());
+        assertEquals(match, results.getDinners().get(0).getId());
+    }
+
+    /**
+     * Test that pages do not overlap and together cover every match
+     */
+    @Test
+    void testResultsArePaginated() {
+        for (int i = 0; i < 5; i++) {
+            saveDinner("Couscous " + i, "Friday couscous", "Moroccan");
+        }
+        dinnerTextIndex.rebuild();
+
+        Set<Long> visited = new HashSet<>();
+        for (int page = 0; page < 3; page++) {
+            DinnerTextSearchResponse results = dinnerApplicationService.searchDinnersByText("couscous", page, 2);
+            assertEquals(5, results.getTotalHits());
+            results.getDinners().forEach(dinner -> assertTrue(visited.add(dinner.getId())));
+        }
+        assertEquals(5, visited.size());
+    }
+
+    /**
+     * Test that an indexed update is visible to the next search
+     */
+    @Test
+    void testUpdatesAreSearchableImmediately() {
+        DinnerEntity dinner = saveDinner("Pasta evening", "Fresh pasta", "Italian");
+        dinnerTextIndex.rebuild();
+
+        dinnerTextIndex.index(dinner.getId(), "Paella evening", "Seafood paella", "Spanish");
+
+        assertEquals(0, dinnerApplicationService.searchDinnersByText("pasta", 0, 20).getTotalHits());
+        assertEquals(1, dinnerApplicationService.searchDinnersByText("paella", 0, 20).getTotalHits());
+    }
+
+    /**
+     * Test that empty queries are rejected
+     */
+    @Test
+    void testEmptyQueryIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> dinnerApplicationService.searchDinnersByText(" ", 0, 20));
+    }
+
+    private DinnerEntity saveDinner(String name, String description, String cuisineType) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(4L);
+        dinner.setMenuId(menuId);
+        dinner.setName(name);
+        dinner.setDescription(description);
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Rabat, RB, 10000, Morocco");
+        dinner.setCuisineType(cuisineType);
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
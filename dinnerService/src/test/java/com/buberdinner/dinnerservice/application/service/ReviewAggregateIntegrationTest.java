@@ -0,0 +1,218 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.application.dto.DinnerRequest;
+import com.buberdinner.dinnerservice.application.dto.ReviewRequest;
+import com.buberdinner.dinnerservice.application.dto.ReviewResponse;
+import com.buberdinner.dinnerservice.domain.repository.ReviewAggregateRepository;
+import com.buberdinner.dinnerservice.domain.valueobject.DinnerStatus;
+import com.buberdinner.dinnerservice.domain.valueobject.RatingSummary;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.MenuEntity;
+import com.buberdinner.dinnerservice.infrastructure.entity.ReviewEntity;
+import com.buberdinner.dinnerservice.infrastructure.repository.DinnerJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.MenuJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewAggregateJpaRepository;
+import com.buberdinner.dinnerservice.infrastructure.repository.ReviewJpaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Integration tests for the review aggregates kept by the review write paths.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class ReviewAggregateIntegrationTest {
+
+    private static final long HOST_ID = 11L;
+    private static final long OTHER_HOST_ID = 12L;
+
+    @Autowired
+    private ReviewApplicationService reviewApplicationService;
+
+    @Autowired
+    private DinnerApplicationService dinnerApplicationService;
+
+    @Autowired
+    private ReviewAggregateRepository reviewAggregateRepository;
+
+    @Autowired
+    private ReviewAggregateJpaRepository reviewAggregateJpaRepository;
+
+    @Autowired
+    private ReviewJpaRepository reviewJpaRepository;
+
+    @Autowired
+    private DinnerJpaRepository dinnerJpaRepository;
+
+    @Autowired
+    private MenuJpaRepository menuJpaRepository;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    private Long firstDinnerId;
+    private Long secondDinnerId;
+
+    @BeforeEach
+    void setUp() {
+        when(userServiceClient.userExists(anyLong())).thenReturn(true);
+        reviewAggregateJpaRepository.deleteAll();
+        reviewJpaRepository.deleteAll();
+        dinnerJpaRepository.deleteAll();
+        menuJpaRepository.deleteAll();
+
+        MenuEntity menu = new MenuEntity();
+        menu.setHostId(HOST_ID);
+        menu.setName("Tasting menu");
+        menu.setDescription("Seasonal");
+        menu.setCuisineType("French");
+        menu.setActive("ACTIVE");
+        Long menuId = menuJpaRepository.save(menu).getId();
+        firstDinnerId = saveDinner(menuId).getId();
+        secondDinnerId = saveDinner(menuId).getId();
+    }
+
+    /**
+     * Test that creating and deleting reviews keeps dinner and host totals in step
+     */
+    @Test
+    void testCreateAndDeleteReviewUpdateAggregates() {
+        reviewApplicationService.createReview(new ReviewRequest(firstDinnerId, 1L, "Great", 5));
+        ReviewResponse toDelete = reviewApplicationService.createReview(new ReviewRequest(firstDinnerId, 2L, "Fine", 3));
+        reviewApplicationService.createReview(new ReviewRequest(secondDinnerId, 3L, "Poor", 1));
+
+        RatingSummary firstDinner = reviewAggregateRepository.findByDinnerId(firstDinnerId);
+        assertEquals(2, firstDinner.getReviewCount());
+        assertEquals(8, firstDinner.getRatingSum());
+        assertEquals(1, firstDinner.getStarCount(5));
+        assertEquals(1, firstDinner.getStarCount(3));
+
+        RatingSummary host = reviewAggregateRepository.findByHostId(HOST_ID);
+        assertEquals(3, host.getReviewCount());
+        assertEquals(9, host.getRatingSum());
+
+        reviewApplicationService.deleteReview(toDelete.getId());
+
+        firstDinner = reviewAggregateRepository.findByDinnerId(firstDinnerId);
+        assertEquals(1, firstDinner.getReviewCount());
+        assertEquals(5, firstDinner.getRatingSum());
+        assertEquals(0, firstDinner.getStarCount(3));
+        assertEquals(2, reviewAggregateRepository.findByHostId(HOST_ID).getReviewCount());
+    }
+
+    /**
+     * Test that a rebuild after a bulk import matches the incrementally maintained totals
+     */
+    @Test
+    void testRebuildMatchesIncrementalAggregates() {
+        for (int i = 1; i <= 5; i++) {
+            reviewApplicationService.createReview(new ReviewRequest(firstDinnerId, (long) i, "Review " + i, i));
+        }
+        RatingSummary incremental = reviewAggregateRepository.findByDinnerId(firstDinnerId);
+        RatingSummary incrementalHost = reviewAggregateRepository.findByHostId(HOST_ID);
+
+        reviewJpaRepository.save(new ReviewEntity(null, secondDinnerId, 9L, "Imported", 4, LocalDateTime.now(), null));
+        reviewApplicationService.rebuildRatingAggregates();
+
+        assertEquals(incremental, reviewAggregateRepository.findByDinnerId(firstDinnerId));
+        assertEquals(1, reviewAggregateRepository.findByDinnerId(secondDinnerId).getStarCount(4));
+        assertEquals(incrementalHost.getReviewCount() + 1, reviewAggregateRepository.findByHostId(HOST_ID).getReviewCount());
+    }
+
+    /**
+     * Test that concurrent first reviews of a dinner are all counted, without a duplicate
+     * aggregate row
+     */
+    @Test
+    void testConcurrentFirstReviewsAreAllCounted() throws Exception {
+        int reviews = 8;
+        CountDownLatch ready = new CountDownLatch(reviews);
+        ExecutorService executor = Executors.newFixedThreadPool(reviews);
+        try {
+            List<Future<ReviewResponse>> created = new ArrayList<>();
+            for (int i = 0; i < reviews; i++) {
+                long userId = i + 1;
+                created.add(executor.submit(() -> {
+                    ready.countDown();
+                    ready.await();
+                    return reviewApplicationService.createReview(new ReviewRequest(secondDinnerId, userId, "Review", 4));
+                }));
+            }
+            for (Future<ReviewResponse> review : created) {
+                review.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(reviews, reviewAggregateRepository.findByDinnerId(secondDinnerId).getReviewCount());
+        assertEquals(reviews, reviewAggregateRepository.findByHostId(HOST_ID).getStarCount(4));
+    }
+
+    /**
+     * Test that giving a dinner to another host moves its totals to that host
+     */
+    @Test
+    void testHostChangeMovesDinnerTotals() {
+        reviewApplicationService.createReview(new ReviewRequest(firstDinnerId, 1L, "Great", 5));
+        reviewApplicationService.createReview(new ReviewRequest(firstDinnerId, 2L, "Fine", 3));
+        reviewApplicationService.createReview(new ReviewRequest(secondDinnerId, 3L, "Poor", 1));
+        DinnerEntity dinner = dinnerJpaRepository.findById(firstDinnerId).orElseThrow();
+
+        dinnerApplicationService.updateDinner(firstDinnerId, new DinnerRequest(OTHER_HOST_ID, dinner.getMenuId(),
+                dinner.getName(), dinner.getDescription(), dinner.getPrice(), dinner.getStartTime(),
+                dinner.getEndTime(), dinner.getAddress(), dinner.getCuisineType(), dinner.getMaxGuestCount()), null);
+
+        RatingSummary previousHost = reviewAggregateRepository.findByHostId(HOST_ID);
+        assertEquals(1, previousHost.getReviewCount());
+        assertEquals(1, previousHost.getRatingSum());
+        assertEquals(0, previousHost.getStarCount(5));
+        RatingSummary newHost = reviewAggregateRepository.findByHostId(OTHER_HOST_ID);
+        assertEquals(2, newHost.getReviewCount());
+        assertEquals(8, newHost.getRatingSum());
+        assertEquals(1, newHost.getStarCount(5));
+        assertEquals(2, reviewAggregateRepository.findByDinnerId(firstDinnerId).getReviewCount());
+    }
+
+    private DinnerEntity saveDinner(Long menuId) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        DinnerEntity dinner = new DinnerEntity();
+        dinner.setHostId(HOST_ID);
+        dinner.setMenuId(menuId);
+        dinner.setName("Dinner");
+        dinner.setDescription("Description");
+        dinner.setPrice(30);
+        dinner.setStartTime(start);
+        dinner.setEndTime(start.plusHours(2));
+        dinner.setAddress("1 Main St, Paris, IDF, 75001, France");
+        dinner.setCuisineType("French");
+        dinner.setMaxGuestCount(8);
+        dinner.setStatus(DinnerStatus.UPCOMING);
+        return dinnerJpaRepository.save(dinner);
+    }
+}
@@ -0,0 +1,75 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.infrastructure.cache.UserValidityCache;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the user validity cache's listener on userService's topics, against an
+ * embedded Kafka broker.
+ */
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"host-topic", "guest-topic",
+        "dinnerCreated", "dinnerUpdated", "dinnerStarted", "dinnerCompleted", "dinnerCancelled"})
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=true",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false"
+})
+class UserEventListenerIntegrationTest {
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafka;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @SpyBean
+    private UserValidityCache userValidityCache;
+
+    /**
+     * Test that the created users are read with the fixed consumer group, and read again from the
+     * start when the listener is restarted
+     */
+    @Test
+    void testUsersAreReadAgainFromTheStartAfterRestart() {
+        try (Producer<String, byte[]> producer = new DefaultKafkaProducerFactory<>(
+                KafkaTestUtils.producerProps(embeddedKafka), new StringSerializer(), new ByteArraySerializer())
+                .createProducer()) {
+            producer.send(new ProducerRecord<>("host-topic", "7001", new byte[0]));
+            producer.send(new ProducerRecord<>("guest-topic", "7002", new byte[0]));
+        }
+
+        verify(userValidityCache, timeout(10000)).userCreated(7001L, true);
+        verify(userValidityCache, timeout(10000)).userCreated(7002L, false);
+
+        MessageListenerContainer container = kafkaListenerEndpointRegistry.getListenerContainer("dinner-user-cache");
+        assertNotNull(container);
+        assertEquals("dinner-user-cache", container.getGroupId());
+        container.stop();
+        container.start();
+
+        verify(userValidityCache, timeout(10000).times(2)).userCreated(7001L, true);
+        verify(userValidityCache, timeout(10000).times(2)).userCreated(7002L, false);
+    }
+}
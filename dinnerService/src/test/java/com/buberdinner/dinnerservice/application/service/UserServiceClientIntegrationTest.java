@@ -0,0 +1,157 @@
+package com.buberdinner.dinnerservice.application.service;
+
+import com.buberdinner.dinnerservice.infrastructure.cache.UserEventListener;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient;
+import com.buberdinner.dinnerservice.infrastructure.client.UserServiceClient.UserValidity;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Integration tests for the user validity cache and the batched lookups behind UserServiceClient.
+ */
+@SpringBootTest
+@TestPropertySource(properties = {
+        "eureka.client.enabled=false",
+        "spring.kafka.admin.auto-create=false",
+        "spring.jpa.show-sql=false",
+        "dinner.cache.kafka-invalidation.enabled=false",
+        "dinner.lifecycle.scheduler.enabled=false",
+        "dinner.outbox.relay.enabled=false",
+        // Wide enough for the concurrent lookups of a test to share a batch
+        "service.user.batch.window=PT0.2S"
+})
+class UserServiceClientIntegrationTest {
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    private UserEventListener userEventListener;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean(name = "restTemplate")
+    private RestTemplate restTemplate;
+
+    /**
+     * Test that users created in userService are known without calling it
+     */
+    @Test
+    void testCreatedUsersAreKnownWithoutLookup() {
+        userEventListener.onUserCreated(new ConsumerRecord<>("host-topic", 0, 0, "1001", new byte[0]));
+        userEventListener.onUserCreated(new ConsumerRecord<>("guest-topic", 0, 1, "1002", new byte[0]));
+
+        assertTrue(userServiceClient.isUserHost(1001L));
+        assertTrue(userServiceClient.userExists(1001L));
+        assertFalse(userServiceClient.isUserHost(1002L));
+        assertTrue(userServiceClient.userExists(1002L));
+        verifyNoInteractions(restTemplate);
+    }
+
+    /**
+     * Test that a miss is looked up once and counted, and that a host is then known to exist
+     */
+    @Test
+    void testMissIsLookedUpOnce() {
+        answerValidity(id -> new UserValidity(id, true, true));
+        double hits = cacheGets("host", "hit");
+        double misses = cacheGets("host", "miss");
+
+        assertTrue(userServiceClient.isUserHost(1003L));
+        assertTrue(userServiceClient.isUserHost(1003L));
+        assertTrue(userServiceClient.userExists(1003L));
+
+        verify(restTemplate, times(1)).postForObject(anyString(), any(), eq(UserValidity[].class));
+        assertEquals(misses + 1, cacheGets("host", "miss"));
+        assertEquals(hits + 1, cacheGets("host", "hit"));
+        assertTrue(meterRegistry.get("users.lookups").tag("fact", "host").timer().count() >= 1);
+    }
+
+    /**
+     * Test that a failed lookup is not cached, and that a missing user is known once created
+     */
+    @Test
+    void testFailuresAreNotCachedAndMissingUsersCanSignUp() {
+        when(restTemplate.postForObject(endsWith("/api/users/validity"), any(), eq(UserValidity[].class)))
+                .thenThrow(new RestClientException("unavailable"))
+                .thenReturn(new UserValidity[]{new UserValidity(1004L, false, false)});
+
+        assertFalse(userServiceClient.userExists(1004L));
+        assertFalse(userServiceClient.userExists(1004L));
+        assertFalse(userServiceClient.userExists(1004L));
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(UserValidity[].class));
+
+        userEventListener.onUserCreated(new ConsumerRecord<>("guest-topic", 0, 2, "1004", new byte[0]));
+
+        assertTrue(userServiceClient.userExists(1004L));
+        assertFalse(userServiceClient.isUserHost(1004L));
+        verify(restTemplate, times(2)).postForObject(anyString(), any(), eq(UserValidity[].class));
+    }
+
+    /**
+     * Test that concurrent lookups made within the batch window are sent as one request, with
+     * each user once
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testConcurrentLookupsAreCollapsed() throws Exception {
+        answerValidity(id -> new UserValidity(id, true, id % 2 == 0));
+        ExecutorService callers = Executors.newFixedThreadPool(10);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (long i = 0; i < 10; i++) {
+                long userId = 2000 + i % 5;
+                results.add(callers.submit(() -> {
+                    start.await();
+                    return userServiceClient.isUserHost(userId);
+                }));
+            }
+            start.countDown();
+            for (int i = 0; i < results.size(); i++) {
+                assertEquals(i % 5 % 2 == 0, results.get(i).get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        ArgumentCaptor<Set<Long>> ids = ArgumentCaptor.forClass(Set.class);
+        verify(restTemplate, times(1)).postForObject(endsWith("/api/users/validity"), ids.capture(), eq(UserValidity[].class));
+        assertEquals(Set.of(2000L, 2001L, 2002L, 2003L, 2004L), Set.copyOf(ids.getValue()));
+    }
+
+    private void answerValidity(Function<Long, UserValidity> validity) {
+        when(restTemplate.postForObject(endsWith("/api/users/validity"), any(), eq(UserValidity[].class)))
+                .thenAnswer(invocation -> {
+                    Collection<Long> ids = invocation.getArgument(1);
+                    return ids.stream().map(validity).toArray(UserValidity[]::new);
+                });
+    }
+
+    private double cacheGets(String fact, String result) {
+        return meterRegistry.get("users.cache.gets").tag("fact", fact).tag("result", result).counter().count();
+    }
+}
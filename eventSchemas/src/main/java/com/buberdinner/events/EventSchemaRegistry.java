@@ -0,0 +1,74 @@
+package com.buberdinner.events;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+import org.apache.avro.message.SchemaStore;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * File-based stand-in for a schema registry. Every event schema is an Avro file named
+ * {@code <RecordName>.v<version>.avsc} in the registry location, which is the schemas directory
+ * shipped in this module unless a shared directory is configured.
+ *
+ * Writers use the latest version of a schema. Each message carries the fingerprint of the schema
+ * it was written with, which readers look up here to decode messages written by other versions.
+ */
+public class EventSchemaRegistry implements SchemaStore {
+
+    private static final Pattern FILE_NAME = Pattern.compile("(.+)\\.v(\\d+)\\.avsc");
+
+    private final Map<Long, Schema> byFingerprint = new HashMap<>();
+    private final Map<String, Schema> latest = new HashMap<>();
+
+    public EventSchemaRegistry(String location) {
+        Map<String, Integer> latestVersion = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(location + "/*.avsc")) {
+                Matcher fileName = FILE_NAME.matcher(resource.getFilename());
+                if (!fileName.matches()) {
+                    throw new IllegalStateException("Schema file name is not <RecordName>.v<version>.avsc: " + resource);
+                }
+                Schema schema;
+                try (InputStream in = resource.getInputStream()) {
+                    schema = new Schema.Parser().parse(in);
+                }
+                byFingerprint.put(SchemaNormalization.parsingFingerprint64(schema), schema);
+                int version = Integer.parseInt(fileName.group(2));
+                if (version > latestVersion.getOrDefault(schema.getFullName(), 0)) {
+                    latestVersion.put(schema.getFullName(), version);
+                    latest.put(schema.getFullName(), schema);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the event schemas in " + location, e);
+        }
+    }
+
+    /**
+     * Returns the latest version of a schema.
+     *
+     * @param fullName the full name of the record, such as com.buberdinner.events.DinnerCreated
+     * @throws IllegalArgumentException if the registry has no such schema
+     */
+    public Schema latest(String fullName) {
+        Schema schema = latest.get(fullName);
+        if (schema == null) {
+            throw new IllegalArgumentException("No event schema named " + fullName);
+        }
+        return schema;
+    }
+
+    @Override
+    public Schema findByFingerprint(long fingerprint) {
+        return byFingerprint.get(fingerprint);
+    }
+}
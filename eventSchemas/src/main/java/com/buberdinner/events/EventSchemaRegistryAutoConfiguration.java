@@ -0,0 +1,21 @@
+package com.buberdinner.events;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Registers the EventSchemaRegistry in every service depending on this module, reading the
+ * schemas from event.schema-registry.location.
+ */
+@AutoConfiguration
+public class EventSchemaRegistryAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public EventSchemaRegistry eventSchemaRegistry(
+            @Value("${event.schema-registry.location:classpath:schemas}") String location) {
+        return new EventSchemaRegistry(location);
+    }
+}
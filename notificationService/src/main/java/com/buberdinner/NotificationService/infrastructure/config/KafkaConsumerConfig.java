@@ -2,6 +2,7 @@ package com.buberdinner.NotificationService.infrastructure.config;
 
 import com.buberdinner.NotificationService.application.dto.GuestCreatedEventDTO;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -83,6 +84,26 @@ public class KafkaConsumerConfig {
         return factory;
     }
 
+    /**
+     * Dinner events are Avro; their listeners receive the raw bytes and decode them with the event schemas.
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> dinnerEventConsumerFactory() {
+        Map<String, Object> props = new HashMap<>();
+        props.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer());
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, byte[]> dinnerEventKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, byte[]> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(dinnerEventConsumerFactory());
+        factory.setCommonErrorHandler(errorHandler());
+        return factory;
+    }
 
     @Bean
     public CommonErrorHandler errorHandler() {
@@ -3,6 +3,7 @@ package com.buberdinner.NotificationService.infrastructure.entrypoints.events;
 import com.buberdinner.NotificationService.application.dto.DinnerEndedEventDTO;
 import com.buberdinner.NotificationService.application.dto.DinnerStartedEventDTO;
 import com.buberdinner.NotificationService.application.ports.input.NotificationInputPort;
+import com.buberdinner.NotificationService.infrastructure.kafka.DinnerEventDecoder;
 import com.buberdinner.NotificationService.infrastructure.kafka.ErrorEventPublisher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j; // ADD THIS IMPORT
@@ -11,6 +12,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j // ADD THIS ANNOTATION
@@ -18,11 +21,14 @@ public class DinnerEventListener {
 
     private final NotificationInputPort notificationInputPort;
     private final ErrorEventPublisher errorEventPublisher;
+    private final DinnerEventDecoder dinnerEventDecoder;
 
 
 
-    @KafkaListener(topics = "${app.kafka.topics.dinner-started}", groupId = "${spring.kafka.consumer.group-id}")
-    public void consumeDinnerStarted(DinnerStartedEventDTO event) {
+    @KafkaListener(topics = "${app.kafka.topics.dinner-started}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "dinnerEventKafkaListenerContainerFactory")
+    public void consumeDinnerStarted(byte[] payload) throws IOException {
+        DinnerStartedEventDTO event = dinnerEventDecoder.decodeDinnerStarted(payload);
         log.info("Received DinnerStartedEvent: {}", event);
         notificationInputPort.handleDinnerStartedEvent(event);
     }
@@ -36,7 +36,7 @@ public class ReservationEventListener {
     public void consumeReservationCreated(
             @Payload ReservationCreatedEventDTO event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION_ID) Integer partition,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
             @Header(KafkaHeaders.OFFSET) long offset,
             @Header(name = "correlation-id", required = false) String correlationId) {
 
@@ -75,7 +75,7 @@ public class ReservationEventListener {
     public void consumeReservationCanceled(
             @Payload ReservationCanceledEventDTO event,
             @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-            @Header(KafkaHeaders.RECEIVED_PARTITION_ID) Integer partition,
+            @Header(KafkaHeaders.RECEIVED_PARTITION) Integer partition,
             @Header(KafkaHeaders.OFFSET) long offset,
             @Header(name = "correlation-id", required = false) String correlationId) {
 
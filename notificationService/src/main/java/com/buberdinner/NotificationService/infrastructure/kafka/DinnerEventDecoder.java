@@ -0,0 +1,44 @@
+package com.buberdinner.NotificationService.infrastructure.kafka;
+
+import com.buberdinner.NotificationService.application.dto.DinnerStartedEventDTO;
+import com.buberdinner.events.EventSchemaRegistry;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the Avro dinner events written by dinnerService. The decoder is built once and resolves
+ * messages written with other versions of the schema through the EventSchemaRegistry.
+ */
+@Component
+public class DinnerEventDecoder {
+
+    private final BinaryMessageDecoder<GenericRecord> dinnerStartedDecoder;
+
+    public DinnerEventDecoder(EventSchemaRegistry schemaRegistry) {
+        GenericData model = new GenericData();
+        model.addLogicalTypeConversion(new TimeConversions.LocalTimestampMillisConversion());
+        this.dinnerStartedDecoder = new BinaryMessageDecoder<>(model,
+                schemaRegistry.latest("com.buberdinner.events.DinnerStarted"), schemaRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public DinnerStartedEventDTO decodeDinnerStarted(byte[] message) throws IOException {
+        GenericRecord event = dinnerStartedDecoder.decode(message);
+        GenericRecord dinner = (GenericRecord) event.get("dinner");
+        Object name = dinner.get("name");
+        return new DinnerStartedEventDTO(
+                (Long) dinner.get("id"),
+                (Long) dinner.get("hostId"),
+                name != null ? name.toString() : null,
+                (LocalDateTime) dinner.get("startTime"),
+                new ArrayList<>((List<Long>) event.get("guestIds")));
+    }
+}
@@ -2,9 +2,11 @@ package com.buberdinner.reservationservice.application.service;
 
 import com.buberdinner.reservationservice.domain.module.Dinner;
 
+import java.util.Map;
 import java.util.Optional;
 
 public interface DinnerService {
      Dinner createOrUpdateDinner(Dinner dinner);
     Optional<Dinner> findById(Long id);
+    boolean applyDinnerUpdate(Long dinnerId, long version, boolean snapshot, Map<String, Object> changes);
 }
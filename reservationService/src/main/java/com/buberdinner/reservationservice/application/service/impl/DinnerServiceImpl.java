@@ -4,20 +4,24 @@ package com.buberdinner.reservationservice.application.service.impl;
 
 import com.buberdinner.reservationservice.application.service.DinnerService;
 import com.buberdinner.reservationservice.domain.module.Dinner;
+import com.buberdinner.reservationservice.infrastructure.repository.DinnerReplicaRepository;
 import com.buberdinner.reservationservice.infrastructure.repository.DinnerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class DinnerServiceImpl implements DinnerService {
     private final DinnerRepository dinnerRepository;
+    private final DinnerReplicaRepository dinnerReplicaRepository;
 
 
 
-    public DinnerServiceImpl(DinnerRepository dinnerRepository) {
+    public DinnerServiceImpl(DinnerRepository dinnerRepository, DinnerReplicaRepository dinnerReplicaRepository) {
         this.dinnerRepository = dinnerRepository;
+        this.dinnerReplicaRepository = dinnerReplicaRepository;
     }
 
     @Transactional
@@ -30,6 +34,15 @@ public class DinnerServiceImpl implements DinnerService {
         return dinnerRepository.findByIdDinner(id);
     }
 
+    /**
+     * Applies a dinner update unless the copy of the dinner is already at that version or later.
+     *
+     * @return whether the copy was changed
+     */
+    public boolean applyDinnerUpdate(Long dinnerId, long version, boolean snapshot, Map<String, Object> changes) {
+        return dinnerReplicaRepository.apply(dinnerId, version, snapshot, changes);
+    }
+
 
 
 
@@ -15,8 +15,8 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 public class DinnerEntity {
+    // Copy of a dinnerService dinner, under the same ID
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @Column(name = "host_id", nullable = false)
@@ -55,6 +55,10 @@ public class DinnerEntity {
     @Column(nullable = false)
     private long rating = 0;
 
+    // Version of the dinner in dinnerService this copy is at; older updates are ignored
+    @Column(name = "version")
+    private Long version;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,75 @@
+package com.buberdinner.reservationservice.infrastructure.messaging;
+
+import com.buberdinner.reservationservice.presentation.dto.DinnerCreatedEvent;
+import com.buberdinner.reservationservice.presentation.dto.DinnerResponse;
+import com.buberdinner.reservationservice.presentation.dto.DinnerUpdatedEvent;
+import com.buberdinner.events.EventSchemaRegistry;
+import org.apache.avro.data.TimeConversions;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.message.BinaryMessageDecoder;
+import org.apache.avro.util.Utf8;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the Avro dinner events written by dinnerService. The decoder is built once and resolves
+ * messages written with other versions of the schema through the EventSchemaRegistry.
+ */
+@Component
+public class DinnerEventDecoder {
+
+    private final BinaryMessageDecoder<GenericRecord> dinnerCreatedDecoder;
+    private final BinaryMessageDecoder<GenericRecord> dinnerUpdatedDecoder;
+
+    public DinnerEventDecoder(EventSchemaRegistry schemaRegistry) {
+        GenericData model = new GenericData();
+        model.addLogicalTypeConversion(new TimeConversions.LocalTimestampMillisConversion());
+        this.dinnerCreatedDecoder = new BinaryMessageDecoder<>(model,
+                schemaRegistry.latest("com.buberdinner.events.DinnerCreated"), schemaRegistry);
+        this.dinnerUpdatedDecoder = new BinaryMessageDecoder<>(model,
+                schemaRegistry.latest("com.buberdinner.events.DinnerUpdated"), schemaRegistry);
+    }
+
+    public DinnerCreatedEvent decodeDinnerCreated(byte[] message) throws IOException {
+        GenericRecord dinner = (GenericRecord) dinnerCreatedDecoder.decode(message).get("dinner");
+        return new DinnerCreatedEvent(new DinnerResponse(
+                (Long) dinner.get("id"),
+                (Long) dinner.get("hostId"),
+                (Long) dinner.get("menuId"),
+                string(dinner.get("name")),
+                string(dinner.get("description")),
+                (Double) dinner.get("price"),
+                (LocalDateTime) dinner.get("startTime"),
+                (LocalDateTime) dinner.get("endTime"),
+                string(dinner.get("address")),
+                string(dinner.get("cuisineType")),
+                (Integer) dinner.get("maxGuestCount"),
+                string(dinner.get("status")),
+                (Long) dinner.get("rating")));
+    }
+
+    /**
+     * Reads an update, with the new values of the changed fields only.
+     */
+    @SuppressWarnings("unchecked")
+    public DinnerUpdatedEvent decodeDinnerUpdated(byte[] message) throws IOException {
+        GenericRecord event = dinnerUpdatedDecoder.decode(message);
+        Map<String, Object> changes = new HashMap<>();
+        for (Object field : (List<Object>) event.get("changedFields")) {
+            Object value = event.get(field.toString());
+            changes.put(field.toString(), value instanceof Utf8 ? value.toString() : value);
+        }
+        return new DinnerUpdatedEvent((Long) event.get("dinnerId"), (Long) event.get("version"),
+                (Boolean) event.get("snapshot"), changes);
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
@@ -0,0 +1,113 @@
+package com.buberdinner.reservationservice.infrastructure.repository;
+
+import com.buberdinner.reservationservice.infrastructure.entity.DinnerEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Applies dinner update events to the local copies of the dinners.
+ *
+ * An update is a single conditional UPDATE of the changed columns only, applied if the copy is at an
+ * older version, so that redelivered and out-of-order updates change nothing. A snapshot is also
+ * applied at its own version, and creates the copy if it is missing.
+ *
+ * Skipped updates are counted in "dinner.replica.skipped", tagged with the reason: "redelivered"
+ * (the copy is already at that version), "out-of-order" (the copy is at a newer version, so the
+ * changes of the skipped update may be missing from it until the next snapshot) or "no-copy" (an
+ * update for a dinner without a copy, which the next snapshot creates).
+ */
+@Slf4j
+@Repository
+public class DinnerReplicaRepository {
+
+    private final EntityManager entityManager;
+    private final MeterRegistry meterRegistry;
+
+    public DinnerReplicaRepository(EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.entityManager = entityManager;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @param changes the new values of the changed fields; fields the copy does not keep are ignored
+     * @return whether the copy was changed
+     */
+    @Transactional
+    public boolean apply(Long dinnerId, long version, boolean snapshot, Map<String, Object> changes) {
+        EntityType<DinnerEntity> type = entityManager.getMetamodel().entity(DinnerEntity.class);
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<DinnerEntity> update = cb.createCriteriaUpdate(DinnerEntity.class);
+        Root<DinnerEntity> root = update.from(DinnerEntity.class);
+        changes.forEach((field, value) -> {
+            if (isKept(type, field)) {
+                update.set(root.get(field), value);
+            }
+        });
+        update.set(root.<Long>get("version"), version)
+                .set(root.<LocalDateTime>get("updatedAt"), LocalDateTime.now())
+                .where(cb.equal(root.get("id"), dinnerId),
+                        cb.or(cb.isNull(root.get("version")), snapshot
+                                ? cb.le(root.get("version"), version)
+                                : cb.lt(root.get("version"), version)));
+        if (entityManager.createQuery(update).executeUpdate() > 0) {
+            return true;
+        }
+        DinnerEntity copy = entityManager.find(DinnerEntity.class, dinnerId);
+        if (copy != null) {
+            skipped(dinnerId, version, copy.getVersion());
+            return false;
+        }
+        if (!snapshot) {
+            log.warn("Skipped update {} of dinner {}, which has no copy yet", version, dinnerId);
+            countSkipped("no-copy");
+            return false;
+        }
+        DinnerEntity dinner = new DinnerEntity();
+        BeanWrapper properties = new BeanWrapperImpl(dinner);
+        changes.forEach((field, value) -> {
+            if (isKept(type, field)) {
+                properties.setPropertyValue(field, value);
+            }
+        });
+        dinner.setId(dinnerId);
+        dinner.setVersion(version);
+        entityManager.persist(dinner);
+        return true;
+    }
+
+    private void skipped(Long dinnerId, long version, long copyVersion) {
+        if (version == copyVersion) {
+            log.debug("Skipped redelivered update {} of dinner {}", version, dinnerId);
+            countSkipped("redelivered");
+        } else {
+            log.warn("Skipped update {} of dinner {}, whose copy is already at version {}", version, dinnerId, copyVersion);
+            countSkipped("out-of-order");
+        }
+    }
+
+    private void countSkipped(String reason) {
+        Counter.builder("dinner.replica.skipped")
+                .description("Dinner updates not applied to the local copies of the dinners")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static boolean isKept(EntityType<DinnerEntity> type, String field) {
+        return type.getAttributes().stream().anyMatch(attribute -> attribute.getName().equals(field))
+                && !field.equals("id") && !field.equals("version");
+    }
+}
@@ -1,8 +1,15 @@
 package com.buberdinner.reservationservice.presentation.dto;
 
+import java.util.Map;
 
-
+/**
+ * A change to a dinner: the fields changed, by name, at the given version of the dinner.
+ * A snapshot carries every field.
+ */
 public record DinnerUpdatedEvent(
-        DinnerResponse dinner
+        Long dinnerId,
+        long version,
+        boolean snapshot,
+        Map<String, Object> changes
 ) {
 }
@@ -2,32 +2,32 @@ package com.buberdinner.reservationservice.presentation.messaging;
 
 import com.buberdinner.reservationservice.application.service.DinnerService;
 import com.buberdinner.reservationservice.domain.module.Dinner;
+import com.buberdinner.reservationservice.infrastructure.messaging.DinnerEventDecoder;
 import com.buberdinner.reservationservice.presentation.dto.DinnerCreatedEvent;
+import com.buberdinner.reservationservice.presentation.dto.DinnerUpdatedEvent;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
-
+@Slf4j
 @Component
 public class DinnerEventConsumer {
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final DinnerService dinnerService;
+    private final DinnerEventDecoder dinnerEventDecoder;
 
-    public DinnerEventConsumer(DinnerService dinnerService) {
+    public DinnerEventConsumer(DinnerService dinnerService, DinnerEventDecoder dinnerEventDecoder) {
         this.dinnerService = dinnerService;
+        this.dinnerEventDecoder = dinnerEventDecoder;
     }
 
-    @KafkaListener(topics = "dinnerCreated", groupId = "reservation-group")
-    public void handleDinnerCreated(String payload) {
+    // Dinner events are Avro, while the default value deserializer of this service is JSON
+    @KafkaListener(topics = "dinnerCreated", groupId = "reservation-group",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer")
+    public void handleDinnerCreated(byte[] payload) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            mapper.registerModule(new JavaTimeModule());
-            mapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
-            DinnerCreatedEvent event = mapper.readValue(payload, DinnerCreatedEvent.class);
+            DinnerCreatedEvent event = dinnerEventDecoder.decodeDinnerCreated(payload);
             Dinner dinner = new Dinner();
             dinner.setId(event.dinner().id());
             dinner.setName(event.dinner().name());
@@ -44,9 +44,22 @@ public class DinnerEventConsumer {
             dinner.setMenuId(event.dinner().menuId());
 
             dinnerService.createOrUpdateDinner(dinner);
-            System.out.println("✅ Received dinner event: " + event);
+            log.debug("Received dinner created event: {}", event);
+        } catch (Exception e) {
+            log.error("Failed to apply dinner created event", e);
+        }
+    }
+
+    @KafkaListener(topics = "dinnerUpdated", groupId = "reservation-group",
+            properties = "value.deserializer=org.apache.kafka.common.serialization.ByteArrayDeserializer")
+    public void handleDinnerUpdated(byte[] payload) {
+        try {
+            DinnerUpdatedEvent event = dinnerEventDecoder.decodeDinnerUpdated(payload);
+            boolean applied = dinnerService.applyDinnerUpdate(event.dinnerId(), event.version(), event.snapshot(),
+                    event.changes());
+            log.debug("{} dinner update: {}", applied ? "Applied" : "Skipped", event);
         } catch (Exception e) {
-            System.err.println("❌ Failed to parse event: " + e.getMessage());
+            log.error("Failed to apply dinner update", e);
         }
     }
 
@@ -0,0 +1,122 @@
+package com.buberdinner.reservationservice.infrastructure.event;
+
+import com.buberdinner.reservationservice.application.service.DinnerService;
+import com.buberdinner.reservationservice.infrastructure.entity.DinnerEntity;
+import com.buberdinner.reservationservice.infrastructure.repository.DinnerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for applying dinner update events to the local copies of the dinners
+ * Uses embedded Kafka for testing without external broker
+ */
+@SpringBootTest
+@EmbeddedKafka(partitions = 1, topics = {"dinnerCreated", "dinnerUpdated"})
+@TestPropertySource(properties = {
+        "spring.kafka.bootstrap-servers=${spring.embedded.kafka.brokers}",
+        "spring.kafka.consumer.group-id=test-group"
+})
+class DinnerUpdatedEventIntegrationTest {
+
+    private static final Long DINNER_ID = 500L;
+
+    @Autowired
+    private DinnerService dinnerService;
+
+    @Autowired
+    private DinnerRepository dinnerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        dinnerRepository.deleteAll();
+    }
+
+    /**
+     * Test that a snapshot creates the missing copy of a dinner under the dinner's own ID
+     */
+    @Test
+    void testSnapshotCreatesMissingDinner() {
+        assertTrue(dinnerService.applyDinnerUpdate(DINNER_ID, 4, true, snapshot("Original")));
+
+        DinnerEntity dinner = dinnerRepository.findById(DINNER_ID).orElseThrow();
+        assertEquals("Original", dinner.getName());
+        assertEquals(4L, dinner.getVersion());
+    }
+
+    /**
+     * Test that an update changes only its fields, and that redelivered or older updates change nothing
+     * and are counted
+     */
+    @Test
+    void testUpdatesAreAppliedOnceAndInVersionOrder() {
+        double redelivered = skipped("redelivered");
+        double outOfOrder = skipped("out-of-order");
+        dinnerService.applyDinnerUpdate(DINNER_ID, 1, true, snapshot("Original"));
+
+        assertTrue(dinnerService.applyDinnerUpdate(DINNER_ID, 3, false, Map.of("description", "Now with dessert")));
+        assertFalse(dinnerService.applyDinnerUpdate(DINNER_ID, 3, false, Map.of("description", "Now with dessert")));
+        assertFalse(dinnerService.applyDinnerUpdate(DINNER_ID, 2, false, Map.of("name", "Stale name")));
+
+        DinnerEntity dinner = dinnerRepository.findById(DINNER_ID).orElseThrow();
+        assertEquals("Original", dinner.getName());
+        assertEquals("Now with dessert", dinner.getDescription());
+        assertEquals(30, dinner.getPrice());
+        assertEquals(3L, dinner.getVersion());
+        assertEquals(redelivered + 1, skipped("redelivered"));
+        assertEquals(outOfOrder + 1, skipped("out-of-order"));
+    }
+
+    /**
+     * Test that an update for a dinner with no copy is skipped, and that a snapshot at the current
+     * version repairs the copy
+     */
+    @Test
+    void testDeltaWithoutCopyIsSkippedAndSnapshotRepairs() {
+        assertFalse(dinnerService.applyDinnerUpdate(DINNER_ID, 2, false, Map.of("name", "Renamed")));
+        assertTrue(dinnerRepository.findById(DINNER_ID).isEmpty());
+
+        dinnerService.applyDinnerUpdate(DINNER_ID, 2, true, snapshot("Renamed"));
+        assertTrue(dinnerService.applyDinnerUpdate(DINNER_ID, 2, true, snapshot("Repaired")));
+
+        assertEquals("Repaired", dinnerRepository.findById(DINNER_ID).orElseThrow().getName());
+    }
+
+    private double skipped(String reason) {
+        Counter counter = meterRegistry.find("dinner.replica.skipped").tag("reason", reason).counter();
+        return counter != null ? counter.count() : 0;
+    }
+
+    private Map<String, Object> snapshot(String name) {
+        LocalDateTime start = LocalDateTime.of(2026, 6, 1, 19, 30);
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("hostId", 20L);
+        fields.put("menuId", 21L);
+        fields.put("name", name);
+        fields.put("description", "Description");
+        fields.put("price", 30.0);
+        fields.put("startTime", start);
+        fields.put("endTime", start.plusHours(2));
+        fields.put("imageUrl", null);
+        fields.put("address", "1 Main St, Lyon, ARA, 69001, France");
+        fields.put("cuisineType", "French");
+        fields.put("maxGuestCount", 8);
+        fields.put("status", "UPCOMING");
+        fields.put("rating", 0L);
+        return fields;
+    }
+}
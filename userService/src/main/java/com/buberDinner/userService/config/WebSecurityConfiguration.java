@@ -34,7 +34,7 @@ public class WebSecurityConfiguration {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
        http.csrf(AbstractHttpConfigurer::disable).authorizeHttpRequests(request -> request.requestMatchers("/api/auth/**").permitAll()
-       .requestMatchers("/api/users/*/exists", "/api/users/*/isHost").permitAll()
+       .requestMatchers("/api/users/*/exists", "/api/users/*/isHost", "/api/users/validity").permitAll()
        .requestMatchers("/api/chambres/**","/api/residents/**","/api/paiments/**","/api/requetes-maintenance/**","/api/techniciens/**","/api/statistiques/**").hasAnyAuthority(Role.HOST.name())
        .requestMatchers("/api/chambres/**","/api/paiments/**","/api/requetes-maintenance/**").hasAnyAuthority(Role.GUEST.name())
        .anyRequest().authenticated()).sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
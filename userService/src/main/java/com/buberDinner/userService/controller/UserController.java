@@ -1,5 +1,7 @@
 package com.buberDinner.userService.controller;
 
+import com.buberDinner.userService.dto.UserDto;
+import com.buberDinner.userService.dto.UserValidityDto;
 import com.buberDinner.userService.model.Role;
 import com.buberDinner.userService.model.User;
 import com.buberDinner.userService.repository.UserRepository;
@@ -8,11 +10,21 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
+    /** Largest number of IDs accepted by the batch endpoints */
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final UserRepository userRepository;
 
     @Autowired
@@ -37,4 +49,66 @@ public class UserController {
                 .map(user -> ResponseEntity.ok(user.getUserDto()))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    /**
+     * Checks many users at once with a single query: for each distinct ID, in the order given,
+     * whether the user exists and whether it is a host.
+     */
+    @PostMapping("/validity")
+    public ResponseEntity<?> checkUsersValidity(@RequestBody List<Long> ids) {
+        Set<Long> distinctIds = distinctIds(ids);
+        if (distinctIds == null) {
+            return tooManyIds();
+        }
+        Map<Long, User> users = findAllById(distinctIds);
+        List<UserValidityDto> validity = distinctIds.stream()
+                .map(id -> {
+                    User user = users.get(id);
+                    return user == null
+                            ? new UserValidityDto(id, false, false)
+                            : new UserValidityDto(id, true, user.getRole() == Role.HOST);
+                })
+                .toList();
+        return ResponseEntity.ok(validity);
+    }
+
+    /**
+     * Gets many users at once with a single query. Unknown IDs are left out of the result.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> getUsersByIds(@RequestBody List<Long> ids) {
+        Set<Long> distinctIds = distinctIds(ids);
+        if (distinctIds == null) {
+            return tooManyIds();
+        }
+        Map<Long, User> users = findAllById(distinctIds);
+        List<UserDto> found = distinctIds.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .map(User::getUserDto)
+                .toList();
+        return ResponseEntity.ok(found);
+    }
+
+    private Map<Long, User> findAllById(Set<Long> ids) {
+        return userRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+    }
+
+    /**
+     * @return the distinct non-null IDs in their order, or null if there are too many
+     */
+    private static Set<Long> distinctIds(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>();
+        for (Long id : ids) {
+            if (id != null) {
+                distinctIds.add(id);
+            }
+        }
+        return distinctIds.size() > MAX_BATCH_SIZE ? null : distinctIds;
+    }
+
+    private static ResponseEntity<?> tooManyIds() {
+        return ResponseEntity.badRequest().body("At most " + MAX_BATCH_SIZE + " user IDs can be asked for at once");
+    }
 }
@@ -0,0 +1,20 @@
+package com.buberDinner.userService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Whether a user exists and whether it is a host, as returned by the batch validity check. The
+ * check is open to other services without authentication, so it tells no more than the per-user
+ * exists and isHost checks do.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserValidityDto {
+
+    private Long id;
+    private boolean exists;
+    private boolean host;
+}